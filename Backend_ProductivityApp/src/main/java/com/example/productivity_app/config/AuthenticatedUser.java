@@ -0,0 +1,31 @@
+package com.example.productivity_app.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal placed in the security context by {@link JwtAuthenticationFilter}. Carries the user id
+ * and token version so callers don't need another lookup by email.
+ */
+public class AuthenticatedUser extends User {
+
+    private final Long userId;
+    private final int tokenVersion;
+
+    public AuthenticatedUser(Long userId, String email, String password, int tokenVersion,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.userId = userId;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+}
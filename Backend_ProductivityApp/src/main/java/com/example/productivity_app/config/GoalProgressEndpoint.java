@@ -0,0 +1,29 @@
+package com.example.productivity_app.config;
+
+import com.example.productivity_app.service.GoalService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Admin operation that rebuilds goal checkpoint counters and progress. Not exposed over HTTP by
+ * default; add {@code goalprogress} to {@code management.endpoints.web.exposure.include} and
+ * {@code POST /actuator/goalprogress} to run it.
+ */
+@Component
+@Endpoint(id = "goalprogress")
+public class GoalProgressEndpoint {
+
+    private final GoalService goalService;
+
+    public GoalProgressEndpoint(GoalService goalService) {
+        this.goalService = goalService;
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("goalsUpdated", goalService.rebuildProgressCounters());
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.productivity_app.config;
 
+import com.example.productivity_app.service.TokenRevocationService;
+import com.example.productivity_app.service.TokenVersionService;
+import com.example.productivity_app.util.JwtClaims;
+import com.example.productivity_app.util.JwtTokenCache;
 import com.example.productivity_app.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -7,7 +11,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,18 +22,29 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
-    private final JwtUtil jwtUtil;
+    private final JwtTokenCache jwtTokenCache;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(JwtTokenCache jwtTokenCache,
+                                   UserDetailsService userDetailsService,
+                                   TokenVersionService tokenVersionService,
+                                   TokenRevocationService tokenRevocationService,
+                                   @Value("${jwt.stateless-principal:false}") boolean statelessPrincipal) {
+        this.jwtTokenCache = jwtTokenCache;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -52,12 +69,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String email = jwtUtil.getEmailFromToken(jwt);
+            // Verified once per token; repeat requests with the same token are served from the cache
+            final JwtClaims claims = jwtTokenCache.verify(jwt);
+            final String email = claims.email();
 
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                
-                if (!jwtUtil.isTokenExpired(jwt)) {
+                UserDetails userDetails = resolvePrincipal(claims);
+
+                if (userDetails == null) {
+                    logger.debug("JWT token revoked for user: {}", email);
+                } else if (!claims.isExpired()) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -74,4 +95,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Builds the principal straight from the token claims when the version table covers the token,
+     * otherwise loads the user from the database. Returns {@code null} if the token has been revoked,
+     * either individually (logout) or through a token version bump.
+     */
+    private UserDetails resolvePrincipal(JwtClaims claims) {
+        if (tokenRevocationService.isRevoked(claims.tokenId())) {
+            return null;
+        }
+
+        Long userId = claims.userId();
+
+        if (statelessPrincipal && userId != null && tokenVersionService.isTracked(claims.issuedAt())) {
+            if (!tokenVersionService.isCurrent(userId, claims.tokenVersion())) {
+                return null;
+            }
+            List<String> roles = claims.roles().isEmpty() ? List.of(JwtUtil.ROLE_USER) : claims.roles();
+            return new AuthenticatedUser(userId, claims.email(), "", claims.tokenVersion(),
+                    AuthorityUtils.createAuthorityList(roles));
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.email());
+        if (userDetails instanceof AuthenticatedUser user && user.getTokenVersion() != claims.tokenVersion()) {
+            return null;
+        }
+        return userDetails;
+    }
 }
@@ -0,0 +1,49 @@
+package com.example.productivity_app.config;
+
+import com.example.productivity_app.service.CursorPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Page size limits and response shape shared by the keyset-paginated list endpoints. Bodies stay
+ * plain JSON arrays; the token for the next page travels in the {@value #NEXT_CURSOR_HEADER} header
+ * and is passed back as the {@code cursor} query parameter.
+ */
+@Component
+public class Pagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public Pagination(@Value("${pagination.default-size:50}") int defaultSize,
+                      @Value("${pagination.max-size:200}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the requested size capped at the maximum, or the default when none was requested
+     */
+    public int resolveSize(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    public <T> ResponseEntity<List<T>> toResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+}
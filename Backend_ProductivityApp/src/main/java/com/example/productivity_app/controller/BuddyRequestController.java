@@ -1,68 +1,66 @@
 package com.example.productivity_app.controller;
 
+import com.example.productivity_app.config.Pagination;
+import com.example.productivity_app.dto.BuddyLeaderboardDto;
 import com.example.productivity_app.dto.BuddyRequestDto;
-import com.example.productivity_app.entity.BuddyRequest;
-import com.example.productivity_app.mapper.BuddyRequestMapper;
 import com.example.productivity_app.service.BuddyRequestService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/buddies")
 public class BuddyRequestController {
     private final BuddyRequestService buddyRequestService;
-    private final BuddyRequestMapper buddyRequestMapper;
+    private final Pagination pagination;
 
-    public BuddyRequestController(BuddyRequestService buddyRequestService, BuddyRequestMapper buddyRequestMapper) {
+    public BuddyRequestController(BuddyRequestService buddyRequestService, Pagination pagination) {
         this.buddyRequestService = buddyRequestService;
-        this.buddyRequestMapper = buddyRequestMapper;
+        this.pagination = pagination;
     }
 
     @PostMapping("/send")
     public ResponseEntity<BuddyRequestDto> sendBuddyRequest(@RequestBody BuddyRequestDto requestDto) {
-        BuddyRequest request = buddyRequestService.sendRequest(requestDto.getSenderId(), requestDto.getReceiverId());
-        return ResponseEntity.ok(buddyRequestMapper.toDto(request));
+        return ResponseEntity.ok(buddyRequestService.sendRequest(requestDto.getSenderId(), requestDto.getReceiverId()));
     }
 
     @PostMapping("/{requestId}/accept")
     public ResponseEntity<BuddyRequestDto> acceptBuddyRequest(@PathVariable Long requestId, @RequestParam Long userId) {
-        BuddyRequest request = buddyRequestService.acceptRequest(requestId, userId);
-        return ResponseEntity.ok(buddyRequestMapper.toDto(request));
+        return ResponseEntity.ok(buddyRequestService.acceptRequest(requestId, userId));
     }
 
     @PostMapping("/{requestId}/reject")
     public ResponseEntity<BuddyRequestDto> rejectBuddyRequest(@PathVariable Long requestId, @RequestParam Long userId) {
-        BuddyRequest request = buddyRequestService.rejectRequest(requestId, userId);
-        return ResponseEntity.ok(buddyRequestMapper.toDto(request));
+        return ResponseEntity.ok(buddyRequestService.rejectRequest(requestId, userId));
     }
 
     @GetMapping("/pending/{userId}")
-    public ResponseEntity<List<BuddyRequestDto>> getPendingRequests(@PathVariable Long userId) {
-        List<BuddyRequest> requests = buddyRequestService.getPendingRequestsForUser(userId);
-        List<BuddyRequestDto> dtos = requests.stream()
-                .map(buddyRequestMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<BuddyRequestDto>> getPendingRequests(@PathVariable Long userId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size) {
+        int limit = pagination.resolveSize(size);
+        return pagination.toResponse(buddyRequestService.getPendingRequestsForUser(userId, cursor, limit));
     }
 
     @GetMapping("/sent/{userId}")
-    public ResponseEntity<List<BuddyRequestDto>> getSentRequests(@PathVariable Long userId) {
-        List<BuddyRequest> requests = buddyRequestService.getSentRequestsForUser(userId);
-        List<BuddyRequestDto> dtos = requests.stream()
-                .map(buddyRequestMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<BuddyRequestDto>> getSentRequests(@PathVariable Long userId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        int limit = pagination.resolveSize(size);
+        return pagination.toResponse(buddyRequestService.getSentRequestsForUser(userId, cursor, limit));
     }
 
     @GetMapping("/accepted/{userId}")
-    public ResponseEntity<List<BuddyRequestDto>> getAcceptedBuddies(@PathVariable Long userId) {
-        List<BuddyRequest> requests = buddyRequestService.getAcceptedBuddiesForUser(userId);
-        List<BuddyRequestDto> dtos = requests.stream()
-                .map(buddyRequestMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<BuddyRequestDto>> getAcceptedBuddies(@PathVariable Long userId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size) {
+        int limit = pagination.resolveSize(size);
+        return pagination.toResponse(buddyRequestService.getAcceptedBuddiesForUser(userId, cursor, limit));
+    }
+
+    @GetMapping("/leaderboard/{userId}")
+    public ResponseEntity<BuddyLeaderboardDto> getLeaderboard(@PathVariable Long userId) {
+        return ResponseEntity.ok(buddyRequestService.getLeaderboard(userId));
     }
 }
\ No newline at end of file
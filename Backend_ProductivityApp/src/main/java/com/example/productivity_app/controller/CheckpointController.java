@@ -1,8 +1,11 @@
 package com.example.productivity_app.controller;
 
+import com.example.productivity_app.config.Pagination;
+import com.example.productivity_app.dto.CheckpointBatchResultDto;
 import com.example.productivity_app.dto.CheckpointDto;
 import com.example.productivity_app.entity.Checkpoint;
 import com.example.productivity_app.mapper.CheckpointMapper;
+import com.example.productivity_app.service.CheckpointBatchResult;
 import com.example.productivity_app.service.CheckpointService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,10 +18,13 @@ import java.util.stream.Collectors;
 public class CheckpointController {
     private final CheckpointService checkpointService;
     private final CheckpointMapper checkpointMapper;
+    private final Pagination pagination;
 
-    public CheckpointController(CheckpointService checkpointService, CheckpointMapper checkpointMapper) {
+    public CheckpointController(CheckpointService checkpointService, CheckpointMapper checkpointMapper,
+                                Pagination pagination) {
         this.checkpointService = checkpointService;
         this.checkpointMapper = checkpointMapper;
+        this.pagination = pagination;
     }
 
     @PostMapping("/{goalId}")
@@ -27,13 +33,28 @@ public class CheckpointController {
         return ResponseEntity.ok(checkpointMapper.toDto(created));
     }
 
+    @PostMapping("/{goalId}/batch")
+    public ResponseEntity<List<CheckpointBatchResultDto>> addCheckpoints(@PathVariable Long goalId,
+                                                                         @RequestBody List<Checkpoint> checkpoints) {
+        return ResponseEntity.ok(toDtos(checkpointService.addCheckpointsToGoal(goalId, checkpoints)));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<List<CheckpointBatchResultDto>> updateCheckpoints(@RequestBody List<Checkpoint> checkpoints) {
+        return ResponseEntity.ok(toDtos(checkpointService.updateCheckpoints(checkpoints)));
+    }
+
+    @PostMapping("/batch/complete")
+    public ResponseEntity<List<CheckpointBatchResultDto>> completeCheckpoints(@RequestBody List<Long> checkpointIds) {
+        return ResponseEntity.ok(toDtos(checkpointService.completeCheckpoints(checkpointIds)));
+    }
+
     @GetMapping("/goal/{goalId}")
-    public ResponseEntity<List<CheckpointDto>> getCheckpointsForGoal(@PathVariable Long goalId) {
-        List<Checkpoint> checkpoints = checkpointService.getCheckpointsForGoal(goalId);
-        List<CheckpointDto> dtos = checkpoints.stream()
-                .map(checkpointMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<CheckpointDto>> getCheckpointsForGoal(@PathVariable Long goalId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size) {
+        return pagination.toResponse(
+                checkpointService.getCheckpointsForGoal(goalId, cursor, pagination.resolveSize(size)));
     }
 
     @PutMapping("/{checkpointId}")
@@ -53,4 +74,12 @@ public class CheckpointController {
         checkpointService.deleteCheckpoint(checkpointId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private List<CheckpointBatchResultDto> toDtos(List<CheckpointBatchResult> results) {
+        return results.stream()
+                .map(result -> new CheckpointBatchResultDto(result.index(), result.outcome().name(),
+                        result.checkpoint() != null ? checkpointMapper.toDto(result.checkpoint()) : null,
+                        result.error()))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,24 +1,30 @@
 package com.example.productivity_app.controller;
 
+import com.example.productivity_app.config.Pagination;
 import com.example.productivity_app.dto.GoalDto;
 import com.example.productivity_app.entity.Goal;
 import com.example.productivity_app.mapper.GoalMapper;
+import com.example.productivity_app.service.GoalArchiveService;
 import com.example.productivity_app.service.GoalService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/goals")
 public class GoalController {
     private final GoalService goalService;
+    private final GoalArchiveService goalArchiveService;
     private final GoalMapper goalMapper;
+    private final Pagination pagination;
 
-    public GoalController(GoalService goalService, GoalMapper goalMapper) {
+    public GoalController(GoalService goalService, GoalArchiveService goalArchiveService, GoalMapper goalMapper,
+                          Pagination pagination) {
         this.goalService = goalService;
+        this.goalArchiveService = goalArchiveService;
         this.goalMapper = goalMapper;
+        this.pagination = pagination;
     }
 
     @PostMapping("/{userId}")
@@ -28,16 +34,24 @@ public class GoalController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<GoalDto>> getUserGoals(@PathVariable Long userId) {
-        return ResponseEntity.ok(goalService.getUserGoals(userId).stream()
-                .map(goalMapper::toDto)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<GoalDto>> getUserGoals(@PathVariable Long userId,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size) {
+        return pagination.toResponse(goalService.getUserGoals(userId, cursor, pagination.resolveSize(size)));
+    }
+
+    // Archived (long finished) goals, most recent first; not part of the list above
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<List<GoalDto>> getUserGoalHistory(@PathVariable Long userId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size) {
+        return pagination.toResponse(
+                goalArchiveService.getUserGoalHistory(userId, cursor, pagination.resolveSize(size)));
     }
 
     @GetMapping("/{goalId}")
     public ResponseEntity<GoalDto> getGoalById(@PathVariable Long goalId) {
-        Goal goal = goalService.getGoalById(goalId);
-        return ResponseEntity.ok(goalMapper.toDto(goal));
+        return ResponseEntity.ok(goalService.getGoalById(goalId));
     }
 
     @PutMapping("/{goalId}")
@@ -1,23 +1,38 @@
 package com.example.productivity_app.controller;
 
+import com.example.productivity_app.dto.AccountPurgeDto;
 import com.example.productivity_app.dto.LoginRequestDto;
 import com.example.productivity_app.dto.LoginResponseDto;
 import com.example.productivity_app.dto.RegisterDto;
+import com.example.productivity_app.dto.UserSummaryDto;
 import com.example.productivity_app.dto.UsersDto;
 import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.exception.ServiceUnavailableException;
+import com.example.productivity_app.exception.UserNotFoundException;
+import com.example.productivity_app.service.AccountPurgeService;
+import com.example.productivity_app.service.LoginThrottleService;
 import com.example.productivity_app.service.UserService;
+import com.example.productivity_app.service.UserSummaryService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
     private final UserService userService;
+    private final LoginThrottleService loginThrottleService;
+    private final UserSummaryService userSummaryService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, LoginThrottleService loginThrottleService,
+                          UserSummaryService userSummaryService) {
         this.userService = userService;
+        this.loginThrottleService = loginThrottleService;
+        this.userSummaryService = userSummaryService;
     }
 
     @PostMapping("/register")
@@ -27,15 +42,33 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDto> loginUser(@Valid @RequestBody LoginRequestDto loginRequest) {
+    public ResponseEntity<LoginResponseDto> loginUser(@Valid @RequestBody LoginRequestDto loginRequest,
+                                                      HttpServletRequest request) {
+        // Throws TooManyRequestsException (429) before any password hashing
+        loginThrottleService.checkLoginAllowed(loginRequest.getEmail(), request.getRemoteAddr());
         try {
             LoginResponseDto response = userService.login(loginRequest.getEmail(), loginRequest.getPassword());
             return ResponseEntity.ok(response);
+        } catch (ServiceUnavailableException e) {
+            throw e; // Overloaded, not unauthorized: handled as 503 by GlobalExceptionHandler
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).build(); // Unauthorized
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logoutUser(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).build();
+        }
+        try {
+            userService.logout(authHeader.substring(7));
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(401).build(); // Invalid or unrevocable token
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UsersDto> getUserById(@PathVariable long id) {
         try {
@@ -46,6 +79,15 @@ public class UserController {
         }
     }
 
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<UserSummaryDto> getUserSummary(@PathVariable long id) {
+        try {
+            return ResponseEntity.ok(userSummaryService.getSummary(id));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UsersDto> updateUser(@PathVariable long id, @Valid @RequestBody UsersDto dto) {
         UsersDto updated = userService.updateUser(id, dto);
@@ -53,8 +95,24 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUserById(@PathVariable long id) {
-        userService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<AccountPurgeDto> deleteUserById(@PathVariable long id) {
+        AccountPurgeDto purge;
+        try {
+            purge = userService.deleteUser(id);
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (AccountPurgeService.COMPLETED.equals(purge.getState())) {
+            return ResponseEntity.noContent().build();
+        }
+        // Large account: purged in the background, progress under the Location
+        return ResponseEntity.accepted().location(URI.create("/users/" + id + "/purge")).body(purge);
+    }
+
+    @GetMapping("/{id}/purge")
+    public ResponseEntity<AccountPurgeDto> getPurgeStatus(@PathVariable long id) {
+        return userService.getPurgeStatus(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 }
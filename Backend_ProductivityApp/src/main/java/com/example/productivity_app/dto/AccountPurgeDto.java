@@ -0,0 +1,23 @@
+package com.example.productivity_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPurgeDto {
+    private Long userId;
+    private String state; // RUNNING, COMPLETED, FAILED
+    private long checkpointsTotal; // counted when the purge started, archived ones included
+    private long checkpointsDeleted;
+    private long goalsTotal;
+    private long goalsDeleted;
+    private long buddyRequestsDeleted;
+    private Instant startedAt;
+    private Instant finishedAt; // null while running
+    private String error; // set when FAILED
+}
@@ -0,0 +1,16 @@
+package com.example.productivity_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuddyLeaderboardDto {
+    private long userId;
+    private List<LeaderboardEntryDto> lastSevenDays; // the user and every accepted buddy, best first
+    private List<LeaderboardEntryDto> lastThirtyDays;
+}
@@ -1,5 +1,6 @@
 package com.example.productivity_app.dto;
 
+import com.example.productivity_app.entity.BuddyRequestStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +14,6 @@ public class BuddyRequestDto {
     private Long id;
     private Long senderId;
     private Long receiverId;
-    private String status;
+    private BuddyRequestStatus status;
     private LocalDate date;
 }
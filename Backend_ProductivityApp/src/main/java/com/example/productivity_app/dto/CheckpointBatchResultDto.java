@@ -0,0 +1,15 @@
+package com.example.productivity_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckpointBatchResultDto {
+    private int index;
+    private String result; // CREATED, UPDATED, NOT_FOUND, REJECTED
+    private CheckpointDto checkpoint;
+    private String error;
+}
@@ -1,5 +1,6 @@
 package com.example.productivity_app.dto;
 
+import com.example.productivity_app.entity.CheckpointStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,6 +15,6 @@ public class CheckpointDto {
     private String title;
     private String description;
     private LocalDate dueDate;
-    private String status;
+    private CheckpointStatus status;
     private LocalDate completedDate;
 }
@@ -1,10 +1,12 @@
 package com.example.productivity_app.dto;
 
+import com.example.productivity_app.entity.GoalStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -16,7 +18,13 @@ public class GoalDto {
     private String description;
     private LocalDate startDate;
     private LocalDate endDate;
-    private String status;
+    private GoalStatus status;
     private Integer progress;
     private List<CheckpointDto> checkpoints;
+
+    // Used by JPQL constructor projections; checkpoints are filled in by a second query
+    public GoalDto(Long id, String title, String description, LocalDate startDate, LocalDate endDate,
+                   GoalStatus status, Integer progress) {
+        this(id, title, description, startDate, endDate, status, progress, new ArrayList<>());
+    }
 }
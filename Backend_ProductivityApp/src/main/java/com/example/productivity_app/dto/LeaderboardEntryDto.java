@@ -0,0 +1,14 @@
+package com.example.productivity_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    private long userId;
+    private int completedCheckpoints;
+    private int rank; // 1 is best; equal counts share a rank (1, 2, 2, 4)
+}
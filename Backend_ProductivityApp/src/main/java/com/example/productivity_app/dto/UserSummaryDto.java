@@ -0,0 +1,20 @@
+package com.example.productivity_app.dto;
+
+import com.example.productivity_app.entity.GoalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+    private long totalGoals; // including archived goals, which also appear in goalsByStatus
+    private Map<GoalStatus, Long> goalsByStatus; // every status, 0 when the user has none
+    private int averageProgress; // 0-100, over all of the user's goals, archived ones included
+    private long checkpointsDueThisWeek; // not completed, due between today and Sunday
+    private long overdueCheckpoints; // not completed and past due, or already marked OVERDUE
+    private long acceptedBuddies;
+}
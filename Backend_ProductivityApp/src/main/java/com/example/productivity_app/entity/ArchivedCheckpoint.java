@@ -0,0 +1,32 @@
+package com.example.productivity_app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * A checkpoint archived together with its goal, see {@link ArchivedGoal}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_archived_checkpoint_goal_id", columnList = "goalId, id"))
+public class ArchivedCheckpoint {
+
+    @Id
+    private Long id;
+
+    private Long goalId;
+
+    private String title;
+    private String description;
+    private LocalDate dueDate;
+    private CheckpointStatus status;
+    private LocalDate completedDate;
+}
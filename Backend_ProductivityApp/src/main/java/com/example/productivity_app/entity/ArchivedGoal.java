@@ -0,0 +1,45 @@
+package com.example.productivity_app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * A finished goal moved out of {@code goal} by GoalArchiveService, keeping its id. Rows are only written
+ * and deleted by bulk statements. The owner is a plain id without a foreign key; AccountPurgeService
+ * deletes a user's archived rows explicitly.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+// Serves the keyset-paginated goal history, see ArchivedGoalRepository.findDtosByUserId
+@Table(indexes = @Index(name = "idx_archived_goal_user_end_date_id", columnList = "userId, endDate, id"))
+public class ArchivedGoal {
+
+    @Id
+    private Long id;
+
+    private Long userId;
+
+    private String title;
+    private String description;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private GoalStatus status;
+    private Integer progress;
+
+    @Column(nullable = false)
+    private int totalCheckpoints;
+
+    @Column(nullable = false)
+    private int completedCheckpoints;
+
+    @Column(nullable = false)
+    private LocalDate archivedDate;
+}
@@ -13,10 +13,15 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_buddy_request_requester_id", columnList = "requesterId, id"),
+        @Index(name = "idx_buddy_request_receiver_status_id", columnList = "receiverId, status, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_buddy_request_pair", columnNames = {"userLowId", "userHighId"}))
 public class BuddyRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "buddy_request_seq")
+    @SequenceGenerator(name = "buddy_request_seq", sequenceName = "buddy_request_seq", allocationSize = 50)
     private long id;
 
     @ManyToOne
@@ -28,5 +33,18 @@ public class BuddyRequest {
     private Users receiver;
 
     private LocalDate date;
-    private String status; // PENDING, ACCEPTED, REJECTED
+    private BuddyRequestStatus status;
+
+    // The two user ids in ascending order, whoever sent the request: at most one request per pair
+    @Column(nullable = false)
+    private long userLowId;
+
+    @Column(nullable = false)
+    private long userHighId;
+
+    @PrePersist
+    void assignPair() {
+        userLowId = Math.min(requester.getId(), receiver.getId());
+        userHighId = Math.max(requester.getId(), receiver.getId());
+    }
 }
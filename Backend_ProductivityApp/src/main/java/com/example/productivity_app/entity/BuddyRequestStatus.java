@@ -0,0 +1,20 @@
+package com.example.productivity_app.entity;
+
+/**
+ * State of a {@link BuddyRequest}, stored as its code by {@link BuddyRequestStatusConverter}.
+ */
+public enum BuddyRequestStatus {
+    PENDING(0),
+    ACCEPTED(1),
+    REJECTED(2);
+
+    private final short code;
+
+    BuddyRequestStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+}
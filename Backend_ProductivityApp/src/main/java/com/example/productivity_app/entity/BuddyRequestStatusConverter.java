@@ -0,0 +1,11 @@
+package com.example.productivity_app.entity;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class BuddyRequestStatusConverter extends StatusCodeConverter<BuddyRequestStatus> {
+
+    public BuddyRequestStatusConverter() {
+        super(BuddyRequestStatus.class, BuddyRequestStatus::getCode);
+    }
+}
@@ -13,10 +13,19 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_checkpoint_goal_due_date_id", columnList = "goal_id, dueDate, id"),
+        // Lets OverdueCheckpointSweeper find past-due open checkpoints without scanning the table
+        @Index(name = "idx_checkpoint_status_due_date", columnList = "status, dueDate"),
+        // Recent completions per user, for BuddyLeaderboard
+        @Index(name = "idx_checkpoint_status_completed_date", columnList = "status, completedDate")
+})
 public class Checkpoint {
 
+    // Pooled sequence rather than IDENTITY: Hibernate can only batch inserts when it knows the id up front
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checkpoint_seq")
+    @SequenceGenerator(name = "checkpoint_seq", sequenceName = "checkpoint_seq", allocationSize = 50)
     private long id;
 
     @ManyToOne
@@ -26,6 +35,6 @@ public class Checkpoint {
     private String title;
     private String description;
     private LocalDate dueDate;
-    private String status = "PENDING"; // PENDING, IN_PROGRESS, COMPLETED, OVERDUE
+    private CheckpointStatus status = CheckpointStatus.PENDING;
     private LocalDate completedDate;
 }
@@ -0,0 +1,22 @@
+package com.example.productivity_app.entity;
+
+/**
+ * Lifecycle of a {@link Checkpoint}, stored as its code by {@link CheckpointStatusConverter}.
+ * OVERDUE is set by {@code OverdueCheckpointSweeper} once an open checkpoint is past due.
+ */
+public enum CheckpointStatus {
+    PENDING(0),
+    IN_PROGRESS(1),
+    COMPLETED(2),
+    OVERDUE(3);
+
+    private final short code;
+
+    CheckpointStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.productivity_app.entity;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class CheckpointStatusConverter extends StatusCodeConverter<CheckpointStatus> {
+
+    public CheckpointStatusConverter() {
+        super(CheckpointStatus.class, CheckpointStatus::getCode);
+    }
+}
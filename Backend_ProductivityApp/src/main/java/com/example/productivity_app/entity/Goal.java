@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -15,10 +17,19 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        // Serves the keyset-paginated goal list, see GoalRepository.findDatedDtosByUserId
+        @Index(name = "idx_goal_user_end_date_id", columnList = "user_id, endDate, id"),
+        // Lets GoalArchiveService find finished goals past the archive age without scanning the table
+        @Index(name = "idx_goal_status_end_date", columnList = "status, endDate")
+})
+// Only changed columns are written, so editing a goal never writes back a stale progress value
+@DynamicUpdate
 public class Goal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goal_seq")
+    @SequenceGenerator(name = "goal_seq", sequenceName = "goal_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -29,8 +40,17 @@ public class Goal {
     private String description;
     private LocalDate startDate;
     private LocalDate endDate;
-    private String status = "ACTIVE"; // ACTIVE, COMPLETED, PAUSED, CANCELLED
-    private Integer progress = 0; // 0-100 percentage
+    private GoalStatus status = GoalStatus.ACTIVE;
+    private Integer progress = 0; // 0-100 percentage, derived from the counters below
+
+    // Maintained only by GoalRepository.applyCheckpointDelta / rebuildCheckpointCounters, never by entity saves
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int totalCheckpoints;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int completedCheckpoints;
 
     @OneToMany(mappedBy = "goal", fetch = FetchType.LAZY)
     private List<Checkpoint> checkpoints = new ArrayList<>();
@@ -40,15 +60,6 @@ public class Goal {
     }
 
     public void calculateProgress() {
-        if (checkpoints.isEmpty()) {
-            this.progress = 0;
-            return;
-        }
-        
-        long completedCheckpoints = checkpoints.stream()
-                .filter(checkpoint -> "COMPLETED".equals(checkpoint.getStatus()))
-                .count();
-        
-        this.progress = (int) ((completedCheckpoints * 100) / checkpoints.size());
+        this.progress = totalCheckpoints > 0 ? (completedCheckpoints * 100) / totalCheckpoints : 0;
     }
 }
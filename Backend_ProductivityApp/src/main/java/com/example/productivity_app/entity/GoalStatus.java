@@ -0,0 +1,21 @@
+package com.example.productivity_app.entity;
+
+/**
+ * Lifecycle of a {@link Goal}, stored as its code by {@link GoalStatusConverter}.
+ */
+public enum GoalStatus {
+    ACTIVE(0),
+    COMPLETED(1),
+    PAUSED(2),
+    CANCELLED(3);
+
+    private final short code;
+
+    GoalStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.productivity_app.entity;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class GoalStatusConverter extends StatusCodeConverter<GoalStatus> {
+
+    public GoalStatusConverter() {
+        super(GoalStatus.class, GoalStatus::getCode);
+    }
+}
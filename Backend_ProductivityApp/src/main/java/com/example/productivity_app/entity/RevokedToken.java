@@ -0,0 +1,30 @@
+package com.example.productivity_app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"))
+public class RevokedToken {
+
+    // The token's jti claim
+    @Id
+    private UUID tokenId;
+
+    private Long userId;
+
+    // Rows are deleted once the token would have expired anyway
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+}
@@ -0,0 +1,50 @@
+package com.example.productivity_app.entity;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.lang.reflect.Array;
+import java.util.function.ToIntFunction;
+
+/**
+ * Stores a status enum as its fixed {@code smallint} code rather than its name or ordinal, so the
+ * column stays two bytes and constants can be renamed or reordered without touching the data.
+ * Codes are part of the stored data: never change or reuse one (see db/scripts/003_status_codes.sql).
+ */
+public abstract class StatusCodeConverter<E extends Enum<E>> implements AttributeConverter<E, Short> {
+
+    private final Class<E> type;
+    private final ToIntFunction<E> codeOf;
+    private final E[] byCode;
+
+    @SuppressWarnings("unchecked")
+    protected StatusCodeConverter(Class<E> type, ToIntFunction<E> codeOf) {
+        this.type = type;
+        this.codeOf = codeOf;
+        E[] constants = type.getEnumConstants();
+        int maxCode = 0;
+        for (E constant : constants) {
+            maxCode = Math.max(maxCode, codeOf.applyAsInt(constant));
+        }
+        this.byCode = (E[]) Array.newInstance(type, maxCode + 1);
+        for (E constant : constants) {
+            byCode[codeOf.applyAsInt(constant)] = constant;
+        }
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E status) {
+        return status != null ? (short) codeOf.applyAsInt(status) : null;
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        E status = code >= 0 && code < byCode.length ? byCode[code] : null;
+        if (status == null) {
+            throw new IllegalStateException("Unknown " + type.getSimpleName() + " code " + code);
+        }
+        return status;
+    }
+}
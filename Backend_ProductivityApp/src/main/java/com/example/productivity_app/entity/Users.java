@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,16 +17,26 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+// findByEmail runs on every login; the constraint's index turns it into a point lookup
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_users_email", columnNames = "email"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class Users {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private long id;
 
     private String email;
     private String username;
     private String password;
 
+    // Bumped whenever previously issued JWTs must stop working (credential change, deletion)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenVersion;
+
     @OneToMany(mappedBy = "users", cascade = CascadeType.ALL)
     private List<Goal> goals = new ArrayList<>();
 
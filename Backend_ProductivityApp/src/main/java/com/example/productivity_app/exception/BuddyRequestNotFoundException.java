@@ -0,0 +1,7 @@
+package com.example.productivity_app.exception;
+
+public class BuddyRequestNotFoundException extends RuntimeException {
+  public BuddyRequestNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -3,9 +3,14 @@ package com.example.productivity_app.mapper;
 import com.example.productivity_app.dto.GoalDto;
 import com.example.productivity_app.entity.Goal;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring", uses = CheckpointMapper.class)
 public interface GoalMapper {
     GoalDto toDto(Goal goal);
+
+    // Checkpoint counters are maintained by the database, never taken from a client
+    @Mapping(target = "totalCheckpoints", ignore = true)
+    @Mapping(target = "completedCheckpoints", ignore = true)
     Goal toEntity(GoalDto dto);
 }
@@ -3,10 +3,12 @@ package com.example.productivity_app.mapper;
 import com.example.productivity_app.dto.UsersDto;
 import com.example.productivity_app.entity.Users;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = GoalMapper.class)
 public interface UsersMapper {
     UsersDto toDto(Users users);
 
+    @Mapping(target = "tokenVersion", ignore = true)
     Users toEntity(UsersDto usersDto);
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.entity.ArchivedCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedCheckpointRepository extends JpaRepository<ArchivedCheckpoint, Long> {
+
+    @Modifying
+    @Query("INSERT INTO ArchivedCheckpoint (id, goalId, title, description, dueDate, status, completedDate) " +
+            "SELECT c.id, c.goal.id, c.title, c.description, c.dueDate, c.status, c.completedDate " +
+            "FROM Checkpoint c WHERE c.goal.id IN :goalIds")
+    int copyFromCheckpoints(@Param("goalIds") Collection<Long> goalIds);
+
+    @Query("SELECT new com.example.productivity_app.repository.GoalCheckpointRow(c.goalId, c.id, c.title, " +
+            "c.description, c.dueDate, c.status, c.completedDate) " +
+            "FROM ArchivedCheckpoint c WHERE c.goalId IN :goalIds ORDER BY c.id")
+    List<GoalCheckpointRow> findRowsByGoalIds(@Param("goalIds") Collection<Long> goalIds);
+
+    @Query("SELECT COUNT(c) FROM ArchivedCheckpoint c WHERE c.goalId IN " +
+            "(SELECT a.id FROM ArchivedGoal a WHERE a.userId = :userId)")
+    long countByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes up to {@code batchSize} archived checkpoints of the user's archived goals.
+     *
+     * @return the number of rows deleted; fewer than {@code batchSize} means nothing is left
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ArchivedCheckpoint c WHERE c.id IN (SELECT d.id FROM ArchivedCheckpoint d WHERE d.goalId IN " +
+            "(SELECT a.id FROM ArchivedGoal a WHERE a.userId = :userId) ORDER BY d.id LIMIT :batchSize)")
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,63 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.dto.GoalDto;
+import com.example.productivity_app.entity.ArchivedGoal;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedGoalRepository extends JpaRepository<ArchivedGoal, Long> {
+
+    // Copies the goal rows as they are, in one INSERT ... SELECT; the caller deletes them from goal afterwards
+    @Modifying
+    @Query("INSERT INTO ArchivedGoal (id, userId, title, description, startDate, endDate, status, progress, " +
+            "totalCheckpoints, completedCheckpoints, archivedDate) " +
+            "SELECT g.id, g.users.id, g.title, g.description, g.startDate, g.endDate, g.status, g.progress, " +
+            "g.totalCheckpoints, g.completedCheckpoints, :archivedDate FROM Goal g WHERE g.id IN :goalIds")
+    int copyFromGoals(@Param("goalIds") Collection<Long> goalIds, @Param("archivedDate") LocalDate archivedDate);
+
+    /*
+     * Keyset pages over a user's archived goals, most recent end date first. Archived goals always have
+     * an end date, so unlike the live goal list a single range on the (userId, endDate, id) index, read
+     * backwards, covers every page.
+     */
+    String ARCHIVED_GOAL_DTO = "SELECT new com.example.productivity_app.dto.GoalDto(a.id, a.title, a.description, " +
+            "a.startDate, a.endDate, a.status, a.progress) FROM ArchivedGoal a ";
+
+    @Query(ARCHIVED_GOAL_DTO + "WHERE a.userId = :userId ORDER BY a.userId DESC, a.endDate DESC, a.id DESC")
+    List<GoalDto> findDtosByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(ARCHIVED_GOAL_DTO + "WHERE a.userId = :userId AND (a.endDate, a.id) < (:endDate, :id) " +
+            "ORDER BY a.userId DESC, a.endDate DESC, a.id DESC")
+    List<GoalDto> findDtosByUserIdBefore(@Param("userId") Long userId, @Param("endDate") LocalDate endDate,
+                                         @Param("id") Long id, Limit limit);
+
+    // Read through the (userId, endDate, id) index; the user summary adds these to the live goal counts
+    @Query("SELECT new com.example.productivity_app.repository.GoalStatusCount(a.status, COUNT(a), " +
+            "COALESCE(SUM(a.progress), 0)) FROM ArchivedGoal a WHERE a.userId = :userId GROUP BY a.status")
+    List<GoalStatusCount> countByStatusForUser(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(a) FROM ArchivedGoal a WHERE a.userId = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes up to {@code batchSize} of the user's archived goals; their archived checkpoints should
+     * already be gone.
+     *
+     * @return the number of rows deleted; fewer than {@code batchSize} means nothing is left
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ArchivedGoal a WHERE a.id IN (" +
+            "SELECT b.id FROM ArchivedGoal b WHERE b.userId = :userId ORDER BY b.id LIMIT :batchSize)")
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+}
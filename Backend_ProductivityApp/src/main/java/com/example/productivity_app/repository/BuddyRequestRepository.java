@@ -1,22 +1,107 @@
 package com.example.productivity_app.repository;
 
+import com.example.productivity_app.dto.BuddyRequestDto;
 import com.example.productivity_app.entity.BuddyRequest;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BuddyRequestRepository extends JpaRepository<BuddyRequest, Long> {
-    List<BuddyRequest> findByRequester_Id(Long requesterId);
     List<BuddyRequest> findByReceiver_Id(Long receiverId);
-    
-    boolean existsByRequester_IdAndReceiver_Id(Long requesterId, Long receiverId);
-    
-    List<BuddyRequest> findByReceiver_IdAndStatus(Long receiverId, String status);
-    
-    @Query("SELECT br FROM BuddyRequest br WHERE (br.requester.id = :userId OR br.receiver.id = :userId) AND br.status = :status")
-    List<BuddyRequest> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") String status);
-}
\ No newline at end of file
+
+    // Not read-only: PostgreSQL refuses nextval in a read-only transaction
+    @Transactional
+    @Query(value = "SELECT nextval('buddy_request_seq')", nativeQuery = true)
+    long nextId();
+
+    /**
+     * Inserts a request unless the two users already have one, in either direction. The duplicate is
+     * detected by uk_buddy_request_pair inside the INSERT, so two concurrent sends cannot both succeed.
+     * {@code userLowId} / {@code userHighId} are the two user ids in ascending order.
+     *
+     * @return 1 if the request was inserted, 0 if the pair already had one
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO buddy_request (id, requester_id, receiver_id, user_low_id, user_high_id, status, date) " +
+            "VALUES (:id, :requesterId, :receiverId, :userLowId, :userHighId, :status, :date) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") long id, @Param("requesterId") Long requesterId,
+                       @Param("receiverId") Long receiverId, @Param("userLowId") long userLowId,
+                       @Param("userHighId") long userHighId, @Param("status") short status,
+                       @Param("date") LocalDate date);
+
+    // Read-side projections: requester.id / receiver.id resolve to the foreign key columns, no join needed.
+    // Keyset pages in id order; pass the previous page's last id as afterId (Long.MIN_VALUE for the first page).
+    String BUDDY_REQUEST_DTO = "SELECT new com.example.productivity_app.dto.BuddyRequestDto(br.id, " +
+            "br.requester.id, br.receiver.id, br.status, br.date) FROM BuddyRequest br ";
+
+    @Query(BUDDY_REQUEST_DTO + "WHERE br.id = :id")
+    Optional<BuddyRequestDto> findDtoById(@Param("id") Long id);
+
+    @Query(BUDDY_REQUEST_DTO + "WHERE br.requester.id = :requesterId AND br.id > :afterId " +
+            "ORDER BY br.requester.id, br.id")
+    List<BuddyRequestDto> findDtosByRequesterId(@Param("requesterId") Long requesterId,
+                                                @Param("afterId") long afterId, Limit limit);
+
+    @Query(BUDDY_REQUEST_DTO + "WHERE br.receiver.id = :receiverId AND br.status = :status AND br.id > :afterId " +
+            "ORDER BY br.receiver.id, br.status, br.id")
+    List<BuddyRequestDto> findDtosByReceiverIdAndStatus(@Param("receiverId") Long receiverId,
+                                                        @Param("status") BuddyRequestStatus status,
+                                                        @Param("afterId") long afterId, Limit limit);
+
+    @Query(BUDDY_REQUEST_DTO + "WHERE (br.requester.id = :userId OR br.receiver.id = :userId) " +
+            "AND br.status = :status AND br.id > :afterId ORDER BY br.id")
+    List<BuddyRequestDto> findDtosByUserIdAndStatus(@Param("userId") Long userId, @Param("status") BuddyRequestStatus status,
+                                                    @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Moves a request addressed to {@code receiverId} from {@code from} to {@code to} in one statement;
+     * of two concurrent transitions of the same request only the first matches.
+     *
+     * @return 1 if the request moved, 0 if it does not exist, is not addressed to the receiver or is not
+     * in {@code from}
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BuddyRequest br SET br.status = :to " +
+            "WHERE br.id = :id AND br.receiver.id = :receiverId AND br.status = :from")
+    int transition(@Param("id") Long id, @Param("receiverId") Long receiverId,
+                   @Param("from") BuddyRequestStatus from, @Param("to") BuddyRequestStatus to);
+
+    @Query("SELECT COUNT(br) > 0 FROM BuddyRequest br WHERE br.status = :status AND (" +
+            "(br.requester.id = :userId AND br.receiver.id = :otherUserId) OR " +
+            "(br.requester.id = :otherUserId AND br.receiver.id = :userId))")
+    boolean existsBetweenUsersWithStatus(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId,
+                                         @Param("status") BuddyRequestStatus status);
+
+    // Full load of one status in id order, e.g. for BuddyGraphIndex; walks the primary key
+    @Query(BUDDY_REQUEST_DTO + "WHERE br.status = :status AND br.id > :afterId ORDER BY br.id")
+    List<BuddyRequestDto> findDtosByStatusAfter(@Param("status") BuddyRequestStatus status,
+                                                @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT COUNT(br) FROM BuddyRequest br WHERE (br.requester.id = :userId OR br.receiver.id = :userId) " +
+            "AND br.status = :status")
+    long countByUserIdAndStatus(@Param("userId") Long userId, @Param("status") BuddyRequestStatus status);
+
+    /**
+     * Deletes up to {@code batchSize} requests the user sent or received.
+     *
+     * @return the number of rows deleted; fewer than {@code batchSize} means nothing is left
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BuddyRequest br WHERE br.id IN (SELECT b.id FROM BuddyRequest b " +
+            "WHERE b.requester.id = :userId OR b.receiver.id = :userId ORDER BY b.id LIMIT :batchSize)")
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,7 @@
+package com.example.productivity_app.repository;
+
+/**
+ * Open checkpoints across all of a user's goals, split into due in the rest of this week and overdue.
+ */
+public record CheckpointDueCounts(Long dueThisWeek, Long overdue) {
+}
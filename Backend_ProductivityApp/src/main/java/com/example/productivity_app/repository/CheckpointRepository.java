@@ -1,13 +1,109 @@
 package com.example.productivity_app.repository;
 
+import com.example.productivity_app.dto.CheckpointDto;
 import com.example.productivity_app.entity.Checkpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CheckpointRepository extends JpaRepository<Checkpoint, Long> {
     List<Checkpoint> findByGoal_Id(Long goalId);
+
+    // JPQL enum literals must be fully qualified; the converter turns them into the stored codes
+    String CHECKPOINT_STATUS = "com.example.productivity_app.entity.CheckpointStatus.";
+
+    String CHECKPOINT_DTO = "SELECT new com.example.productivity_app.dto.CheckpointDto(c.id, c.title, " +
+            "c.description, c.dueDate, c.status, c.completedDate) FROM Checkpoint c ";
+
+    // Keyset pages in (dueDate, id) order, undated checkpoints last; see GoalRepository.findDatedDtosByUserId
+
+    @Query(CHECKPOINT_DTO + "WHERE c.goal.id = :goalId AND c.dueDate IS NOT NULL " +
+            "ORDER BY c.goal.id, c.dueDate, c.id")
+    List<CheckpointDto> findDatedDtosByGoalId(@Param("goalId") Long goalId, Limit limit);
+
+    @Query(CHECKPOINT_DTO + "WHERE c.goal.id = :goalId AND (c.dueDate, c.id) > (:dueDate, :id) " +
+            "ORDER BY c.goal.id, c.dueDate, c.id")
+    List<CheckpointDto> findDatedDtosByGoalIdAfter(@Param("goalId") Long goalId, @Param("dueDate") LocalDate dueDate,
+                                                   @Param("id") Long id, Limit limit);
+
+    @Query(CHECKPOINT_DTO + "WHERE c.goal.id = :goalId AND c.dueDate IS NULL AND c.id > :id " +
+            "ORDER BY c.goal.id, c.dueDate, c.id")
+    List<CheckpointDto> findUndatedDtosByGoalIdAfter(@Param("goalId") Long goalId, @Param("id") long id,
+                                                     Limit limit);
+
+    /**
+     * Loads the checkpoint with a row lock held until the transaction ends, so the status it
+     * reports cannot change underneath a caller that is about to move the goal counters.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Checkpoint c WHERE c.id = :id")
+    Optional<Checkpoint> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Batch variant of {@link #findByIdForUpdate}. Rows are locked in id order so two overlapping
+     * batches cannot deadlock on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Checkpoint c WHERE c.id IN :ids ORDER BY c.id")
+    List<Checkpoint> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    String OPEN_STATUSES = "(" + CHECKPOINT_STATUS + "PENDING, " + CHECKPOINT_STATUS + "IN_PROGRESS)";
+
+    @Query("SELECT new com.example.productivity_app.repository.CheckpointDueCounts(" +
+            "COALESCE(SUM(CASE WHEN c.status IN " + OPEN_STATUSES + " " +
+            "AND c.dueDate BETWEEN :today AND :weekEnd THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN c.status = " + CHECKPOINT_STATUS + "OVERDUE " +
+            "OR (c.status IN " + OPEN_STATUSES + " AND c.dueDate < :today) THEN 1 ELSE 0 END), 0)) " +
+            "FROM Checkpoint c WHERE c.goal.users.id = :userId")
+    CheckpointDueCounts countDueForUser(@Param("userId") Long userId, @Param("today") LocalDate today,
+                                        @Param("weekEnd") LocalDate weekEnd);
+
+    /**
+     * Marks up to {@code batchSize} open checkpoints that were due before {@code today} as OVERDUE, in one
+     * statement and its own transaction, so row locks are held for one chunk only. The subquery reads the
+     * (status, dueDate) index; the outer status check is re-evaluated against the latest row version, so a
+     * checkpoint completed while the chunk waited on its lock stays COMPLETED.
+     *
+     * @return the number of rows changed; fewer than {@code batchSize} means nothing is left
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Checkpoint c SET c.status = " + CHECKPOINT_STATUS + "OVERDUE " +
+            "WHERE c.status IN " + OPEN_STATUSES + " AND c.id IN (" +
+            "SELECT o.id FROM Checkpoint o WHERE o.status IN " + OPEN_STATUSES + " AND o.dueDate < :today " +
+            "ORDER BY o.id LIMIT :batchSize)")
+    int markOverdueBatch(@Param("today") LocalDate today, @Param("batchSize") int batchSize);
+
+    // Loads BuddyLeaderboard; reads the (status, completedDate) index
+    @Query("SELECT new com.example.productivity_app.repository.UserDayCount(c.goal.users.id, c.completedDate, " +
+            "COUNT(c)) FROM Checkpoint c WHERE c.status = " + CHECKPOINT_STATUS + "COMPLETED " +
+            "AND c.completedDate >= :since GROUP BY c.goal.users.id, c.completedDate")
+    List<UserDayCount> countCompletedByUserAndDaySince(@Param("since") LocalDate since);
+
+    @Query("SELECT COUNT(c) FROM Checkpoint c WHERE c.goal.users.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes up to {@code batchSize} checkpoints of the user's goals, in one statement and its own
+     * transaction (or the caller's, if one is active).
+     *
+     * @return the number of rows deleted; fewer than {@code batchSize} means nothing is left
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Checkpoint c WHERE c.id IN (" +
+            "SELECT d.id FROM Checkpoint d WHERE d.goal.users.id = :userId ORDER BY d.id LIMIT :batchSize)")
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,18 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.dto.CheckpointDto;
+import com.example.productivity_app.entity.CheckpointStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Flat checkpoint row tagged with its goal id, selected by constructor expression so checkpoints for
+ * many goals can be read in one query and grouped without loading any entities.
+ */
+public record GoalCheckpointRow(Long goalId, Long id, String title, String description, LocalDate dueDate,
+                                CheckpointStatus status, LocalDate completedDate) {
+
+    public CheckpointDto toDto() {
+        return new CheckpointDto(id, title, description, dueDate, status, completedDate);
+    }
+}
@@ -1,13 +1,123 @@
 package com.example.productivity_app.repository;
 
+import com.example.productivity_app.dto.GoalDto;
 import com.example.productivity_app.entity.Goal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
-    List<Goal> findByUsersId(Long userId);
+    String GOAL_DTO = "SELECT new com.example.productivity_app.dto.GoalDto(g.id, g.title, g.description, " +
+            "g.startDate, g.endDate, g.status, g.progress) FROM Goal g ";
+
+    @Query(GOAL_DTO + "WHERE g.id = :goalId")
+    Optional<GoalDto> findDtoById(@Param("goalId") Long goalId);
+
+    @Query("SELECT g.users.id FROM Goal g WHERE g.id = :goalId")
+    Optional<Long> findUserIdById(@Param("goalId") Long goalId);
+
+    /*
+     * Keyset pages over a user's goals in (endDate, id) order, goals without an end date last.
+     * Every query is a single range on the (user_id, endDate, id) index that starts strictly after the
+     * previous page's last row, so a page costs the same however deep the client is. Dated and undated
+     * goals are separate queries because NULL never compares greater than the cursor. The user id in
+     * ORDER BY is constant; it lets H2 see the index order, and PostgreSQL ignores it.
+     */
+
+    @Query(GOAL_DTO + "WHERE g.users.id = :userId AND g.endDate IS NOT NULL ORDER BY g.users.id, g.endDate, g.id")
+    List<GoalDto> findDatedDtosByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(GOAL_DTO + "WHERE g.users.id = :userId AND (g.endDate, g.id) > (:endDate, :id) " +
+            "ORDER BY g.users.id, g.endDate, g.id")
+    List<GoalDto> findDatedDtosByUserIdAfter(@Param("userId") Long userId, @Param("endDate") LocalDate endDate,
+                                             @Param("id") Long id, Limit limit);
+
+    @Query(GOAL_DTO + "WHERE g.users.id = :userId AND g.endDate IS NULL AND g.id > :id " +
+            "ORDER BY g.users.id, g.endDate, g.id")
+    List<GoalDto> findUndatedDtosByUserIdAfter(@Param("userId") Long userId, @Param("id") long id, Limit limit);
+
+    @Query("SELECT new com.example.productivity_app.repository.GoalCheckpointRow(c.goal.id, c.id, c.title, " +
+            "c.description, c.dueDate, c.status, c.completedDate) " +
+            "FROM Checkpoint c WHERE c.goal.id IN :goalIds ORDER BY c.id")
+    List<GoalCheckpointRow> findCheckpointRowsByGoalIds(@Param("goalIds") Collection<Long> goalIds);
+
+    @Query("SELECT new com.example.productivity_app.repository.GoalStatusCount(g.status, COUNT(g), " +
+            "COALESCE(SUM(g.progress), 0)) FROM Goal g WHERE g.users.id = :userId GROUP BY g.status")
+    List<GoalStatusCount> countByStatusForUser(@Param("userId") Long userId);
+
+    /**
+     * Adjusts the checkpoint counters in place and recomputes progress from the new values, in one
+     * statement. SET expressions see the row as it was before the update, hence the repeated deltas.
+     *
+     * @return 1 if the goal exists, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Goal g SET g.totalCheckpoints = g.totalCheckpoints + :totalDelta, " +
+            "g.completedCheckpoints = g.completedCheckpoints + :completedDelta, " +
+            "g.progress = CASE WHEN g.totalCheckpoints + :totalDelta > 0 " +
+            "THEN ((g.completedCheckpoints + :completedDelta) * 100) / (g.totalCheckpoints + :totalDelta) ELSE 0 END " +
+            "WHERE g.id = :goalId")
+    int applyCheckpointDelta(@Param("goalId") Long goalId,
+                             @Param("totalDelta") int totalDelta,
+                             @Param("completedDelta") int completedDelta);
+
+    @Modifying
+    @Query("UPDATE Goal g SET " +
+            "g.totalCheckpoints = (SELECT COUNT(c) FROM Checkpoint c WHERE c.goal.id = g.id), " +
+            "g.completedCheckpoints = (SELECT COUNT(c) FROM Checkpoint c WHERE c.goal.id = g.id " +
+            "AND c.status = " + CheckpointRepository.CHECKPOINT_STATUS + "COMPLETED)")
+    int rebuildCheckpointCounters();
+
+    @Modifying
+    @Query("UPDATE Goal g SET g.progress = CASE WHEN g.totalCheckpoints > 0 " +
+            "THEN (g.completedCheckpoints * 100) / g.totalCheckpoints ELSE 0 END")
+    int rebuildProgress();
+
+    // Goal.checkpoints does not cascade; the checkpoints have to go before the goal rows can
+    @Modifying
+    @Query("DELETE FROM Checkpoint c WHERE c.goal.id IN :goalIds")
+    int deleteCheckpointsByGoalIds(@Param("goalIds") Collection<Long> goalIds);
+
+    @Modifying
+    @Query("DELETE FROM Goal g WHERE g.id IN :goalIds")
+    int deleteByIds(@Param("goalIds") Collection<Long> goalIds);
+
+    String GOAL_STATUS = "com.example.productivity_app.entity.GoalStatus.";
+    String FINISHED_STATUSES = "(" + GOAL_STATUS + "COMPLETED, " + GOAL_STATUS + "CANCELLED)";
+
+    /**
+     * Finished goals whose end date is before {@code cutoff}, locked until the transaction ends so they
+     * cannot change, or gain a checkpoint, between being copied to the archive and being deleted.
+     * Reads the (status, endDate) index; rows are locked in id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g.id FROM Goal g WHERE g.status IN " + FINISHED_STATUSES + " AND g.endDate < :cutoff " +
+            "ORDER BY g.id")
+    List<Long> findArchivableIdsForUpdate(@Param("cutoff") LocalDate cutoff, Limit limit);
+
+    @Query("SELECT COUNT(g) FROM Goal g WHERE g.users.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes up to {@code batchSize} of the user's goals; their checkpoints must already be gone.
+     *
+     * @return the number of rows deleted; fewer than {@code batchSize} means nothing is left
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Goal g WHERE g.id IN (" +
+            "SELECT h.id FROM Goal h WHERE h.users.id = :userId ORDER BY h.id LIMIT :batchSize)")
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,9 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.entity.GoalStatus;
+
+/**
+ * Number of goals a user has in one status and the sum of their progress, one row per status.
+ */
+public record GoalStatusCount(GoalStatus status, Long goals, Long progressSum) {
+}
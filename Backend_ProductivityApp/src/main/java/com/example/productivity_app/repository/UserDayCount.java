@@ -0,0 +1,9 @@
+package com.example.productivity_app.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Number of checkpoints a user completed on one day, one row per (user, day).
+ */
+public record UserDayCount(Long userId, LocalDate day, Long completed) {
+}
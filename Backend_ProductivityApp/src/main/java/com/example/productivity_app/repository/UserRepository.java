@@ -2,11 +2,21 @@ package com.example.productivity_app.repository;
 
 import com.example.productivity_app.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<Users, Long> {
     Optional<Users> findByEmail(String email);
+
+    // Bulk delete: no load, no JPA cascade over goals; everything referencing the user must be gone first
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Users u WHERE u.id = :userId")
+    int deleteUserById(@Param("userId") Long userId);
 }
@@ -0,0 +1,225 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.AccountPurgeDto;
+import com.example.productivity_app.exception.UserNotFoundException;
+import com.example.productivity_app.repository.ArchivedCheckpointRepository;
+import com.example.productivity_app.repository.ArchivedGoalRepository;
+import com.example.productivity_app.repository.BuddyRequestRepository;
+import com.example.productivity_app.repository.CheckpointRepository;
+import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes a user and every row that references it with set-based statements in dependency order:
+ * the checkpoints of the user's goals, the goals (archived ones first), the buddy requests on either side,
+ * then the user. Nothing is loaded and no JPA cascade is involved.
+ * <p>
+ * Each table is deleted in chunks of at most {@code batchSize} rows. An account whose checkpoints and
+ * goals each fit in one chunk is deleted inline, in one transaction. A larger account is purged on a
+ * background thread with every chunk committed on its own, so no transaction holds row locks for long;
+ * its progress is kept for {@code retention} after it ends. The user row goes last, so a purge that fails
+ * part-way leaves a smaller but consistent account, and deleting it again picks up where it stopped.
+ */
+@Service
+public class AccountPurgeService {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountPurgeService.class);
+
+    private final UserRepository userRepository;
+    private final GoalRepository goalRepository;
+    private final CheckpointRepository checkpointRepository;
+    private final BuddyRequestRepository buddyRequestRepository;
+    private final ArchivedGoalRepository archivedGoalRepository;
+    private final ArchivedCheckpointRepository archivedCheckpointRepository;
+    private final GoalReadCache goalReadCache;
+    private final BuddyGraphIndex buddyGraphIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final ConcurrentMap<Long, Purge> purges = new ConcurrentHashMap<>();
+    // One purge at a time: they are rare, and running them in parallel would only compete for the same disks
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "account-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AccountPurgeService(UserRepository userRepository,
+                               GoalRepository goalRepository,
+                               CheckpointRepository checkpointRepository,
+                               BuddyRequestRepository buddyRequestRepository,
+                               ArchivedGoalRepository archivedGoalRepository,
+                               ArchivedCheckpointRepository archivedCheckpointRepository,
+                               GoalReadCache goalReadCache,
+                               BuddyGraphIndex buddyGraphIndex,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${accounts.purge.batch-size:1000}") int batchSize,
+                               @Value("${accounts.purge.retention-ms:3600000}") long retentionMillis) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Account purge batch size must be at least 1");
+        }
+        this.userRepository = userRepository;
+        this.goalRepository = goalRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.buddyRequestRepository = buddyRequestRepository;
+        this.archivedGoalRepository = archivedGoalRepository;
+        this.archivedCheckpointRepository = archivedCheckpointRepository;
+        this.goalReadCache = goalReadCache;
+        this.buddyGraphIndex = buddyGraphIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = Duration.ofMillis(retentionMillis);
+    }
+
+    /**
+     * Deletes the user, inline when the account is small and in the background otherwise.
+     * Calling it again while a background purge of the same user runs returns that purge.
+     *
+     * @return the purge state: COMPLETED when the user is already gone, RUNNING otherwise
+     * @throws UserNotFoundException if the user does not exist and is not being purged
+     */
+    public AccountPurgeDto purge(Long userId) {
+        Purge running = purges.get(userId);
+        if (running != null && running.isRunning()) {
+            return running.toDto();
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found");
+        }
+        Purge purge = new Purge(userId,
+                checkpointRepository.countByUserId(userId) + archivedCheckpointRepository.countByUserId(userId),
+                goalRepository.countByUserId(userId) + archivedGoalRepository.countByUserId(userId));
+
+        if (purge.checkpointsTotal <= batchSize && purge.goalsTotal <= batchSize) {
+            transactionTemplate.executeWithoutResult(status -> deleteAccount(purge));
+            purge.finish(null);
+            return purge.toDto();
+        }
+
+        pruneFinished();
+        Purge current = purges.compute(userId,
+                (id, existing) -> existing != null && existing.isRunning() ? existing : purge);
+        if (current != purge) {
+            return current.toDto();
+        }
+        logger.info("Purging user {} in the background: {} goals, {} checkpoints",
+                userId, purge.goalsTotal, purge.checkpointsTotal);
+        executor.execute(() -> run(purge));
+        return purge.toDto();
+    }
+
+    /**
+     * Progress of a background purge that is running or ended within the retention period.
+     */
+    public Optional<AccountPurgeDto> getStatus(Long userId) {
+        return Optional.ofNullable(purges.get(userId)).map(Purge::toDto);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Purge purge) {
+        try {
+            deleteAccount(purge);
+            purge.finish(null);
+            logger.info("Purged user {}: {} goals, {} checkpoints, {} buddy requests", purge.userId,
+                    purge.goalsDeleted, purge.checkpointsDeleted, purge.buddyRequestsDeleted);
+        } catch (RuntimeException e) {
+            purge.finish(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            logger.error("Purge of user {} failed", purge.userId, e);
+        }
+    }
+
+    // Without a surrounding transaction every chunk commits on its own
+    private void deleteAccount(Purge purge) {
+        Long userId = purge.userId;
+        long archivedCheckpoints = deleteInChunks(
+                () -> archivedCheckpointRepository.deleteBatchByUserId(userId, batchSize),
+                total -> purge.checkpointsDeleted = total);
+        deleteInChunks(() -> checkpointRepository.deleteBatchByUserId(userId, batchSize),
+                total -> purge.checkpointsDeleted = archivedCheckpoints + total);
+        long archivedGoals = deleteInChunks(() -> archivedGoalRepository.deleteBatchByUserId(userId, batchSize),
+                total -> purge.goalsDeleted = total);
+        deleteInChunks(() -> goalRepository.deleteBatchByUserId(userId, batchSize),
+                total -> purge.goalsDeleted = archivedGoals + total);
+        deleteInChunks(() -> buddyRequestRepository.deleteBatchByUserId(userId, batchSize),
+                total -> purge.buddyRequestsDeleted = total);
+        userRepository.deleteUserById(userId);
+        goalReadCache.evictAll();
+        buddyGraphIndex.userDeleted(userId);
+    }
+
+    private long deleteInChunks(IntSupplier chunk, LongConsumer progress) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = chunk.getAsInt();
+            total += deleted;
+            progress.accept(total);
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    private void pruneFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        purges.values().removeIf(purge -> purge.finishedAt != null && purge.finishedAt.isBefore(cutoff));
+    }
+
+    // Written by the purge thread only; volatile so status reads from request threads see the latest counts
+    private static final class Purge {
+        private final Long userId;
+        private final long checkpointsTotal;
+        private final long goalsTotal;
+        private final Instant startedAt = Instant.now();
+        private volatile long checkpointsDeleted;
+        private volatile long goalsDeleted;
+        private volatile long buddyRequestsDeleted;
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        private Purge(Long userId, long checkpointsTotal, long goalsTotal) {
+            this.userId = userId;
+            this.checkpointsTotal = checkpointsTotal;
+            this.goalsTotal = goalsTotal;
+        }
+
+        private boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        private void finish(String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+        }
+
+        private AccountPurgeDto toDto() {
+            Instant finished = finishedAt;
+            String state = finished == null ? RUNNING : error == null ? COMPLETED : FAILED;
+            return new AccountPurgeDto(userId, state, checkpointsTotal, checkpointsDeleted, goalsTotal,
+                    goalsDeleted, buddyRequestsDeleted, startedAt, finished, error);
+        }
+    }
+}
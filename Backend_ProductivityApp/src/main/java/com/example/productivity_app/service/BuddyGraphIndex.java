@@ -0,0 +1,322 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.BuddyRequestDto;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.repository.BuddyRequestRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory adjacency index of accepted buddy requests, so buddy lists, buddy counts and "are X and Y
+ * buddies" are answered without the {@code requester_id = ? OR receiver_id = ?} query.
+ * <p>
+ * Each user maps to one {@code long[]} holding, per accepted request, three longs: the request id, the
+ * buddy's id and {@code epochDay << 1 | 1-if-the-user-sent-it}, sorted by request id (the order of the
+ * paginated buddy list). Arrays are replaced, never modified, so readers need no lock; an edge costs
+ * 48 bytes (one entry on each side) plus about 80 bytes per user with buddies, about 65 MB per million
+ * edges at ten buddies per user, where boxed sets would need about twice that for the buddy ids alone.
+ * <p>
+ * The index is loaded from the database on startup and reloaded every {@code refresh-interval-ms}, which
+ * bounds how long an accept made on another instance stays invisible here. Until the first load finishes
+ * {@link #isLoaded()} is false and callers fall back to the database.
+ */
+@Component
+public class BuddyGraphIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuddyGraphIndex.class);
+
+    private static final int STRIDE = 3;
+    private static final long NO_DATE = Long.MIN_VALUE >> 1;
+
+    private final BuddyRequestRepository buddyRequestRepository;
+    private final int loadBatchSize;
+    private final Timer rebuildTimer;
+    private volatile Graph graph; // null until the first load
+    private volatile Graph building; // receives live changes while a reload runs
+
+    public BuddyGraphIndex(BuddyRequestRepository buddyRequestRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${buddies.index.load-batch-size:10000}") int loadBatchSize) {
+        if (loadBatchSize < 1) {
+            throw new IllegalArgumentException("Buddy index load batch size must be at least 1");
+        }
+        this.buddyRequestRepository = buddyRequestRepository;
+        this.loadBatchSize = loadBatchSize;
+        this.rebuildTimer = Timer.builder("buddies.index.rebuild.duration").register(meterRegistry);
+        Gauge.builder("buddies.index.edges", this, index -> index.current().edges.get())
+                .description("Accepted buddy relationships held in memory")
+                .register(meterRegistry);
+        Gauge.builder("buddies.index.users", this, index -> index.current().adjacency.size())
+                .description("Users with at least one accepted buddy")
+                .register(meterRegistry);
+        Gauge.builder("buddies.index.memory", this, index -> index.current().estimatedBytes())
+                .description("Estimated heap used by the buddy index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads every accepted request in id-ordered batches into a new graph and swaps it in. Accepts and
+     * removals made meanwhile go to the graph being built first and the live one second, so they land in
+     * whichever graph survives a swap between the two; a removal racing the batch that still read the
+     * removed rows can survive until the next reload.
+     */
+    @Scheduled(fixedDelayString = "${buddies.index.refresh-interval-ms:900000}",
+            initialDelayString = "${buddies.index.initial-delay-ms:0}")
+    public void rebuild() {
+        Timer.Sample sample = Timer.start();
+        Graph next = new Graph();
+        building = next;
+        try {
+            long afterId = Long.MIN_VALUE;
+            List<BuddyRequestDto> batch;
+            do {
+                batch = buddyRequestRepository.findDtosByStatusAfter(BuddyRequestStatus.ACCEPTED, afterId,
+                        Limit.of(loadBatchSize));
+                for (BuddyRequestDto request : batch) {
+                    next.add(request.getId(), request.getSenderId(), request.getReceiverId(), request.getDate());
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == loadBatchSize);
+            graph = next;
+        } finally {
+            building = null;
+        }
+        long nanos = sample.stop(rebuildTimer);
+        logger.debug("Loaded {} buddy relationships for {} users in {} ms ({} bytes)", next.edges.get(),
+                next.adjacency.size(), nanos / 1_000_000, next.estimatedBytes());
+    }
+
+    public boolean isLoaded() {
+        return graph != null;
+    }
+
+    /**
+     * Records an accepted request once the surrounding transaction commits, or now without one.
+     */
+    public void accepted(Long requestId, Long requesterId, Long receiverId, LocalDate date) {
+        afterCommit(() -> {
+            apply(building, g -> g.add(requestId, requesterId, receiverId, date));
+            apply(graph, g -> g.add(requestId, requesterId, receiverId, date));
+        });
+    }
+
+    /**
+     * Drops every relationship of a deleted user, once the surrounding transaction commits.
+     */
+    public void userDeleted(Long userId) {
+        afterCommit(() -> {
+            apply(building, g -> g.removeUser(userId));
+            apply(graph, g -> g.removeUser(userId));
+        });
+    }
+
+    /**
+     * Up to {@code limit} of the user's accepted requests with an id above {@code afterId}, in id order,
+     * shaped like the rows of {@link BuddyRequestRepository#findDtosByUserIdAndStatus}.
+     */
+    public List<BuddyRequestDto> findAccepted(long userId, long afterId, int limit) {
+        long[] entries = current().adjacency.get(userId);
+        if (entries == null) {
+            return List.of();
+        }
+        int from = firstAfter(entries, afterId);
+        int count = Math.min(limit, entries.length / STRIDE - from);
+        List<BuddyRequestDto> page = new ArrayList<>(Math.max(count, 0));
+        for (int i = from; i < from + count; i++) {
+            int at = i * STRIDE;
+            long buddyId = entries[at + 1];
+            long meta = entries[at + 2];
+            boolean sent = (meta & 1) != 0;
+            long epochDay = meta >> 1;
+            page.add(new BuddyRequestDto(entries[at], sent ? userId : buddyId, sent ? buddyId : userId,
+                    BuddyRequestStatus.ACCEPTED, epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay)));
+        }
+        return page;
+    }
+
+    /**
+     * Ids of the user's accepted buddies, in request id order.
+     */
+    public long[] buddyIds(long userId) {
+        long[] entries = current().adjacency.get(userId);
+        if (entries == null) {
+            return new long[0];
+        }
+        long[] ids = new long[entries.length / STRIDE];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entries[i * STRIDE + 1];
+        }
+        return ids;
+    }
+
+    public long countBuddies(long userId) {
+        long[] entries = current().adjacency.get(userId);
+        return entries == null ? 0 : entries.length / STRIDE;
+    }
+
+    public boolean areBuddies(long userId, long otherUserId) {
+        Graph current = current();
+        long[] mine = current.adjacency.get(userId);
+        long[] theirs = current.adjacency.get(otherUserId);
+        if (mine == null || theirs == null) {
+            return false;
+        }
+        // Entries are ordered by request id, not buddy id: scan the shorter list
+        long[] shorter = mine.length <= theirs.length ? mine : theirs;
+        long other = shorter == mine ? otherUserId : userId;
+        for (int at = 1; at < shorter.length; at += STRIDE) {
+            if (shorter[at] == other) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long estimatedBytes() {
+        return current().estimatedBytes();
+    }
+
+    private Graph current() {
+        Graph current = graph;
+        return current != null ? current : Graph.EMPTY;
+    }
+
+    private static void apply(Graph target, Consumer<Graph> change) {
+        if (target != null) {
+            change.accept(target);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Index of the first entry whose request id is greater than {@code afterId}.
+     */
+    private static int firstAfter(long[] entries, long afterId) {
+        int low = 0;
+        int high = entries.length / STRIDE;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid * STRIDE] <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Graph {
+
+        private static final Graph EMPTY = new Graph();
+
+        // Per-user overhead: map node and boxed key (~48 bytes), table slot, array header (16 bytes)
+        private static final long BYTES_PER_USER = 80;
+
+        private final ConcurrentMap<Long, long[]> adjacency = new ConcurrentHashMap<>();
+        private final AtomicLong edges = new AtomicLong();
+        private final AtomicLong entryLongs = new AtomicLong();
+
+        private void add(long requestId, long requesterId, long receiverId, LocalDate date) {
+            long epochDay = date != null ? date.toEpochDay() : NO_DATE;
+            boolean added = insert(requesterId, requestId, receiverId, epochDay << 1 | 1);
+            insert(receiverId, requestId, requesterId, epochDay << 1);
+            if (added) {
+                edges.incrementAndGet();
+            }
+        }
+
+        private boolean insert(long userId, long requestId, long buddyId, long meta) {
+            boolean[] inserted = new boolean[1];
+            adjacency.compute(userId, (id, entries) -> {
+                if (entries == null) {
+                    inserted[0] = true;
+                    return new long[]{requestId, buddyId, meta};
+                }
+                int position = firstAfter(entries, requestId - 1);
+                int at = position * STRIDE;
+                if (at < entries.length && entries[at] == requestId) {
+                    return entries; // already indexed, e.g. read by a reload and applied live
+                }
+                long[] grown = new long[entries.length + STRIDE];
+                System.arraycopy(entries, 0, grown, 0, at);
+                grown[at] = requestId;
+                grown[at + 1] = buddyId;
+                grown[at + 2] = meta;
+                System.arraycopy(entries, at, grown, at + STRIDE, entries.length - at);
+                inserted[0] = true;
+                return grown;
+            });
+            if (inserted[0]) {
+                entryLongs.addAndGet(STRIDE);
+            }
+            return inserted[0];
+        }
+
+        private void removeUser(long userId) {
+            long[] entries = adjacency.remove(userId);
+            if (entries == null) {
+                return;
+            }
+            entryLongs.addAndGet(-entries.length);
+            edges.addAndGet(-(entries.length / STRIDE));
+            for (int at = 1; at < entries.length; at += STRIDE) {
+                removeBuddy(entries[at], userId);
+            }
+        }
+
+        private void removeBuddy(long userId, long buddyId) {
+            adjacency.computeIfPresent(userId, (id, entries) -> {
+                int kept = 0;
+                long[] remaining = new long[entries.length];
+                for (int at = 0; at < entries.length; at += STRIDE) {
+                    if (entries[at + 1] != buddyId) {
+                        System.arraycopy(entries, at, remaining, kept, STRIDE);
+                        kept += STRIDE;
+                    }
+                }
+                entryLongs.addAndGet(kept - entries.length);
+                if (kept == 0) {
+                    return null;
+                }
+                return kept == entries.length ? entries : Arrays.copyOf(remaining, kept);
+            });
+        }
+
+        private long estimatedBytes() {
+            return entryLongs.get() * Long.BYTES + adjacency.size() * BYTES_PER_USER;
+        }
+    }
+}
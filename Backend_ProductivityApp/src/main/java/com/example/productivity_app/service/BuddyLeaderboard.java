@@ -0,0 +1,211 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.BuddyLeaderboardDto;
+import com.example.productivity_app.dto.LeaderboardEntryDto;
+import com.example.productivity_app.exception.ServiceUnavailableException;
+import com.example.productivity_app.repository.CheckpointRepository;
+import com.example.productivity_app.repository.UserDayCount;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.LongStream;
+
+/**
+ * Checkpoints each user completed on each of the last {@value #WINDOW_DAYS} days, held in memory so a
+ * buddy leaderboard is ranked without reading anyone's goals.
+ * <p>
+ * A user's counts are a ring of daily slots indexed by epoch day; recording a later day clears the slots
+ * that fell out of the window, so every user costs the same (about 220 bytes) and only users with a
+ * completion inside the window are held. {@link CheckpointService} reports each checkpoint that enters or
+ * leaves COMPLETED once its transaction commits.
+ * <p>
+ * The counts are loaded with one aggregate query on startup and reloaded every {@code refresh-interval-ms}.
+ * A reload drops users who went quiet and picks up what is not reported here: completions on other
+ * instances and checkpoints removed in bulk with their goal or account. A change committed while a reload
+ * runs can be missed until the next one.
+ */
+@Component
+public class BuddyLeaderboard {
+
+    static final int WINDOW_DAYS = 30;
+    static final int WEEK_DAYS = 7;
+
+    private static final Logger logger = LoggerFactory.getLogger(BuddyLeaderboard.class);
+
+    // DailyCounts with its int[30] (~160 bytes), map node, boxed key and table slot (~60 bytes)
+    private static final long BYTES_PER_USER = 220;
+
+    private final CheckpointRepository checkpointRepository;
+    private final Timer rebuildTimer;
+    private volatile ConcurrentMap<Long, DailyCounts> counts; // null until the first load
+
+    public BuddyLeaderboard(CheckpointRepository checkpointRepository, MeterRegistry meterRegistry) {
+        this.checkpointRepository = checkpointRepository;
+        this.rebuildTimer = Timer.builder("buddies.leaderboard.rebuild.duration").register(meterRegistry);
+        Gauge.builder("buddies.leaderboard.users", this, leaderboard -> leaderboard.size())
+                .description("Users with completion counters in memory")
+                .register(meterRegistry);
+        Gauge.builder("buddies.leaderboard.memory", this, leaderboard -> leaderboard.size() * BYTES_PER_USER)
+                .description("Estimated heap used by the leaderboard counters")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${buddies.leaderboard.refresh-interval-ms:3600000}",
+            initialDelayString = "${buddies.leaderboard.initial-delay-ms:0}")
+    public void rebuild() {
+        rebuild(LocalDate.now());
+    }
+
+    public void rebuild(LocalDate today) {
+        Timer.Sample sample = Timer.start();
+        ConcurrentMap<Long, DailyCounts> next = new ConcurrentHashMap<>();
+        for (UserDayCount row : checkpointRepository.countCompletedByUserAndDaySince(
+                today.minusDays(WINDOW_DAYS - 1))) {
+            next.computeIfAbsent(row.userId(), id -> new DailyCounts())
+                    .add(row.day().toEpochDay(), row.completed().intValue());
+        }
+        counts = next;
+        long nanos = sample.stop(rebuildTimer);
+        logger.debug("Loaded completion counters for {} users in {} ms", next.size(), nanos / 1_000_000);
+    }
+
+    public boolean isLoaded() {
+        return counts != null;
+    }
+
+    /**
+     * Moves one checkpoint's completion from day {@code from} to day {@code to} once the surrounding
+     * transaction commits. Either is null when the checkpoint was not, or is no longer, completed.
+     */
+    public void completionMoved(Long userId, LocalDate from, LocalDate to) {
+        if (userId == null || Objects.equals(from, to)) {
+            return;
+        }
+        afterCommit(() -> {
+            ConcurrentMap<Long, DailyCounts> current = counts;
+            if (current == null) {
+                return; // the first load will read it from the database
+            }
+            if (from != null) {
+                DailyCounts user = current.get(userId);
+                if (user != null) {
+                    user.add(from.toEpochDay(), -1);
+                }
+            }
+            if (to != null) {
+                current.computeIfAbsent(userId, id -> new DailyCounts()).add(to.toEpochDay(), 1);
+            }
+        });
+    }
+
+    /**
+     * Ranks the user and their buddies by checkpoints completed in the last seven and thirty days up to
+     * and including {@code today}.
+     *
+     * @throws ServiceUnavailableException until the first load has finished
+     */
+    public BuddyLeaderboardDto rank(long userId, long[] buddyIds, LocalDate today) {
+        Map<Long, DailyCounts> current = counts;
+        if (current == null) {
+            throw new ServiceUnavailableException("Leaderboard is loading, please retry", 5);
+        }
+        long[] members = LongStream.concat(LongStream.of(userId), Arrays.stream(buddyIds)).distinct().toArray();
+        long day = today.toEpochDay();
+        return new BuddyLeaderboardDto(userId,
+                ranked(members, current, day, WEEK_DAYS),
+                ranked(members, current, day, WINDOW_DAYS));
+    }
+
+    private int size() {
+        Map<Long, DailyCounts> current = counts;
+        return current != null ? current.size() : 0;
+    }
+
+    private static List<LeaderboardEntryDto> ranked(long[] members, Map<Long, DailyCounts> counts, long today,
+                                                    int days) {
+        List<LeaderboardEntryDto> entries = new ArrayList<>(members.length);
+        for (long member : members) {
+            DailyCounts user = counts.get(member);
+            entries.add(new LeaderboardEntryDto(member, user != null ? user.sum(today, days) : 0, 0));
+        }
+        entries.sort(Comparator.comparingInt(LeaderboardEntryDto::getCompletedCheckpoints).reversed()
+                .thenComparingLong(LeaderboardEntryDto::getUserId));
+        for (int i = 0; i < entries.size(); i++) {
+            LeaderboardEntryDto entry = entries.get(i);
+            LeaderboardEntryDto previous = i > 0 ? entries.get(i - 1) : null;
+            boolean tied = previous != null && previous.getCompletedCheckpoints() == entry.getCompletedCheckpoints();
+            entry.setRank(tied ? previous.getRank() : i + 1);
+        }
+        return entries;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * One user's completions per day for the {@value #WINDOW_DAYS} days up to the latest day recorded.
+     * Synchronized: a user's counter only sees that user's own completions, so it is rarely contended.
+     */
+    private static final class DailyCounts {
+
+        private final int[] slots = new int[WINDOW_DAYS];
+        private long newestDay = Long.MIN_VALUE;
+
+        private synchronized void add(long day, int delta) {
+            if (day > newestDay) {
+                if (newestDay == Long.MIN_VALUE || day - newestDay >= WINDOW_DAYS) {
+                    Arrays.fill(slots, 0);
+                } else {
+                    for (long expired = newestDay + 1; expired <= day; expired++) {
+                        slots[slot(expired)] = 0;
+                    }
+                }
+                newestDay = day;
+            } else if (day <= newestDay - WINDOW_DAYS) {
+                return; // already outside the window
+            }
+            slots[slot(day)] += delta;
+        }
+
+        private synchronized int sum(long today, int days) {
+            int total = 0;
+            for (long day = today - days + 1; day <= today; day++) {
+                if (day <= newestDay && day > newestDay - WINDOW_DAYS) {
+                    total += slots[slot(day)];
+                }
+            }
+            return Math.max(total, 0); // a reload can race a decrement
+        }
+
+        private static int slot(long day) {
+            return Math.floorMod(day, WINDOW_DAYS);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.productivity_app.service;
 
-import com.example.productivity_app.entity.BuddyRequest;
-import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.dto.BuddyLeaderboardDto;
+import com.example.productivity_app.dto.BuddyRequestDto;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.exception.BuddyRequestNotFoundException;
+import com.example.productivity_app.exception.ConflictException;
+import com.example.productivity_app.exception.UserNotFoundException;
 import com.example.productivity_app.repository.BuddyRequestRepository;
-import com.example.productivity_app.repository.UserRepository;
+import com.example.productivity_app.util.KeysetCursor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,79 +20,126 @@ import java.util.List;
 public class BuddyRequestService {
 
     private final BuddyRequestRepository buddyRequestRepository;
-    private final UserRepository userRepository;
+    private final BuddyGraphIndex buddyGraphIndex;
+    private final BuddyLeaderboard buddyLeaderboard;
 
     public BuddyRequestService(BuddyRequestRepository buddyRequestRepository,
-                               UserRepository userRepository) {
+                               BuddyGraphIndex buddyGraphIndex,
+                               BuddyLeaderboard buddyLeaderboard) {
         this.buddyRequestRepository = buddyRequestRepository;
-        this.userRepository = userRepository;
+        this.buddyGraphIndex = buddyGraphIndex;
+        this.buddyLeaderboard = buddyLeaderboard;
     }
 
-    public BuddyRequest sendRequest(Long senderId, Long receiverId) {
+    /**
+     * Creates a pending request with a single insert-or-conflict statement: no existence check or user
+     * lookup runs first, and a request already made in either direction turns the insert into a no-op.
+     */
+    public BuddyRequestDto sendRequest(Long senderId, Long receiverId) {
         if (senderId.equals(receiverId)) {
             throw new IllegalArgumentException("Cannot send request to yourself");
         }
 
-        // Check if request already exists
-        if (buddyRequestRepository.existsByRequester_IdAndReceiver_Id(senderId, receiverId)) {
-            throw new IllegalArgumentException("Buddy request already exists");
+        LocalDate today = LocalDate.now();
+        long id = buddyRequestRepository.nextId();
+        int inserted;
+        try {
+            inserted = buddyRequestRepository.insertIfAbsent(id, senderId, receiverId,
+                    Math.min(senderId, receiverId), Math.max(senderId, receiverId),
+                    BuddyRequestStatus.PENDING.getCode(), today);
+        } catch (DataIntegrityViolationException e) {
+            // Pair conflicts are absorbed by the statement, so this is a foreign key violation
+            throw new UserNotFoundException("Requester or receiver not found");
         }
+        if (inserted == 0) {
+            throw new IllegalArgumentException(areBuddies(senderId, receiverId)
+                    ? "Already buddies" : "Buddy request already exists");
+        }
+        return new BuddyRequestDto(id, senderId, receiverId, BuddyRequestStatus.PENDING, today);
+    }
 
-        Users requester = userRepository.findById(senderId)
-                .orElseThrow(() -> new RuntimeException("Requester not found"));
-        Users receiver = userRepository.findById(receiverId)
-                .orElseThrow(() -> new RuntimeException("Receiver not found"));
-
-        BuddyRequest request = new BuddyRequest();
-        request.setRequester(requester);
-        request.setReceiver(receiver);
-        request.setStatus("PENDING");
-        request.setDate(LocalDate.now());
-
-        return buddyRequestRepository.save(request);
+    @Transactional
+    public BuddyRequestDto acceptRequest(Long requestId, Long receiverId) {
+        BuddyRequestDto accepted = transition(requestId, receiverId, BuddyRequestStatus.ACCEPTED);
+        buddyGraphIndex.accepted(accepted.getId(), accepted.getSenderId(), accepted.getReceiverId(),
+                accepted.getDate());
+        return accepted;
     }
 
-    public BuddyRequest acceptRequest(Long requestId, Long receiverId) {
-        BuddyRequest request = buddyRequestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Request not found"));
+    @Transactional
+    public BuddyRequestDto rejectRequest(Long requestId, Long receiverId) {
+        return transition(requestId, receiverId, BuddyRequestStatus.REJECTED);
+    }
 
-        if (request.getReceiver().getId() != receiverId) {
-            throw new IllegalArgumentException("You can only accept requests sent to you");
+    /**
+     * Moves a pending request with one conditional UPDATE, then reads the row back by primary key for the
+     * response (or, when nothing matched, to tell a missing request from one that is no longer pending).
+     *
+     * @throws BuddyRequestNotFoundException if the request does not exist or was not sent to the receiver
+     * @throws ConflictException if the request has already been accepted or rejected
+     */
+    private BuddyRequestDto transition(Long requestId, Long receiverId, BuddyRequestStatus to) {
+        int updated = buddyRequestRepository.transition(requestId, receiverId, BuddyRequestStatus.PENDING, to);
+        BuddyRequestDto request = buddyRequestRepository.findDtoById(requestId)
+                .filter(found -> found.getReceiverId().equals(receiverId))
+                .orElseThrow(() -> new BuddyRequestNotFoundException("Request not found"));
+        if (updated == 0) {
+            throw new ConflictException("Request is not pending");
         }
+        return request;
+    }
 
-        if (!"PENDING".equals(request.getStatus())) {
-            throw new IllegalArgumentException("Request is not pending");
-        }
+    // The buddy lists are keyset-paginated by id; cursor is the previous page's token or null
 
-        request.setStatus("ACCEPTED");
-        return buddyRequestRepository.save(request);
+    @Transactional(readOnly = true)
+    public CursorPage<BuddyRequestDto> getPendingRequestsForUser(Long userId, String cursor, int limit) {
+        return page(buddyRequestRepository.findDtosByReceiverIdAndStatus(userId, BuddyRequestStatus.PENDING,
+                afterId(cursor), Limit.of(limit + 1)), limit);
     }
 
-    public BuddyRequest rejectRequest(Long requestId, Long receiverId) {
-        BuddyRequest request = buddyRequestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Request not found"));
+    @Transactional(readOnly = true)
+    public CursorPage<BuddyRequestDto> getSentRequestsForUser(Long userId, String cursor, int limit) {
+        return page(buddyRequestRepository.findDtosByRequesterId(userId, afterId(cursor), Limit.of(limit + 1)),
+                limit);
+    }
 
-        if (request.getReceiver().getId() != receiverId) {
-            throw new IllegalArgumentException("You can only reject requests sent to you");
+    // Served from BuddyGraphIndex; the OR query only runs until the index has loaded
+    public CursorPage<BuddyRequestDto> getAcceptedBuddiesForUser(Long userId, String cursor, int limit) {
+        if (buddyGraphIndex.isLoaded()) {
+            return page(buddyGraphIndex.findAccepted(userId, afterId(cursor), limit + 1), limit);
         }
+        return page(buddyRequestRepository.findDtosByUserIdAndStatus(userId, BuddyRequestStatus.ACCEPTED,
+                afterId(cursor), Limit.of(limit + 1)), limit);
+    }
 
-        if (!"PENDING".equals(request.getStatus())) {
-            throw new IllegalArgumentException("Request is not pending");
+    public boolean areBuddies(Long userId, Long otherUserId) {
+        if (buddyGraphIndex.isLoaded()) {
+            return buddyGraphIndex.areBuddies(userId, otherUserId);
         }
-
-        request.setStatus("REJECTED");
-        return buddyRequestRepository.save(request);
+        return buddyRequestRepository.existsBetweenUsersWithStatus(userId, otherUserId, BuddyRequestStatus.ACCEPTED);
     }
 
-    public List<BuddyRequest> getPendingRequestsForUser(Long userId) {
-        return buddyRequestRepository.findByReceiver_IdAndStatus(userId, "PENDING");
+    /**
+     * Ranks the user and their buddies from memory: buddies from BuddyGraphIndex (one query while it is
+     * still loading), completion counts from BuddyLeaderboard.
+     */
+    public BuddyLeaderboardDto getLeaderboard(Long userId) {
+        long[] buddyIds = buddyGraphIndex.isLoaded()
+                ? buddyGraphIndex.buddyIds(userId)
+                : buddyRequestRepository.findDtosByUserIdAndStatus(userId, BuddyRequestStatus.ACCEPTED,
+                        Long.MIN_VALUE, Limit.unlimited()).stream()
+                .mapToLong(request -> request.getSenderId().equals(userId)
+                        ? request.getReceiverId() : request.getSenderId())
+                .toArray();
+        return buddyLeaderboard.rank(userId, buddyIds, LocalDate.now());
     }
 
-    public List<BuddyRequest> getSentRequestsForUser(Long userId) {
-        return buddyRequestRepository.findByRequester_Id(userId);
+    private static long afterId(String cursor) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return after != null ? after.id() : Long.MIN_VALUE;
     }
 
-    public List<BuddyRequest> getAcceptedBuddiesForUser(Long userId) {
-        return buddyRequestRepository.findByUserIdAndStatus(userId, "ACCEPTED");
+    private static CursorPage<BuddyRequestDto> page(List<BuddyRequestDto> fetched, int limit) {
+        return CursorPage.of(fetched, limit, request -> new KeysetCursor(null, request.getId()));
     }
 }
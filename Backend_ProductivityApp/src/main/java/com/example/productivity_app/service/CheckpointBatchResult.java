@@ -0,0 +1,21 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.entity.Checkpoint;
+
+/**
+ * Outcome of one item of a checkpoint batch request, in request order.
+ */
+public record CheckpointBatchResult(int index, Outcome outcome, Checkpoint checkpoint, String error) {
+
+    public enum Outcome {
+        CREATED, UPDATED, NOT_FOUND, REJECTED
+    }
+
+    static CheckpointBatchResult of(int index, Outcome outcome, Checkpoint checkpoint) {
+        return new CheckpointBatchResult(index, outcome, checkpoint, null);
+    }
+
+    static CheckpointBatchResult failed(int index, Outcome outcome, String error) {
+        return new CheckpointBatchResult(index, outcome, null, error);
+    }
+}
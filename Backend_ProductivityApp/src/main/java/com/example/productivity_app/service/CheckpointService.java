@@ -1,107 +1,310 @@
 package com.example.productivity_app.service;
 
+import com.example.productivity_app.dto.CheckpointDto;
 import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
 import com.example.productivity_app.entity.Goal;
 import com.example.productivity_app.repository.CheckpointRepository;
 import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.util.KeysetCursor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static com.example.productivity_app.service.CheckpointBatchResult.Outcome.CREATED;
+import static com.example.productivity_app.service.CheckpointBatchResult.Outcome.NOT_FOUND;
+import static com.example.productivity_app.service.CheckpointBatchResult.Outcome.REJECTED;
+import static com.example.productivity_app.service.CheckpointBatchResult.Outcome.UPDATED;
 
 @Service
 @Transactional
 public class CheckpointService {
 
+    static final int MAX_BATCH_SIZE = 500;
+
     private final CheckpointRepository checkpointRepository;
     private final GoalRepository goalRepository;
+    private final GoalReadCache goalReadCache;
+    private final BuddyLeaderboard buddyLeaderboard;
 
-    public CheckpointService(CheckpointRepository checkpointRepository, GoalRepository goalRepository) {
+    public CheckpointService(CheckpointRepository checkpointRepository, GoalRepository goalRepository,
+                             GoalReadCache goalReadCache, BuddyLeaderboard buddyLeaderboard) {
         this.checkpointRepository = checkpointRepository;
         this.goalRepository = goalRepository;
+        this.goalReadCache = goalReadCache;
+        this.buddyLeaderboard = buddyLeaderboard;
     }
 
     public Checkpoint addCheckpointToGoal(Long goalId, Checkpoint checkpoint) {
-        Goal goal = goalRepository.findById(goalId)
-                .orElseThrow(() -> new RuntimeException("Goal not found"));
+        // Counting the new checkpoint doubles as the existence check, so the goal is never loaded
+        int completedDelta = isCompleted(checkpoint.getStatus()) ? 1 : 0;
+        if (goalRepository.applyCheckpointDelta(goalId, 1, completedDelta) == 0) {
+            throw new RuntimeException("Goal not found");
+        }
 
-        // Set the goal for the checkpoint
-        checkpoint.setGoal(goal);
-        
-        // Save the checkpoint first
-        Checkpoint savedCheckpoint = checkpointRepository.save(checkpoint);
-        
-        // Add to goal's checkpoint list and update progress
-        goal.getCheckpoints().add(savedCheckpoint);
-        goal.calculateProgress();
-        goalRepository.save(goal);
-        
-        return savedCheckpoint;
+        checkpoint.setId(0); // Always insert, never merge into an existing row
+        checkpoint.setGoal(goalRepository.getReferenceById(goalId));
+        Checkpoint saved = checkpointRepository.save(checkpoint);
+        evictGoal(goalId);
+        return saved;
+    }
+
+    /**
+     * Creates many checkpoints for one goal in a single transaction. The goal counters are moved once
+     * for the whole batch, and the inserts go out as JDBC batches. Items without a title are rejected
+     * individually; the rest are still created.
+     */
+    public List<CheckpointBatchResult> addCheckpointsToGoal(Long goalId, List<Checkpoint> checkpoints) {
+        checkBatchSize(checkpoints);
+
+        List<CheckpointBatchResult> results = new ArrayList<>(checkpoints.size());
+        List<Checkpoint> accepted = new ArrayList<>();
+        int completed = 0;
+        for (int i = 0; i < checkpoints.size(); i++) {
+            Checkpoint checkpoint = checkpoints.get(i);
+            if (checkpoint == null || checkpoint.getTitle() == null || checkpoint.getTitle().isBlank()) {
+                results.add(CheckpointBatchResult.failed(i, REJECTED, "Title is required"));
+                continue;
+            }
+            checkpoint.setId(0); // Always insert, never merge into an existing row
+            accepted.add(checkpoint);
+            results.add(CheckpointBatchResult.of(i, CREATED, checkpoint));
+            if (isCompleted(checkpoint.getStatus())) {
+                completed++;
+            }
+        }
+
+        if (goalRepository.applyCheckpointDelta(goalId, accepted.size(), completed) == 0) {
+            throw new RuntimeException("Goal not found");
+        }
+
+        Goal goal = goalRepository.getReferenceById(goalId);
+        accepted.forEach(checkpoint -> checkpoint.setGoal(goal));
+        checkpointRepository.saveAll(accepted);
+        evictGoal(goalId);
+        return results;
     }
 
-    public List<Checkpoint> getCheckpointsForGoal(Long goalId) {
-        return checkpointRepository.findByGoal_Id(goalId);
+    /**
+     * Applies partial updates (same rules as {@link #updateCheckpoint}) to many checkpoints at once.
+     * A checkpoint moved to COMPLETED also gets today's completed date.
+     */
+    public List<CheckpointBatchResult> updateCheckpoints(List<Checkpoint> updates) {
+        checkBatchSize(updates);
+        List<Long> ids = updates.stream()
+                .map(update -> update != null ? update.getId() : null)
+                .collect(Collectors.toList());
+        return updateLocked(ids, updates::get);
     }
 
+    public List<CheckpointBatchResult> completeCheckpoints(List<Long> checkpointIds) {
+        checkBatchSize(checkpointIds);
+        Checkpoint completion = new Checkpoint();
+        completion.setStatus(CheckpointStatus.COMPLETED);
+        return updateLocked(checkpointIds, index -> completion);
+    }
+
+    /**
+     * Reads one keyset page of a goal's checkpoints, ordered by (dueDate, id).
+     *
+     * @param cursor token from the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CheckpointDto> getCheckpointsForGoal(Long goalId, String cursor, int limit) {
+        List<CheckpointDto> fetched = CursorPage.fetchDatedThenUndated(KeysetCursor.decode(cursor), limit + 1,
+                (after, fetch) -> after == null
+                        ? checkpointRepository.findDatedDtosByGoalId(goalId, fetch)
+                        : checkpointRepository.findDatedDtosByGoalIdAfter(goalId, after.sortDate(), after.id(), fetch),
+                (afterId, fetch) -> checkpointRepository.findUndatedDtosByGoalIdAfter(goalId, afterId, fetch));
+        return CursorPage.of(fetched, limit,
+                checkpoint -> new KeysetCursor(checkpoint.getDueDate(), checkpoint.getId()));
+    }
+
+    /**
+     * A checkpoint moved to COMPLETED also gets today's completed date.
+     */
     public Checkpoint updateCheckpoint(Long checkpointId, Checkpoint checkpointDetails) {
-        Checkpoint checkpoint = checkpointRepository.findById(checkpointId)
+        Checkpoint checkpoint = checkpointRepository.findByIdForUpdate(checkpointId)
                 .orElseThrow(() -> new RuntimeException("Checkpoint not found"));
 
-        if (checkpointDetails.getTitle() != null) {
-            checkpoint.setTitle(checkpointDetails.getTitle());
-        }
-        if (checkpointDetails.getDescription() != null) {
-            checkpoint.setDescription(checkpointDetails.getDescription());
-        }
-        if (checkpointDetails.getDueDate() != null) {
-            checkpoint.setDueDate(checkpointDetails.getDueDate());
-        }
-        if (checkpointDetails.getStatus() != null) {
-            checkpoint.setStatus(checkpointDetails.getStatus());
+        boolean wasCompleted = isCompleted(checkpoint.getStatus());
+        LocalDate countedBefore = countedDate(checkpoint);
+        applyDetails(checkpoint, checkpointDetails);
+        if (isCompleted(checkpoint.getStatus()) && !wasCompleted) {
+            checkpoint.setCompletedDate(LocalDate.now());
         }
 
         Checkpoint updatedCheckpoint = checkpointRepository.save(checkpoint);
         
         // Update goal progress
-        Goal goal = checkpoint.getGoal();
-        goal.calculateProgress();
-        goalRepository.save(goal);
+        applyStatusChange(checkpoint.getGoal(), wasCompleted, isCompleted(checkpoint.getStatus()));
+        trackCompletion(checkpoint.getGoal(), countedBefore, countedDate(checkpoint));
+        evictGoal(checkpoint.getGoal());
         
         return updatedCheckpoint;
     }
 
     public Checkpoint completeCheckpoint(Long checkpointId) {
-        Checkpoint checkpoint = checkpointRepository.findById(checkpointId)
+        Checkpoint checkpoint = checkpointRepository.findByIdForUpdate(checkpointId)
                 .orElseThrow(() -> new RuntimeException("Checkpoint not found"));
 
-        checkpoint.setStatus("COMPLETED");
+        boolean wasCompleted = isCompleted(checkpoint.getStatus());
+        LocalDate countedBefore = countedDate(checkpoint);
+        checkpoint.setStatus(CheckpointStatus.COMPLETED);
         checkpoint.setCompletedDate(LocalDate.now());
         
         Checkpoint completedCheckpoint = checkpointRepository.save(checkpoint);
         
         // Update goal progress
-        Goal goal = checkpoint.getGoal();
-        goal.calculateProgress();
-        goalRepository.save(goal);
+        applyStatusChange(checkpoint.getGoal(), wasCompleted, true);
+        trackCompletion(checkpoint.getGoal(), countedBefore, checkpoint.getCompletedDate());
+        evictGoal(checkpoint.getGoal());
         
         return completedCheckpoint;
     }
 
     public void deleteCheckpoint(Long checkpointId) {
-        Checkpoint checkpoint = checkpointRepository.findById(checkpointId)
+        Checkpoint checkpoint = checkpointRepository.findByIdForUpdate(checkpointId)
                 .orElseThrow(() -> new RuntimeException("Checkpoint not found"));
         
         Goal goal = checkpoint.getGoal();
         
-        // Remove from goal's checkpoint list
-        goal.getCheckpoints().remove(checkpoint);
-        
         // Delete the checkpoint
         checkpointRepository.delete(checkpoint);
         
         // Update goal progress
-        goal.calculateProgress();
-        goalRepository.save(goal);
+        if (goal != null) {
+            goalRepository.applyCheckpointDelta(goal.getId(), -1, isCompleted(checkpoint.getStatus()) ? -1 : 0);
+        }
+        trackCompletion(goal, countedDate(checkpoint), null);
+        evictGoal(goal);
+    }
+
+    /**
+     * Locks every referenced checkpoint in one query, applies the details for each request item, then
+     * moves each affected goal's counters once with the summed delta. Goal rows are updated in ascending
+     * id order, like the checkpoint locks, so concurrent batches over the same goals cannot deadlock.
+     * The checkpoint rows themselves are flushed by dirty checking at commit, as one JDBC batch.
+     */
+    private List<CheckpointBatchResult> updateLocked(List<Long> ids, IntFunction<Checkpoint> detailsForIndex) {
+        Map<Long, Checkpoint> locked = checkpointRepository.findAllByIdForUpdate(
+                        ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Checkpoint::getId, Function.identity()));
+
+        List<CheckpointBatchResult> results = new ArrayList<>(ids.size());
+        Map<Long, Integer> completedDeltas = new TreeMap<>(); // iterated in goal id order
+        Map<Long, Goal> changedGoals = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < ids.size(); i++) {
+            Checkpoint checkpoint = ids.get(i) != null ? locked.get(ids.get(i)) : null;
+            if (checkpoint == null) {
+                results.add(CheckpointBatchResult.failed(i, NOT_FOUND, "Checkpoint not found"));
+                continue;
+            }
+
+            boolean wasCompleted = isCompleted(checkpoint.getStatus());
+            LocalDate countedBefore = countedDate(checkpoint);
+            applyDetails(checkpoint, detailsForIndex.apply(i));
+            boolean nowCompleted = isCompleted(checkpoint.getStatus());
+            if (wasCompleted != nowCompleted && checkpoint.getGoal() != null) {
+                completedDeltas.merge(checkpoint.getGoal().getId(), nowCompleted ? 1 : -1, Integer::sum);
+            }
+            if (nowCompleted && !wasCompleted) {
+                checkpoint.setCompletedDate(today);
+            }
+            trackCompletion(checkpoint.getGoal(), countedBefore, countedDate(checkpoint));
+            if (checkpoint.getGoal() != null) {
+                changedGoals.putIfAbsent(checkpoint.getGoal().getId(), checkpoint.getGoal());
+            }
+            results.add(CheckpointBatchResult.of(i, UPDATED, checkpoint));
+        }
+
+        completedDeltas.forEach((goalId, delta) -> {
+            if (delta != 0) {
+                goalRepository.applyCheckpointDelta(goalId, 0, delta);
+            }
+        });
+        changedGoals.values().forEach(this::evictGoal);
+        return results;
+    }
+
+    private static void applyDetails(Checkpoint checkpoint, Checkpoint checkpointDetails) {
+        if (checkpointDetails.getTitle() != null) {
+            checkpoint.setTitle(checkpointDetails.getTitle());
+        }
+        if (checkpointDetails.getDescription() != null) {
+            checkpoint.setDescription(checkpointDetails.getDescription());
+        }
+        if (checkpointDetails.getDueDate() != null) {
+            checkpoint.setDueDate(checkpointDetails.getDueDate());
+        }
+        if (checkpointDetails.getStatus() != null) {
+            checkpoint.setStatus(checkpointDetails.getStatus());
+        } else if (checkpoint.getStatus() == CheckpointStatus.OVERDUE && checkpointDetails.getDueDate() != null
+                && !checkpointDetails.getDueDate().isBefore(LocalDate.now())) {
+            // Only the sweeper sets OVERDUE, so moving the due date out of the past has to clear it
+            checkpoint.setStatus(CheckpointStatus.PENDING);
+        }
+    }
+
+    private static void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    /**
+     * Callers hold the checkpoint's row lock (see {@link CheckpointRepository#findByIdForUpdate}), so
+     * {@code wasCompleted} is authoritative and each transition moves the goal counters exactly once.
+     * The counters themselves are atomic deltas, so sibling checkpoints never wait on each other here.
+     */
+    private void applyStatusChange(Goal goal, boolean wasCompleted, boolean nowCompleted) {
+        if (goal != null && wasCompleted != nowCompleted) {
+            goalRepository.applyCheckpointDelta(goal.getId(), 0, nowCompleted ? 1 : -1);
+        }
+    }
+
+    /**
+     * Reports a change in which day, if any, a checkpoint counts as completed on to the owner's
+     * leaderboard counters; applied after commit, and only when the day actually changed.
+     */
+    private void trackCompletion(Goal goal, LocalDate countedBefore, LocalDate countedAfter) {
+        if (goal != null && goal.getUsers() != null) {
+            buddyLeaderboard.completionMoved(goal.getUsers().getId(), countedBefore, countedAfter);
+        }
+    }
+
+    /**
+     * Every checkpoint change shows in its goal's cached DTO (checkpoint list, progress), not only
+     * completions, so every mutation evicts.
+     */
+    private void evictGoal(Goal goal) {
+        if (goal != null) {
+            goalReadCache.evictGoal(goal.getId(), goal.getUsers() != null ? goal.getUsers().getId() : null);
+        }
+    }
+
+    private void evictGoal(Long goalId) {
+        goalReadCache.evictGoal(goalId, goalRepository.findUserIdById(goalId).orElse(null));
+    }
+
+    // The day a checkpoint counts as completed on, null while it is not completed
+    private static LocalDate countedDate(Checkpoint checkpoint) {
+        return isCompleted(checkpoint.getStatus()) ? checkpoint.getCompletedDate() : null;
+    }
+
+    private static boolean isCompleted(CheckpointStatus status) {
+        return status == CheckpointStatus.COMPLETED;
     }
 }
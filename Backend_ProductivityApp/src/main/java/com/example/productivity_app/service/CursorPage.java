@@ -0,0 +1,46 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.util.KeysetCursor;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from a query that fetched up to {@code limit + 1} rows: the extra row only signals
+     * that another page exists and is dropped.
+     */
+    static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, KeysetCursor> positionOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, positionOf.apply(items.get(limit - 1)).encode());
+    }
+
+    /**
+     * Fetches up to {@code fetch} rows after {@code after} from a list ordered by (date, id) with undated
+     * rows last. Dated rows come from {@code dated} (given a null cursor on the first page); only when
+     * those run out within the page are undated rows read, from the start, through {@code undatedAfterId}.
+     */
+    static <T> List<T> fetchDatedThenUndated(KeysetCursor after, int fetch,
+                                             BiFunction<KeysetCursor, Limit, List<T>> dated,
+                                             BiFunction<Long, Limit, List<T>> undatedAfterId) {
+        if (after != null && after.sortDate() == null) {
+            return undatedAfterId.apply(after.id(), Limit.of(fetch));
+        }
+        List<T> rows = dated.apply(after, Limit.of(fetch));
+        if (rows.size() < fetch) {
+            rows = new ArrayList<>(rows);
+            rows.addAll(undatedAfterId.apply(Long.MIN_VALUE, Limit.of(fetch - rows.size())));
+        }
+        return rows;
+    }
+}
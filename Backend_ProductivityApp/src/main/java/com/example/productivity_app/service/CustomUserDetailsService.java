@@ -1,9 +1,10 @@
 package com.example.productivity_app.service;
 
+import com.example.productivity_app.config.AuthenticatedUser;
 import com.example.productivity_app.entity.Users;
 import com.example.productivity_app.repository.UserRepository;
+import com.example.productivity_app.util.JwtUtil;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -25,7 +26,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         Users user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new User(user.getEmail(), user.getPassword(), 
-                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(), user.getTokenVersion(),
+                Collections.singletonList(new SimpleGrantedAuthority(JwtUtil.ROLE_USER)));
     }
 }
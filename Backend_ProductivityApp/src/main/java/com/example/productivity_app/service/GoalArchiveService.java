@@ -0,0 +1,148 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.GoalDto;
+import com.example.productivity_app.repository.ArchivedCheckpointRepository;
+import com.example.productivity_app.repository.ArchivedGoalRepository;
+import com.example.productivity_app.repository.GoalCheckpointRow;
+import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.util.KeysetCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves finished (COMPLETED or CANCELLED) goals whose end date is more than {@code ageDays} in the past,
+ * with their checkpoints, into archived_goal / archived_checkpoint, so the tables and indexes behind the
+ * goal list and the dashboard only grow with live data. Goals without an end date are never archived.
+ * <p>
+ * Each batch of up to {@code batchSize} goals is locked, copied with INSERT ... SELECT and deleted in one
+ * transaction of four statements; a checkpoint added to one of those goals meanwhile waits on the lock and
+ * then fails on the foreign key instead of being lost. Archived goals are read back page by page through
+ * {@link #getUserGoalHistory}.
+ */
+@Service
+public class GoalArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalArchiveService.class);
+
+    private final GoalRepository goalRepository;
+    private final ArchivedGoalRepository archivedGoalRepository;
+    private final ArchivedCheckpointRepository archivedCheckpointRepository;
+    private final GoalReadCache goalReadCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int ageDays;
+    private final int batchSize;
+    private final Counter archivedCounter;
+    private final Timer archiveTimer;
+
+    public GoalArchiveService(GoalRepository goalRepository,
+                              ArchivedGoalRepository archivedGoalRepository,
+                              ArchivedCheckpointRepository archivedCheckpointRepository,
+                              GoalReadCache goalReadCache,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${goals.archive.age-days:180}") int ageDays,
+                              @Value("${goals.archive.batch-size:500}") int batchSize) {
+        if (ageDays < 0) {
+            throw new IllegalArgumentException("Goal archive age must not be negative");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Goal archive batch size must be at least 1");
+        }
+        this.goalRepository = goalRepository;
+        this.archivedGoalRepository = archivedGoalRepository;
+        this.archivedCheckpointRepository = archivedCheckpointRepository;
+        this.goalReadCache = goalReadCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ageDays = ageDays;
+        this.batchSize = batchSize;
+        this.archivedCounter = Counter.builder("goals.archived").register(meterRegistry);
+        this.archiveTimer = Timer.builder("goals.archive.duration").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${goals.archive.interval-ms:86400000}",
+            initialDelayString = "${goals.archive.initial-delay-ms:300000}")
+    public void archive() {
+        archive(LocalDate.now());
+    }
+
+    /**
+     * @return the number of goals archived
+     */
+    public int archive(LocalDate today) {
+        Timer.Sample sample = Timer.start();
+        LocalDate cutoff = today.minusDays(ageDays);
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(cutoff, today));
+            total += archived;
+            archivedCounter.increment(archived);
+        } while (archived == batchSize);
+        if (total > 0) {
+            goalReadCache.evictAll();
+        }
+        long nanos = sample.stop(archiveTimer);
+        logger.debug("Archived {} goals finished before {} in {} ms", total, cutoff, nanos / 1_000_000);
+        return total;
+    }
+
+    private int archiveBatch(LocalDate cutoff, LocalDate today) {
+        List<Long> goalIds = goalRepository.findArchivableIdsForUpdate(cutoff, Limit.of(batchSize));
+        if (goalIds.isEmpty()) {
+            return 0;
+        }
+        archivedGoalRepository.copyFromGoals(goalIds, today);
+        archivedCheckpointRepository.copyFromCheckpoints(goalIds);
+        goalRepository.deleteCheckpointsByGoalIds(goalIds);
+        goalRepository.deleteByIds(goalIds);
+        return goalIds.size();
+    }
+
+    /**
+     * Reads one keyset page of a user's archived goals, most recent end date first, with their checkpoints:
+     * two queries per page regardless of depth.
+     *
+     * @param cursor token from the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor was not produced by this method
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<GoalDto> getUserGoalHistory(Long userId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after != null && after.sortDate() == null) {
+            throw new IllegalArgumentException("Invalid cursor"); // archived goals always have an end date
+        }
+        List<GoalDto> fetched = after == null
+                ? archivedGoalRepository.findDtosByUserId(userId, Limit.of(limit + 1))
+                : archivedGoalRepository.findDtosByUserIdBefore(userId, after.sortDate(), after.id(),
+                Limit.of(limit + 1));
+
+        CursorPage<GoalDto> page = CursorPage.of(fetched, limit,
+                goal -> new KeysetCursor(goal.getEndDate(), goal.getId()));
+        if (page.items().isEmpty()) {
+            return page;
+        }
+
+        Map<Long, GoalDto> goalsById = page.items().stream()
+                .collect(Collectors.toMap(GoalDto::getId, Function.identity()));
+        for (GoalCheckpointRow row : archivedCheckpointRepository.findRowsByGoalIds(goalsById.keySet())) {
+            goalsById.get(row.goalId()).getCheckpoints().add(row.toDto());
+        }
+        return page;
+    }
+}
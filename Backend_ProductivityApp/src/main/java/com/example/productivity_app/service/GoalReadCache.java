@@ -0,0 +1,143 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.GoalDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-based caches in front of {@link GoalService#getGoalById} and {@link GoalService#getUserGoals},
+ * holding the DTOs those methods build. Cached DTOs are shared between callers and must not be modified.
+ * <p>
+ * Writers evict exactly what they change: one goal's entry plus every cached page of its owner's goal list
+ * (a page shows each goal's progress and checkpoints). Eviction happens immediately and again after the
+ * surrounding transaction commits, so a read that ran between the two cannot keep the pre-commit state;
+ * the TTL bounds what a read racing the commit itself can leave behind.
+ */
+@Component
+public class GoalReadCache {
+
+    private final Cache<Long, GoalDto> goalsById;
+    private final Cache<PageKey, CursorPage<GoalDto>> userGoalPages;
+    private final Counter goalInvalidations;
+    private final Counter pageInvalidations;
+
+    public GoalReadCache(MeterRegistry meterRegistry,
+                         @Value("${goals.cache.goal-max-size:10000}") long goalMaxSize,
+                         @Value("${goals.cache.page-max-size:10000}") long pageMaxSize,
+                         @Value("${goals.cache.ttl-ms:60000}") long ttlMillis) {
+        this.goalsById = Caffeine.newBuilder()
+                .maximumSize(goalMaxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        this.userGoalPages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        // cache.gets (hit/miss) and cache.evictions (size/TTL); the binder only times loads of LoadingCaches
+        CaffeineCacheMetrics.monitor(meterRegistry, goalsById, "goals.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, userGoalPages, "goals.user-pages");
+        registerLoadTimer(meterRegistry, goalsById, "goals.by-id");
+        registerLoadTimer(meterRegistry, userGoalPages, "goals.user-pages");
+        this.goalInvalidations = invalidationCounter(meterRegistry, "goals.by-id");
+        this.pageInvalidations = invalidationCounter(meterRegistry, "goals.user-pages");
+    }
+
+    /**
+     * Returns the cached goal or loads it. A loader that throws (goal not found) caches nothing.
+     */
+    public GoalDto getGoal(Long goalId, Function<Long, GoalDto> loader) {
+        return goalsById.get(goalId, loader);
+    }
+
+    public CursorPage<GoalDto> getUserGoals(Long userId, String cursor, int limit,
+                                            Supplier<CursorPage<GoalDto>> loader) {
+        return userGoalPages.get(new PageKey(userId, cursor, limit), key -> loader.get());
+    }
+
+    /**
+     * For a change to one goal (or its checkpoints) owned by {@code userId}.
+     */
+    public void evictGoal(Long goalId, Long userId) {
+        evictNowAndAfterCommit(() -> {
+            if (goalsById.asMap().remove(goalId) != null) {
+                goalInvalidations.increment();
+            }
+            evictPages(userId);
+        });
+    }
+
+    /**
+     * For a change to the set of goals a user owns, where no cached goal entry can be affected yet.
+     */
+    public void evictUserGoals(Long userId) {
+        evictNowAndAfterCommit(() -> evictPages(userId));
+    }
+
+    /**
+     * For bulk changes that do not say which goals they touched.
+     */
+    public void evictAll() {
+        evictNowAndAfterCommit(() -> {
+            goalInvalidations.increment(goalsById.estimatedSize());
+            pageInvalidations.increment(userGoalPages.estimatedSize());
+            goalsById.invalidateAll();
+            userGoalPages.invalidateAll();
+        });
+    }
+
+    // A user has few cached pages and writes are rare next to reads, so a scan beats a second index
+    private void evictPages(Long userId) {
+        userGoalPages.asMap().keySet().removeIf(key -> {
+            boolean owned = key.userId().equals(userId);
+            if (owned) {
+                pageInvalidations.increment();
+            }
+            return owned;
+        });
+    }
+
+    private static void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static void registerLoadTimer(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        FunctionTimer.builder("goals.cache.load", cache, c -> c.stats().loadCount(),
+                        c -> c.stats().totalLoadTime(), TimeUnit.NANOSECONDS)
+                .description("Time spent loading entries on a cache miss")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private static Counter invalidationCounter(MeterRegistry meterRegistry, String cache) {
+        return Counter.builder("goals.cache.invalidations")
+                .description("Entries removed because the data behind them changed")
+                .tag("cache", cache)
+                .register(meterRegistry);
+    }
+
+    private record PageKey(Long userId, String cursor, int limit) {
+    }
+}
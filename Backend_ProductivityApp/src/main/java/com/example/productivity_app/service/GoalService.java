@@ -1,41 +1,108 @@
 package com.example.productivity_app.service;
 
+import com.example.productivity_app.dto.GoalDto;
 import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.GoalStatus;
 import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.repository.GoalCheckpointRow;
 import com.example.productivity_app.repository.GoalRepository;
 import com.example.productivity_app.repository.UserRepository;
+import com.example.productivity_app.util.KeysetCursor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class GoalService {
     private final GoalRepository goalRepository;
     private final UserRepository userRepository;
+    private final GoalReadCache goalReadCache;
+    // Only cache misses open a transaction, so a hit never checks out a connection
+    private final TransactionTemplate readTransaction;
 
-    public GoalService(GoalRepository goalRepository, UserRepository userRepository) {
+    public GoalService(GoalRepository goalRepository, UserRepository userRepository, GoalReadCache goalReadCache,
+                       PlatformTransactionManager transactionManager) {
         this.goalRepository = goalRepository;
         this.userRepository = userRepository;
+        this.goalReadCache = goalReadCache;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
     }
 
     public Goal createGoal(Long userId, Goal goal) {
         Users user = userRepository.findById(userId).orElseThrow();
         goal.setUser(user);
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        goalReadCache.evictUserGoals(userId);
+        return saved;
     }
 
-    public List<Goal> getUserGoals(Long userId) {
-        return goalRepository.findByUsersId(userId);
+    /**
+     * Reads one keyset page of a user's goals, ordered by (endDate, id), and their checkpoints straight
+     * into DTOs: at most three queries regardless of page size or depth, and no managed entities.
+     * Pages are served from {@link GoalReadCache} until one of the user's goals changes.
+     *
+     * @param cursor token from the previous page, or null for the first page
+     */
+    public CursorPage<GoalDto> getUserGoals(Long userId, String cursor, int limit) {
+        return goalReadCache.getUserGoals(userId, cursor, limit,
+                () -> readTransaction.execute(status -> loadUserGoals(userId, cursor, limit)));
     }
 
-    public Goal getGoalById(Long goalId) {
+    private CursorPage<GoalDto> loadUserGoals(Long userId, String cursor, int limit) {
+        List<GoalDto> fetched = CursorPage.fetchDatedThenUndated(KeysetCursor.decode(cursor), limit + 1,
+                (after, fetch) -> after == null
+                        ? goalRepository.findDatedDtosByUserId(userId, fetch)
+                        : goalRepository.findDatedDtosByUserIdAfter(userId, after.sortDate(), after.id(), fetch),
+                (afterId, fetch) -> goalRepository.findUndatedDtosByUserIdAfter(userId, afterId, fetch));
+
+        CursorPage<GoalDto> page = CursorPage.of(fetched, limit,
+                goal -> new KeysetCursor(goal.getEndDate(), goal.getId()));
+        if (page.items().isEmpty()) {
+            return page;
+        }
+
+        Map<Long, GoalDto> goalsById = page.items().stream()
+                .collect(Collectors.toMap(GoalDto::getId, Function.identity()));
+        for (GoalCheckpointRow row : goalRepository.findCheckpointRowsByGoalIds(goalsById.keySet())) {
+            goalsById.get(row.goalId()).getCheckpoints().add(row.toDto());
+        }
+        return page;
+    }
+
+    /**
+     * Reads one goal and its checkpoints into a DTO with two queries, served from {@link GoalReadCache}
+     * until the goal or one of its checkpoints changes.
+     */
+    public GoalDto getGoalById(Long goalId) {
+        return goalReadCache.getGoal(goalId, id -> readTransaction.execute(status -> loadGoal(id)));
+    }
+
+    private GoalDto loadGoal(Long goalId) {
+        GoalDto goal = goalRepository.findDtoById(goalId)
+                .orElseThrow(() -> new RuntimeException("Goal not found"));
+        for (GoalCheckpointRow row : goalRepository.findCheckpointRowsByGoalIds(List.of(goalId))) {
+            goal.getCheckpoints().add(row.toDto());
+        }
+        return goal;
+    }
+
+    private Goal findGoal(Long goalId) {
         return goalRepository.findById(goalId)
                 .orElseThrow(() -> new RuntimeException("Goal not found"));
     }
 
+    // Transactional so the goal stays managed: saving a detached copy would merge its stale progress back
+    @Transactional
     public Goal updateGoal(Long goalId, Goal goalDetails) {
-        Goal goal = getGoalById(goalId);
+        Goal goal = findGoal(goalId);
         
         if (goalDetails.getTitle() != null) {
             goal.setTitle(goalDetails.getTitle());
@@ -53,18 +120,44 @@ public class GoalService {
             goal.setStatus(goalDetails.getStatus());
         }
         
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        evict(goal);
+        return saved;
     }
 
+    @Transactional
     public void deleteGoal(Long goalId) {
-        Goal goal = getGoalById(goalId);
+        Goal goal = findGoal(goalId);
+        goalRepository.deleteCheckpointsByGoalIds(List.of(goalId));
         goalRepository.delete(goal);
+        evict(goal);
     }
 
+    @Transactional
     public Goal completeGoal(Long goalId) {
-        Goal goal = getGoalById(goalId);
-        goal.setStatus("COMPLETED");
+        Goal goal = findGoal(goalId);
+        goal.setStatus(GoalStatus.COMPLETED);
         goal.setProgress(100);
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        evict(goal);
+        return saved;
+    }
+
+    /**
+     * Recounts every goal's checkpoints and recomputes progress from scratch. Only needed to repair
+     * counters after manual data changes or when first introducing them.
+     *
+     * @return number of goals updated
+     */
+    @Transactional
+    public int rebuildProgressCounters() {
+        int updated = goalRepository.rebuildCheckpointCounters();
+        goalRepository.rebuildProgress();
+        goalReadCache.evictAll();
+        return updated;
+    }
+
+    private void evict(Goal goal) {
+        goalReadCache.evictGoal(goal.getId(), goal.getUsers() != null ? goal.getUsers().getId() : null);
     }
 }
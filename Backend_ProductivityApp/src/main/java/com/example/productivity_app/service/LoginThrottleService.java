@@ -0,0 +1,67 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.exception.TooManyRequestsException;
+import com.example.productivity_app.util.TokenBucketSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Token-bucket limits on login attempts, keyed by email and by client IP, checked before any
+ * password hashing happens. State lives in two {@link TokenBucketSketch}es, so memory is fixed
+ * up front and the check is a few CAS operations with no locks.
+ */
+@Service
+public class LoginThrottleService {
+
+    private final TokenBucketSketch emailBuckets;
+    private final TokenBucketSketch ipBuckets;
+    private final Counter emailThrottled;
+    private final Counter ipThrottled;
+
+    @Autowired
+    public LoginThrottleService(MeterRegistry meterRegistry,
+                                @Value("${security.login-throttle.width:65536}") int width,
+                                @Value("${security.login-throttle.email.capacity:5}") int emailCapacity,
+                                @Value("${security.login-throttle.email.refill-per-second:0.1}") double emailRefill,
+                                @Value("${security.login-throttle.ip.capacity:30}") int ipCapacity,
+                                @Value("${security.login-throttle.ip.refill-per-second:1}") double ipRefill) {
+        this(new TokenBucketSketch(width, emailCapacity, emailRefill),
+                new TokenBucketSketch(width, ipCapacity, ipRefill), meterRegistry);
+    }
+
+    LoginThrottleService(TokenBucketSketch emailBuckets, TokenBucketSketch ipBuckets, MeterRegistry meterRegistry) {
+        this.emailBuckets = emailBuckets;
+        this.ipBuckets = ipBuckets;
+        this.emailThrottled = Counter.builder("login.throttled").tag("key", "email").register(meterRegistry);
+        this.ipThrottled = Counter.builder("login.throttled").tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the IP bucket and then the email bucket.
+     *
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void checkLoginAllowed(String email, String clientIp) {
+        long waitMillis = ipBuckets.tryAcquire(clientIp == null ? "" : clientIp);
+        if (waitMillis > 0) {
+            ipThrottled.increment();
+            throw throttled(waitMillis);
+        }
+
+        waitMillis = emailBuckets.tryAcquire(email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+        if (waitMillis > 0) {
+            emailThrottled.increment();
+            throw throttled(waitMillis);
+        }
+    }
+
+    private static TooManyRequestsException throttled(long waitMillis) {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        return new TooManyRequestsException("Too many login attempts, please retry later", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.repository.CheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Moves past-due PENDING / IN_PROGRESS checkpoints to OVERDUE. Each run issues bulk UPDATEs of at most
+ * {@code batchSize} rows, each committed on its own, until a chunk comes back short; no checkpoint is
+ * loaded. Goal counters are unaffected because neither the old nor the new status counts as completed,
+ * but cached goal reads show checkpoint statuses, so a sweep that changed anything clears them.
+ */
+@Service
+public class OverdueCheckpointSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueCheckpointSweeper.class);
+
+    private final CheckpointRepository checkpointRepository;
+    private final GoalReadCache goalReadCache;
+    private final int batchSize;
+    private final Counter markedCounter;
+    private final Timer sweepTimer;
+
+    public OverdueCheckpointSweeper(CheckpointRepository checkpointRepository,
+                                    GoalReadCache goalReadCache,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${checkpoints.overdue-sweep.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Overdue sweep batch size must be at least 1");
+        }
+        this.checkpointRepository = checkpointRepository;
+        this.goalReadCache = goalReadCache;
+        this.batchSize = batchSize;
+        this.markedCounter = Counter.builder("checkpoints.overdue.marked").register(meterRegistry);
+        this.sweepTimer = Timer.builder("checkpoints.overdue.sweep.duration").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${checkpoints.overdue-sweep.interval-ms:3600000}",
+            initialDelayString = "${checkpoints.overdue-sweep.initial-delay-ms:60000}")
+    public void sweep() {
+        sweep(LocalDate.now());
+    }
+
+    /**
+     * @return the number of checkpoints marked OVERDUE
+     */
+    public int sweep(LocalDate today) {
+        Timer.Sample sample = Timer.start();
+        int total = 0;
+        int marked;
+        do {
+            marked = checkpointRepository.markOverdueBatch(today, batchSize);
+            total += marked;
+            markedCounter.increment(marked);
+        } while (marked == batchSize);
+        if (total > 0) {
+            goalReadCache.evictAll();
+        }
+        long nanos = sample.stop(sweepTimer);
+        logger.debug("Marked {} checkpoints overdue in {} ms", total, nanos / 1_000_000);
+        return total;
+    }
+}
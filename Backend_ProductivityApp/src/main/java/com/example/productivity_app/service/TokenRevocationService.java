@@ -0,0 +1,103 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.entity.RevokedToken;
+import com.example.productivity_app.repository.RevokedTokenRepository;
+import com.example.productivity_app.util.JwtClaims;
+import com.example.productivity_app.util.TokenIdBloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist of revoked token IDs (jti). A Bloom filter answers the common "not revoked" case without
+ * touching the exact set; only filter hits fall through to the set. Revocations are written to the
+ * {@code revoked_token} table and reloaded on startup, and both the table and the in-memory state
+ * drop entries once the token would have expired anyway.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+    private final Map<UUID, Instant> revoked = new ConcurrentHashMap<>();
+    // Readers only ever see a fully built filter; writers hold the lock while adding or swapping
+    private final Object writeLock = new Object();
+    private volatile TokenIdBloomFilter bloomFilter;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.bloomFilter = new TokenIdBloomFilter(expectedEntries);
+        Gauge.builder("jwt.revoked.size", revoked, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(Instant.now());
+        synchronized (writeLock) {
+            active.forEach(token -> revoked.put(token.getTokenId(), token.getExpiresAt()));
+            rebuildFilter();
+        }
+        logger.info("Loaded {} revoked tokens", active.size());
+    }
+
+    /**
+     * Allocation-free check used by the JWT filter on every request.
+     */
+    public boolean isRevoked(UUID tokenId) {
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public void revoke(JwtClaims claims) {
+        if (claims.tokenId() == null || claims.expiresAt() == null) {
+            throw new IllegalArgumentException("Token cannot be revoked");
+        }
+        if (!claims.expiresAt().isAfter(Instant.now())) {
+            return; // Already unusable
+        }
+
+        revokedTokenRepository.save(new RevokedToken(claims.tokenId(), claims.userId(), claims.expiresAt()));
+        synchronized (writeLock) {
+            revoked.put(claims.tokenId(), claims.expiresAt());
+            bloomFilter.add(claims.tokenId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}",
+            initialDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public void prune() {
+        Instant now = Instant.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        synchronized (writeLock) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            rebuildFilter();
+        }
+        logger.debug("Pruned {} expired revocations, {} remain", deleted, revoked.size());
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void rebuildFilter() {
+        // Bloom filters can't delete, so a pruned (and, if needed, larger) filter replaces the old one
+        TokenIdBloomFilter rebuilt = new TokenIdBloomFilter(Math.max(expectedEntries, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.productivity_app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory table of the minimum token version each user must present. Only users whose
+ * credentials changed (or who were deleted) since this instance started are tracked, so the
+ * table stays small and entries can be pruned once every older token has expired.
+ * <p>
+ * Tokens issued before startup are not covered by the table; callers must fall back to the
+ * database for those (see {@link #isTracked(Instant)}). The table is per instance, so deployments
+ * running several instances must keep {@code jwt.stateless-principal} disabled.
+ */
+@Service
+public class TokenVersionService {
+
+    static final int ALL_REVOKED = Integer.MAX_VALUE;
+    private static final int PRUNE_THRESHOLD = 1024;
+
+    private final Instant startedAt = Instant.now();
+    private final long tokenLifetimeMillis;
+    private final ConcurrentMap<Long, Revocation> revocations = new ConcurrentHashMap<>();
+
+    public TokenVersionService(@Value("${jwt.expiration:86400000}") long tokenLifetimeMillis) {
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    /**
+     * Whether a token issued at {@code issuedAt} is fully covered by this table.
+     */
+    public boolean isTracked(Instant issuedAt) {
+        return issuedAt != null && !issuedAt.isBefore(startedAt);
+    }
+
+    public boolean isCurrent(long userId, int tokenVersion) {
+        Revocation revocation = revocations.get(userId);
+        return revocation == null || tokenVersion >= revocation.minimumVersion();
+    }
+
+    /**
+     * Rejects every token for {@code userId} with a version below {@code newVersion}.
+     */
+    public void versionChanged(long userId, int newVersion) {
+        record(userId, newVersion);
+    }
+
+    public void userDeleted(long userId) {
+        record(userId, ALL_REVOKED);
+    }
+
+    int size() {
+        return revocations.size();
+    }
+
+    private void record(long userId, int minimumVersion) {
+        long now = System.currentTimeMillis();
+        revocations.merge(userId, new Revocation(minimumVersion, now),
+                (existing, added) -> existing.minimumVersion() >= added.minimumVersion() ? existing : added);
+
+        if (revocations.size() > PRUNE_THRESHOLD) {
+            // Every token issued before the cutoff has expired, so its entry can no longer matter
+            long cutoff = now - tokenLifetimeMillis;
+            revocations.values().removeIf(revocation -> revocation.recordedAt() < cutoff);
+        }
+    }
+
+    private record Revocation(int minimumVersion, long recordedAt) {
+    }
+}
@@ -1,15 +1,20 @@
 package com.example.productivity_app.service;
 
+import com.example.productivity_app.dto.AccountPurgeDto;
 import com.example.productivity_app.dto.LoginResponseDto;
 import com.example.productivity_app.dto.RegisterDto;
 import com.example.productivity_app.dto.UsersDto;
 import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.exception.ServiceUnavailableException;
 import com.example.productivity_app.mapper.UsersMapper;
 import com.example.productivity_app.repository.UserRepository;
 import com.example.productivity_app.util.JwtUtil;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Objects;
+import java.util.Optional;
+
 @Service
 public class UserService {
 
@@ -17,15 +22,24 @@ public class UserService {
     private final UsersMapper usersMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+    private final AccountPurgeService accountPurgeService;
 
     public UserService(UserRepository userRepository,
                        UsersMapper usersMapper,
                        PasswordEncoder passwordEncoder,
-                       JwtUtil jwtUtil) {
+                       JwtUtil jwtUtil,
+                       TokenVersionService tokenVersionService,
+                       TokenRevocationService tokenRevocationService,
+                       AccountPurgeService accountPurgeService) {
         this.userRepository = userRepository;
         this.usersMapper = usersMapper;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.tokenVersionService = tokenVersionService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.accountPurgeService = accountPurgeService;
     }
 
     public UsersDto getUsersById(Long id) {
@@ -48,16 +62,34 @@ public class UserService {
         Users existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // Tokens carry the email as subject, so an email change invalidates them
+        boolean emailChanged = !Objects.equals(existingUser.getEmail(), usersDto.getEmail());
+        if (emailChanged) {
+            existingUser.setTokenVersion(existingUser.getTokenVersion() + 1);
+        }
+
         existingUser.setUsername(usersDto.getUsername());
         existingUser.setEmail(usersDto.getEmail());
         // optional: existingUser.setPassword(usersDto.getPassword());
 
         Users updated = userRepository.save(existingUser);
+        if (emailChanged) {
+            tokenVersionService.versionChanged(updated.getId(), updated.getTokenVersion());
+        }
         return usersMapper.toDto(updated);
     }
 
-    public void deleteUser(Long userId) {
-        userRepository.deleteById(userId);
+    /**
+     * Tokens stop working as soon as this returns, even while a large account is still being purged.
+     */
+    public AccountPurgeDto deleteUser(Long userId) {
+        AccountPurgeDto purge = accountPurgeService.purge(userId);
+        tokenVersionService.userDeleted(userId);
+        return purge;
+    }
+
+    public Optional<AccountPurgeDto> getPurgeStatus(Long userId) {
+        return accountPurgeService.getStatus(userId);
     }
 
     public LoginResponseDto login(String email, String password) {
@@ -67,9 +99,26 @@ public class UserService {
             throw new RuntimeException("Invalid credentials");
         }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getId());
+        // Stored hash was made with a different BCrypt cost than configured; re-hash while we have the raw password
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            try {
+                user.setPassword(passwordEncoder.encode(password));
+                user = userRepository.save(user);
+            } catch (ServiceUnavailableException e) {
+                // Hashing pool is saturated; keep the old hash and upgrade on a later login
+            }
+        }
+
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getTokenVersion());
         UsersDto userDto = usersMapper.toDto(user);
         
         return new LoginResponseDto(token, userDto);
     }
+
+    /**
+     * Revokes the given token; it is rejected from now on even though it has not expired.
+     */
+    public void logout(String token) {
+        tokenRevocationService.revoke(jwtUtil.decode(token));
+    }
 }
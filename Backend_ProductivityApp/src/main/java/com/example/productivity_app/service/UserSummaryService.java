@@ -0,0 +1,91 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.UserSummaryDto;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.entity.GoalStatus;
+import com.example.productivity_app.exception.UserNotFoundException;
+import com.example.productivity_app.repository.ArchivedGoalRepository;
+import com.example.productivity_app.repository.BuddyRequestRepository;
+import com.example.productivity_app.repository.CheckpointDueCounts;
+import com.example.productivity_app.repository.CheckpointRepository;
+import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.repository.GoalStatusCount;
+import com.example.productivity_app.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class UserSummaryService {
+    private final GoalRepository goalRepository;
+    private final ArchivedGoalRepository archivedGoalRepository;
+    private final CheckpointRepository checkpointRepository;
+    private final BuddyRequestRepository buddyRequestRepository;
+    private final UserRepository userRepository;
+    private final BuddyGraphIndex buddyGraphIndex;
+
+    public UserSummaryService(GoalRepository goalRepository,
+                              ArchivedGoalRepository archivedGoalRepository,
+                              CheckpointRepository checkpointRepository,
+                              BuddyRequestRepository buddyRequestRepository,
+                              UserRepository userRepository,
+                              BuddyGraphIndex buddyGraphIndex) {
+        this.goalRepository = goalRepository;
+        this.archivedGoalRepository = archivedGoalRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.buddyRequestRepository = buddyRequestRepository;
+        this.userRepository = userRepository;
+        this.buddyGraphIndex = buddyGraphIndex;
+    }
+
+    public UserSummaryDto getSummary(Long userId) {
+        return getSummary(userId, LocalDate.now());
+    }
+
+    /**
+     * Builds the dashboard numbers from three aggregate queries (live and archived goals grouped by status,
+     * checkpoint due counts) and the accepted buddy count from {@link BuddyGraphIndex}, or a fourth query
+     * until it has loaded; no goal, checkpoint or request rows are loaded. Goal counts and the average
+     * progress include archived goals, so archiving does not change them.
+     */
+    @Transactional(readOnly = true)
+    public UserSummaryDto getSummary(Long userId, LocalDate today) {
+        Map<GoalStatus, Long> goalsByStatus = new EnumMap<>(GoalStatus.class);
+        for (GoalStatus status : GoalStatus.values()) {
+            goalsByStatus.put(status, 0L);
+        }
+        long totalGoals = 0;
+        long progressSum = 0;
+        List<GoalStatusCount> rows = new ArrayList<>(goalRepository.countByStatusForUser(userId));
+        rows.addAll(archivedGoalRepository.countByStatusForUser(userId));
+        for (GoalStatusCount row : rows) {
+            if (row.status() != null) {
+                goalsByStatus.merge(row.status(), row.goals(), Long::sum);
+            }
+            totalGoals += row.goals();
+            progressSum += row.progressSum();
+        }
+
+        LocalDate weekEnd = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        CheckpointDueCounts due = checkpointRepository.countDueForUser(userId, today, weekEnd);
+        long acceptedBuddies = buddyGraphIndex.isLoaded()
+                ? buddyGraphIndex.countBuddies(userId)
+                : buddyRequestRepository.countByUserIdAndStatus(userId, BuddyRequestStatus.ACCEPTED);
+
+        // Anyone with a goal or a buddy exists; only an all-empty summary needs the extra lookup
+        if (totalGoals == 0 && acceptedBuddies == 0 && !userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found");
+        }
+
+        int averageProgress = totalGoals > 0 ? (int) (progressSum / totalGoals) : 0;
+        return new UserSummaryDto(totalGoals, goalsByStatus, averageProgress,
+                due.dueThisWeek(), due.overdue(), acceptedBuddies);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.productivity_app.util;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable view of the claims of a verified token, decoded once by {@link JwtUtil#decode(String)}.
+ */
+public record JwtClaims(String email,
+                        Long userId,
+                        int tokenVersion,
+                        List<String> roles,
+                        Instant issuedAt,
+                        Instant expiresAt,
+                        UUID tokenId) {
+
+    public JwtClaims {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    static JwtClaims from(DecodedJWT jwt) {
+        Integer tokenVersion = jwt.getClaim(JwtUtil.CLAIM_TOKEN_VERSION).asInt();
+        return new JwtClaims(
+                jwt.getSubject(),
+                jwt.getClaim(JwtUtil.CLAIM_USER_ID).asLong(),
+                tokenVersion != null ? tokenVersion : 0,
+                jwt.getClaim(JwtUtil.CLAIM_ROLES).asList(String.class),
+                toInstant(jwt.getIssuedAt()),
+                toInstant(jwt.getExpiresAt()),
+                toTokenId(jwt.getId()));
+    }
+
+    public boolean isExpired() {
+        return expiresAt == null || !expiresAt.isAfter(Instant.now());
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    // Parsed once here so the per-request revocation check works on two longs, not a string
+    private static UUID toTokenId(String jti) {
+        if (jti == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(jti);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -9,48 +9,67 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:defaultSecretKey}")
-    private String secret;
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String ROLE_USER = "USER";
 
-    @Value("${jwt.expiration:86400000}")
-    private long expiration;
+    private final long expiration;
 
-    private Algorithm getAlgorithm() {
-        return Algorithm.HMAC256(secret);
+    // Both are immutable and thread-safe, so they are built once instead of per call
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+
+    public JwtUtil(@Value("${jwt.secret:defaultSecretKey}") String secret,
+                   @Value("${jwt.expiration:86400000}") long expiration) {
+        this.expiration = expiration;
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm).build();
     }
 
     public String generateToken(String email, Long userId) {
+        return generateToken(email, userId, 0);
+    }
+
+    public String generateToken(String email, Long userId, int tokenVersion) {
         return JWT.create()
+                .withJWTId(UUID.randomUUID().toString())
                 .withSubject(email)
-                .withClaim("userId", userId)
+                .withClaim(CLAIM_USER_ID, userId)
+                .withClaim(CLAIM_TOKEN_VERSION, tokenVersion)
+                .withArrayClaim(CLAIM_ROLES, new String[]{ROLE_USER})
                 .withIssuedAt(new Date())
                 .withExpiresAt(new Date(System.currentTimeMillis() + expiration))
-                .sign(getAlgorithm());
+                .sign(algorithm);
     }
 
     public DecodedJWT verifyToken(String token) throws JWTVerificationException {
-        JWTVerifier verifier = JWT.require(getAlgorithm()).build();
         return verifier.verify(token);
     }
 
+    /**
+     * Verifies the token once and returns all claims the application uses.
+     */
+    public JwtClaims decode(String token) throws JWTVerificationException {
+        return JwtClaims.from(verifyToken(token));
+    }
+
     public String getEmailFromToken(String token) {
-        DecodedJWT jwt = verifyToken(token);
-        return jwt.getSubject();
+        return decode(token).email();
     }
 
     public Long getUserIdFromToken(String token) {
-        DecodedJWT jwt = verifyToken(token);
-        return jwt.getClaim("userId").asLong();
+        return decode(token).userId();
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            DecodedJWT jwt = verifyToken(token);
-            return jwt.getExpiresAt().before(new Date());
+            return decode(token).isExpired();
         } catch (JWTVerificationException e) {
             return true;
         }
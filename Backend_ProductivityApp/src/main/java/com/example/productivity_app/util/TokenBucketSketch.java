@@ -0,0 +1,131 @@
+package com.example.productivity_app.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-memory, lock-free token buckets for an unbounded key space.
+ * <p>
+ * Buckets are not stored per key. Each key hashes to one slot in each of {@link #ROWS} rows (count-min
+ * sketch layout), and a slot holds a draining "tokens used" level packed with its last update time into
+ * a single {@code long}, incremented by CAS. A key's level is the minimum over its slots, so hash collisions
+ * can only make a key look busier than it is, never let it through early. Levels are capped at capacity,
+ * so any slot left idle for {@code capacity / refillPerSecond} seconds is back to empty: there is nothing
+ * to evict and memory stays at {@code ROWS * width * 8} bytes no matter how many distinct keys are seen.
+ */
+public class TokenBucketSketch {
+
+    static final int ROWS = 2;
+
+    // Slot layout: high 40 bits = millis since origin of the last update, low 24 bits = level in milli-tokens
+    private static final int LEVEL_BITS = 24;
+    private static final long LEVEL_MASK = (1L << LEVEL_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final AtomicLongArray[] rows = new AtomicLongArray[ROWS];
+    private final int indexMask;
+    private final long capacityMilli;
+    private final double drainPerMilli;
+    private final LongSupplier clock;
+    private final long origin;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * @param width           slots per row, rounded up to a power of two
+     * @param capacity        burst size in tokens
+     * @param refillPerSecond tokens returned to the bucket per second
+     */
+    public TokenBucketSketch(int width, int capacity, double refillPerSecond) {
+        this(width, capacity, refillPerSecond, System::currentTimeMillis);
+    }
+
+    TokenBucketSketch(int width, int capacity, double refillPerSecond, LongSupplier clock) {
+        if (capacity < 1 || capacity * MILLI > LEVEL_MASK) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + LEVEL_MASK / MILLI);
+        }
+        int size = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new AtomicLongArray(size);
+        }
+        this.indexMask = size - 1;
+        this.capacityMilli = capacity * MILLI;
+        this.drainPerMilli = refillPerSecond; // milli-tokens per milli-second == tokens per second
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return 0 if a token was taken, otherwise the number of milliseconds until one will be available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong() - origin;
+        long hash = hash(key);
+        int[] slots = {slot(hash, 0), slot(hash, 1)};
+
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < ROWS; row++) {
+            estimate = Math.min(estimate, drainedLevel(rows[row].get(slots[row]), now));
+        }
+
+        long wanted = estimate + MILLI;
+        if (wanted > capacityMilli) {
+            return (long) Math.ceil((wanted - capacityMilli) / drainPerMilli);
+        }
+
+        // Add one token to every slot (rather than raising slots to a target) so concurrent
+        // callers never overwrite each other's usage; only callers racing past the check can overshoot
+        for (int row = 0; row < ROWS; row++) {
+            AtomicLongArray array = rows[row];
+            int index = slots[row];
+            long current;
+            long updated;
+            do {
+                current = array.get(index);
+                long level = drainedLevel(current, now) + MILLI;
+                updated = (now << LEVEL_BITS) | Math.min(level, capacityMilli);
+            } while (!array.compareAndSet(index, current, updated));
+        }
+        return 0;
+    }
+
+    public long memoryBytes() {
+        return (long) ROWS * (indexMask + 1) * Long.BYTES;
+    }
+
+    private long drainedLevel(long packed, long now) {
+        long level = packed & LEVEL_MASK;
+        if (level == 0) {
+            return 0;
+        }
+        long elapsed = Math.max(0, now - (packed >>> LEVEL_BITS));
+        return Math.max(0, level - (long) (elapsed * drainPerMilli));
+    }
+
+    private int slot(long hash, int row) {
+        // Double hashing over the two 32-bit halves gives an independent index per row
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + row * h2) & indexMask;
+    }
+
+    /**
+     * Seeded 64-bit hash over the key's characters. The random seed keeps attackers from
+     * precomputing keys that collide with a victim's slots.
+     */
+    private long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
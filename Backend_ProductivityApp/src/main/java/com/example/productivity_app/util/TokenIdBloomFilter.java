@@ -0,0 +1,63 @@
+package com.example.productivity_app.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over token IDs, sized at ~10 bits per expected entry with 7 probes (about 1% false
+ * positives). Lookups read the two halves of the UUID directly and allocate nothing, so the filter
+ * can sit on the request path in front of the exact revocation set.
+ */
+public class TokenIdBloomFilter {
+
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int PROBES = 7;
+
+    private final AtomicLongArray words;
+    private final long bitMask;
+
+    public TokenIdBloomFilter(int expectedEntries) {
+        long bits = Math.max(64, (long) expectedEntries * BITS_PER_ENTRY);
+        bits = Long.highestOneBit(bits - 1) << 1;
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+        this.bitMask = bits - 1;
+    }
+
+    public void add(UUID tokenId) {
+        long h1 = mix(tokenId.getMostSignificantBits());
+        long h2 = mix(tokenId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            long word;
+            do {
+                word = words.get(index);
+            } while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    public boolean mightContain(UUID tokenId) {
+        long h1 = mix(tokenId.getMostSignificantBits());
+        long h2 = mix(tokenId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBits() {
+        return bitMask + 1;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,66 @@
+-- Schema as it stood when Flyway took over from ddl-auto, i.e. after db/scripts/001-003.
+-- Existing databases are not re-created: with spring.flyway.baseline-on-migrate they are
+-- recorded as version 1 and only later migrations run, so bring them up to date with those
+-- scripts first. Secondary indexes are left to V2.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE goal_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE checkpoint_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE buddy_request_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id            bigint       NOT NULL,
+    email         varchar(255),
+    username      varchar(255),
+    password      varchar(255),
+    token_version integer      DEFAULT 0 NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE goal (
+    id                    bigint   NOT NULL,
+    user_id               bigint,
+    title                 varchar(255),
+    description           varchar(255),
+    start_date            date,
+    end_date              date,
+    status                smallint,
+    progress              integer,
+    total_checkpoints     integer  DEFAULT 0 NOT NULL,
+    completed_checkpoints integer  DEFAULT 0 NOT NULL,
+    CONSTRAINT goal_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_goal_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT goal_status_code CHECK (status BETWEEN 0 AND 3)
+);
+
+CREATE TABLE checkpoint (
+    id             bigint   NOT NULL,
+    goal_id        bigint,
+    title          varchar(255),
+    description    varchar(255),
+    due_date       date,
+    status         smallint,
+    completed_date date,
+    CONSTRAINT checkpoint_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_checkpoint_goal FOREIGN KEY (goal_id) REFERENCES goal (id),
+    CONSTRAINT checkpoint_status_code CHECK (status BETWEEN 0 AND 3)
+);
+
+CREATE TABLE buddy_request (
+    id           bigint   NOT NULL,
+    requester_id bigint,
+    receiver_id  bigint,
+    date         date,
+    status       smallint,
+    CONSTRAINT buddy_request_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_buddy_request_requester FOREIGN KEY (requester_id) REFERENCES users (id),
+    CONSTRAINT fk_buddy_request_receiver FOREIGN KEY (receiver_id) REFERENCES users (id),
+    CONSTRAINT buddy_request_status_code CHECK (status BETWEEN 0 AND 2)
+);
+
+CREATE TABLE revoked_token (
+    token_id   uuid                        NOT NULL,
+    user_id    bigint,
+    expires_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT revoked_token_pkey PRIMARY KEY (token_id)
+);
@@ -0,0 +1,25 @@
+-- Secondary indexes for the queries the application actually runs. ddl-auto=update may already
+-- have created some of the composite ones on older databases, hence IF NOT EXISTS.
+--
+-- A composite index also serves lookups on its leading columns, so goal(user_id),
+-- checkpoint(goal_id) and buddy_request(receiver_id, status) are covered by the keyset indexes
+-- below rather than indexed twice.
+
+-- Keyset-paginated lists (GoalRepository / CheckpointRepository / BuddyRequestRepository)
+CREATE INDEX IF NOT EXISTS idx_goal_user_end_date_id ON goal (user_id, end_date, id);
+CREATE INDEX IF NOT EXISTS idx_checkpoint_goal_due_date_id ON checkpoint (goal_id, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_buddy_request_requester_id ON buddy_request (requester_id, id);
+CREATE INDEX IF NOT EXISTS idx_buddy_request_receiver_status_id ON buddy_request (receiver_id, status, id);
+
+-- Overdue sweep: open checkpoints past their due date
+CREATE INDEX IF NOT EXISTS idx_checkpoint_status_due_date ON checkpoint (status, due_date);
+
+-- Duplicate check before a buddy request is created
+CREATE INDEX IF NOT EXISTS idx_buddy_request_requester_receiver ON buddy_request (requester_id, receiver_id);
+
+-- Pruning of expired revocations
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_token (expires_at);
+
+-- findByEmail runs on every login. Fails (and rolls back) if two accounts already share an
+-- email; find them with: SELECT email FROM users GROUP BY email HAVING COUNT(*) > 1
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
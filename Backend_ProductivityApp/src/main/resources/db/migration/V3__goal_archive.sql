@@ -0,0 +1,38 @@
+-- Cold storage for finished goals (GoalArchiveService). Same columns as goal / checkpoint, ids kept,
+-- no sequences. The owner and goal ids are plain columns: archived rows never block deletes of
+-- hot rows, and AccountPurgeService deletes them explicitly.
+
+CREATE TABLE archived_goal (
+    id                    bigint   NOT NULL,
+    user_id               bigint,
+    title                 varchar(255),
+    description           varchar(255),
+    start_date            date,
+    end_date              date,
+    status                smallint,
+    progress              integer,
+    total_checkpoints     integer  NOT NULL,
+    completed_checkpoints integer  NOT NULL,
+    archived_date         date     NOT NULL,
+    CONSTRAINT archived_goal_pkey PRIMARY KEY (id),
+    CONSTRAINT archived_goal_status_code CHECK (status BETWEEN 0 AND 3)
+);
+
+CREATE TABLE archived_checkpoint (
+    id             bigint   NOT NULL,
+    goal_id        bigint,
+    title          varchar(255),
+    description    varchar(255),
+    due_date       date,
+    status         smallint,
+    completed_date date,
+    CONSTRAINT archived_checkpoint_pkey PRIMARY KEY (id),
+    CONSTRAINT archived_checkpoint_status_code CHECK (status BETWEEN 0 AND 3)
+);
+
+-- Goal history pages and the checkpoints of a page's goals
+CREATE INDEX idx_archived_goal_user_end_date_id ON archived_goal (user_id, end_date, id);
+CREATE INDEX idx_archived_checkpoint_goal_id ON archived_checkpoint (goal_id, id);
+
+-- Archival: finished goals whose end date is past the cutoff
+CREATE INDEX idx_goal_status_end_date ON goal (status, end_date);
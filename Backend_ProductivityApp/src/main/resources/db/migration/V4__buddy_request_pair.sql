@@ -0,0 +1,30 @@
+-- One buddy request per pair of users, whichever of them sent it. user_low_id / user_high_id hold the
+-- two user ids in ascending order, and BuddyRequestService.sendRequest inserts with ON CONFLICT DO
+-- NOTHING against uk_buddy_request_pair, so reverse and concurrent duplicates become no-ops.
+
+ALTER TABLE buddy_request ADD COLUMN user_low_id bigint;
+ALTER TABLE buddy_request ADD COLUMN user_high_id bigint;
+
+-- Rows without both users can be neither listed nor accepted
+DELETE FROM buddy_request WHERE requester_id IS NULL OR receiver_id IS NULL;
+
+UPDATE buddy_request
+SET user_low_id  = LEAST(requester_id, receiver_id),
+    user_high_id = GREATEST(requester_id, receiver_id);
+
+-- Keep one row per pair: accepted over pending over rejected, then the oldest
+DELETE FROM buddy_request b
+WHERE EXISTS (
+    SELECT 1 FROM buddy_request k
+    WHERE k.user_low_id = b.user_low_id
+      AND k.user_high_id = b.user_high_id
+      AND (CASE k.status WHEN 1 THEN 0 WHEN 0 THEN 1 ELSE 2 END,
+           k.id) < (CASE b.status WHEN 1 THEN 0 WHEN 0 THEN 1 ELSE 2 END, b.id)
+);
+
+ALTER TABLE buddy_request ALTER COLUMN user_low_id SET NOT NULL;
+ALTER TABLE buddy_request ALTER COLUMN user_high_id SET NOT NULL;
+ALTER TABLE buddy_request ADD CONSTRAINT uk_buddy_request_pair UNIQUE (user_low_id, user_high_id);
+
+-- The one-direction duplicate check it served is gone; the unique index answers both directions
+DROP INDEX IF EXISTS idx_buddy_request_requester_receiver;
@@ -0,0 +1,3 @@
+-- BuddyLeaderboard reloads the last 30 days of completions per user: completed checkpoints by
+-- completed_date, without scanning every completed checkpoint ever recorded.
+CREATE INDEX IF NOT EXISTS idx_checkpoint_status_completed_date ON checkpoint (status, completed_date);
@@ -0,0 +1,12 @@
+-- Checkpoint counters on goal (PostgreSQL). Safe to run more than once.
+-- Run before starting the new version, or let ddl-auto add the columns and run only the backfill.
+
+ALTER TABLE goal ADD COLUMN IF NOT EXISTS total_checkpoints integer NOT NULL DEFAULT 0;
+ALTER TABLE goal ADD COLUMN IF NOT EXISTS completed_checkpoints integer NOT NULL DEFAULT 0;
+
+UPDATE goal g SET
+    total_checkpoints = (SELECT count(*) FROM checkpoint c WHERE c.goal_id = g.id),
+    completed_checkpoints = (SELECT count(*) FROM checkpoint c WHERE c.goal_id = g.id AND c.status = 'COMPLETED');
+
+UPDATE goal SET progress = CASE WHEN total_checkpoints > 0
+    THEN (completed_checkpoints * 100) / total_checkpoints ELSE 0 END;
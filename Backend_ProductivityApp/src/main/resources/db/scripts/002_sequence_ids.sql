@@ -0,0 +1,22 @@
+-- Move id generation from IDENTITY columns to pooled sequences (PostgreSQL).
+-- Run BEFORE starting the version that uses sequences; otherwise ddl-auto creates the
+-- sequences starting at 1 and new rows collide with existing ids.
+--
+-- Hibernate's pooled optimizer treats each value it reads from a sequence as the top of a
+-- block of 50 ids (value - 49 .. value), so every sequence is positioned at max(id) + 50.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS goal_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS checkpoint_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS buddy_request_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users), false);
+SELECT setval('goal_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM goal), false);
+SELECT setval('checkpoint_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM checkpoint), false);
+SELECT setval('buddy_request_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM buddy_request), false);
+
+-- The id columns no longer generate values themselves
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE goal ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE checkpoint ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE buddy_request ALTER COLUMN id DROP IDENTITY IF EXISTS;
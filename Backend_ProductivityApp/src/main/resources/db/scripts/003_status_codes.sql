@@ -0,0 +1,54 @@
+-- Convert the status columns from free-form strings to the smallint codes written by
+-- GoalStatusConverter, CheckpointStatusConverter and BuddyRequestStatusConverter (PostgreSQL).
+-- Run BEFORE starting the version that uses the status enums; ddl-auto=update never changes the
+-- type of an existing column. Indexes on the status columns are rebuilt by ALTER COLUMN TYPE.
+--
+-- The codes must match the enum constants:
+--   goal.status           ACTIVE=0, COMPLETED=1, PAUSED=2, CANCELLED=3
+--   checkpoint.status     PENDING=0, IN_PROGRESS=1, COMPLETED=2, OVERDUE=3
+--   buddy_request.status  PENDING=0, ACCEPTED=1, REJECTED=2
+
+BEGIN;
+
+-- Anything not listed above would silently become NULL, so stop instead
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM goal WHERE status IS NOT NULL
+                   AND UPPER(TRIM(status)) NOT IN ('ACTIVE', 'COMPLETED', 'PAUSED', 'CANCELLED'))
+        OR EXISTS (SELECT 1 FROM checkpoint WHERE status IS NOT NULL
+                   AND UPPER(TRIM(status)) NOT IN ('PENDING', 'IN_PROGRESS', 'COMPLETED', 'OVERDUE'))
+        OR EXISTS (SELECT 1 FROM buddy_request WHERE status IS NOT NULL
+                   AND UPPER(TRIM(status)) NOT IN ('PENDING', 'ACCEPTED', 'REJECTED')) THEN
+        RAISE EXCEPTION 'Unknown status values found; fix those rows before converting';
+    END IF;
+END $$;
+
+ALTER TABLE goal ALTER COLUMN status TYPE smallint USING
+    CASE UPPER(TRIM(status))
+        WHEN 'ACTIVE' THEN 0
+        WHEN 'COMPLETED' THEN 1
+        WHEN 'PAUSED' THEN 2
+        WHEN 'CANCELLED' THEN 3
+    END;
+
+ALTER TABLE checkpoint ALTER COLUMN status TYPE smallint USING
+    CASE UPPER(TRIM(status))
+        WHEN 'PENDING' THEN 0
+        WHEN 'IN_PROGRESS' THEN 1
+        WHEN 'COMPLETED' THEN 2
+        WHEN 'OVERDUE' THEN 3
+    END;
+
+ALTER TABLE buddy_request ALTER COLUMN status TYPE smallint USING
+    CASE UPPER(TRIM(status))
+        WHEN 'PENDING' THEN 0
+        WHEN 'ACCEPTED' THEN 1
+        WHEN 'REJECTED' THEN 2
+    END;
+
+-- The enums have no other values, so keep anything else out of the columns from now on
+ALTER TABLE goal ADD CONSTRAINT goal_status_code CHECK (status BETWEEN 0 AND 3);
+ALTER TABLE checkpoint ADD CONSTRAINT checkpoint_status_code CHECK (status BETWEEN 0 AND 3);
+ALTER TABLE buddy_request ADD CONSTRAINT buddy_request_status_code CHECK (status BETWEEN 0 AND 2);
+
+COMMIT;
@@ -0,0 +1,157 @@
+package com.example.productivity_app.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.ServerSocket;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserts 100k checkpoint-shaped rows with IDENTITY ids and with pooled sequence ids, both with
+ * {@code hibernate.jdbc.batch_size=50}. Hibernate has to execute an IDENTITY insert immediately to
+ * learn the id, so only the sequence variant actually batches.
+ * <p>
+ * By default it talks to an in-memory H2 database through a local H2 TCP server, so every statement
+ * pays a real (loopback) round trip; pass {@code -Dbenchmark.jdbc.url=... -Dbenchmark.jdbc.user=...
+ * -Dbenchmark.jdbc.password=...} to measure against PostgreSQL instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 50;
+
+    private Server h2Server;
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = System.getProperty("benchmark.jdbc.url");
+        if (url == null) {
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            h2Server = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + port + "/mem:idbench;DB_CLOSE_DELAY=-1";
+        }
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.user", "sa"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", ""))
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(IdentityCheckpoint.class)
+                .addAnnotatedClass(SequenceCheckpoint.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("DELETE FROM IdentityCheckpoint").executeUpdate();
+            session.createMutationQuery("DELETE FROM SequenceCheckpoint").executeUpdate();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+        if (h2Server != null) {
+            h2Server.stop();
+        }
+    }
+
+    @Benchmark
+    public void identityIds() {
+        insert(IdentityCheckpoint::new);
+    }
+
+    @Benchmark
+    public void pooledSequenceIds() {
+        insert(SequenceCheckpoint::new);
+    }
+
+    private void insert(Supplier<BenchmarkCheckpoint> factory) {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(fill(factory.get(), i));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    flushAndClear(session);
+                }
+            }
+        });
+    }
+
+    private static BenchmarkCheckpoint fill(BenchmarkCheckpoint checkpoint, int i) {
+        checkpoint.title = "Checkpoint " + i;
+        checkpoint.description = "Benchmark checkpoint";
+        checkpoint.dueDate = LocalDate.now().plusDays(i % 30);
+        checkpoint.status = "PENDING";
+        return checkpoint;
+    }
+
+    private static void flushAndClear(Session session) {
+        session.flush();
+        session.clear();
+    }
+
+    @MappedSuperclass
+    public abstract static class BenchmarkCheckpoint {
+        public String title;
+        public String description;
+        public LocalDate dueDate;
+        public String status;
+    }
+
+    @Entity(name = "IdentityCheckpoint")
+    public static class IdentityCheckpoint extends BenchmarkCheckpoint {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        public Long id;
+    }
+
+    @Entity(name = "SequenceCheckpoint")
+    public static class SequenceCheckpoint extends BenchmarkCheckpoint {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_checkpoint_seq")
+        @SequenceGenerator(name = "sequence_checkpoint_seq", sequenceName = "sequence_checkpoint_seq", allocationSize = 50)
+        public Long id;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(IdGenerationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
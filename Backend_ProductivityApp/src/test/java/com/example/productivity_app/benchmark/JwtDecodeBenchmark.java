@@ -0,0 +1,66 @@
+package com.example.productivity_app.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.productivity_app.util.JwtClaims;
+import com.example.productivity_app.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares what the JWT filter used to do per request (a fresh Algorithm and JWTVerifier for every
+ * claim read, three verifications in total) with a single {@link JwtUtil#decode(String)} call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtDecodeBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3600000L);
+        token = jwtUtil.generateToken("bench@example.com", 42L);
+    }
+
+    @Benchmark
+    public void legacyPerClaimVerification(Blackhole blackhole) {
+        blackhole.consume(legacyVerify(token).getSubject());
+        blackhole.consume(legacyVerify(token).getClaim(JwtUtil.CLAIM_USER_ID).asLong());
+        blackhole.consume(legacyVerify(token).getExpiresAt().before(new Date()));
+    }
+
+    @Benchmark
+    public void singleDecode(Blackhole blackhole) {
+        JwtClaims claims = jwtUtil.decode(token);
+        blackhole.consume(claims.email());
+        blackhole.consume(claims.userId());
+        blackhole.consume(claims.isExpired());
+    }
+
+    private static DecodedJWT legacyVerify(String token) {
+        return JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtDecodeBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
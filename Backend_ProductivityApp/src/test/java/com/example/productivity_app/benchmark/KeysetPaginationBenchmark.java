@@ -0,0 +1,157 @@
+package com.example.productivity_app.benchmark;
+
+import com.example.productivity_app.dto.CheckpointDto;
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.Users;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches one 50-row page of a goal's checkpoints at increasing depths, with OFFSET paging and with
+ * the dated keyset queries from {@code CheckpointRepository} (every checkpoint here has a due date).
+ * Both read the (goal_id, dueDate, id) index in order; OFFSET still walks past every skipped row,
+ * keyset seeks straight to the cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeysetPaginationBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 50;
+    private static final String SELECT = "SELECT new com.example.productivity_app.dto.CheckpointDto(c.id, c.title, "
+            + "c.description, c.dueDate, c.status, c.completedDate) FROM Checkpoint c ";
+    private static final String ORDER = " ORDER BY c.goal.id, c.dueDate, c.id";
+
+    @Param({"0", "10000", "99000"})
+    private int depth;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private Long goalId;
+    private LocalDate afterDueDate;
+    private Long afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                // Without OPTIMIZE_REUSE_RESULTS=FALSE H2 answers a repeated identical query from a cached result
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:pagebench;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                // Measure the database path; hibernate-jcache on the classpath would otherwise turn on the L2 cache
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                // H2 adds an index of its own for every foreign key and then prefers it for goal_id = ?,
+                // sorting the whole goal; PostgreSQL does not, so leave the constraints out here
+                .applySetting(AvailableSettings.HBM2DDL_DEFAULT_CONSTRAINT_MODE, "NO_CONSTRAINT")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Users.class)
+                .addAnnotatedClass(Goal.class)
+                .addAnnotatedClass(Checkpoint.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        goalId = sessionFactory.fromTransaction(session -> {
+            Users user = new Users();
+            user.setEmail("bench@example.com");
+            user.setUsername("bench");
+            user.setPassword("password");
+            session.persist(user);
+
+            Goal goal = new Goal();
+            goal.setTitle("Benchmark goal");
+            goal.setUser(user);
+            session.persist(goal);
+
+            LocalDate start = LocalDate.of(2026, 1, 1);
+            for (int i = 0; i < ROWS; i++) {
+                Checkpoint checkpoint = new Checkpoint();
+                checkpoint.setTitle("Checkpoint " + i);
+                checkpoint.setDueDate(start.plusDays(i % 365));
+                checkpoint.setGoal(goal);
+                session.persist(checkpoint);
+                if ((i + 1) % 50 == 0) {
+                    session.flush();
+                    session.clear();
+                    goal = session.getReference(Goal.class, goal.getId());
+                }
+            }
+            return goal.getId();
+        });
+
+        if (depth > 0) {
+            // The keyset cursor a client would hold after paging down to this depth
+            CheckpointDto last = sessionFactory.fromTransaction(session -> session
+                    .createSelectionQuery(SELECT + "WHERE c.goal.id = :goalId" + ORDER, CheckpointDto.class)
+                    .setParameter("goalId", goalId)
+                    .setFirstResult(depth - 1)
+                    .setMaxResults(1)
+                    .getSingleResult());
+            afterDueDate = last.getDueDate();
+            afterId = last.getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public List<CheckpointDto> offsetPage() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery(SELECT + "WHERE c.goal.id = :goalId" + ORDER, CheckpointDto.class)
+                .setParameter("goalId", goalId)
+                .setFirstResult(depth)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<CheckpointDto> keysetPage() {
+        if (afterId == null) {
+            return sessionFactory.fromTransaction(session -> session
+                    .createSelectionQuery(SELECT + "WHERE c.goal.id = :goalId AND c.dueDate IS NOT NULL" + ORDER,
+                            CheckpointDto.class)
+                    .setParameter("goalId", goalId)
+                    .setMaxResults(PAGE_SIZE + 1)
+                    .getResultList());
+        }
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery(SELECT + "WHERE c.goal.id = :goalId AND (c.dueDate, c.id) > (:dueDate, :id)"
+                        + ORDER, CheckpointDto.class)
+                .setParameter("goalId", goalId)
+                .setParameter("dueDate", afterDueDate)
+                .setParameter("id", afterId)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(KeysetPaginationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
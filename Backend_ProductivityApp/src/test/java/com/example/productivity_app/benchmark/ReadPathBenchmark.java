@@ -0,0 +1,132 @@
+package com.example.productivity_app.benchmark;
+
+import com.example.productivity_app.dto.CheckpointDto;
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.mapper.CheckpointMapper;
+import com.example.productivity_app.mapper.CheckpointMapperImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads one goal's checkpoints the old way (managed entities in a read-write session, then MapStruct)
+ * and the new way (JPQL constructor projection into {@link CheckpointDto} in a read-only session),
+ * against an in-process H2 database so the difference is Hibernate's per-row work rather than I/O.
+ * Run with {@code -prof gc} to see allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final String PROJECTION_QUERY = "SELECT new com.example.productivity_app.dto.CheckpointDto("
+            + "c.id, c.title, c.description, c.dueDate, c.status, c.completedDate) "
+            + "FROM Checkpoint c WHERE c.goal.id = :goalId ORDER BY c.id";
+
+    @Param({"10000"})
+    private int rows;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private CheckpointMapper checkpointMapper;
+    private Long goalId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                // Without OPTIMIZE_REUSE_RESULTS=FALSE H2 answers a repeated identical query from a cached result
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:readbench;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                // Measure the database path; hibernate-jcache on the classpath would otherwise turn on the L2 cache
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Users.class)
+                .addAnnotatedClass(Goal.class)
+                .addAnnotatedClass(Checkpoint.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        checkpointMapper = new CheckpointMapperImpl();
+
+        goalId = sessionFactory.fromTransaction(session -> {
+            Users user = new Users();
+            user.setEmail("bench@example.com");
+            user.setUsername("bench");
+            user.setPassword("password");
+            session.persist(user);
+
+            Goal goal = new Goal();
+            goal.setTitle("Benchmark goal");
+            goal.setUser(user);
+            session.persist(goal);
+
+            for (int i = 0; i < rows; i++) {
+                Checkpoint checkpoint = new Checkpoint();
+                checkpoint.setTitle("Checkpoint " + i);
+                checkpoint.setDescription("Benchmark checkpoint " + i);
+                checkpoint.setDueDate(LocalDate.now().plusDays(i % 30));
+                checkpoint.setGoal(goal);
+                session.persist(checkpoint);
+                if ((i + 1) % 50 == 0) {
+                    session.flush();
+                }
+            }
+            return goal.getId();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public List<CheckpointDto> managedEntitiesThenMapper() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery("FROM Checkpoint c WHERE c.goal.id = :goalId ORDER BY c.id", Checkpoint.class)
+                .setParameter("goalId", goalId)
+                .getResultList()
+                .stream()
+                .map(checkpointMapper::toDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<CheckpointDto> readOnlyProjection() {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            return session.createSelectionQuery(PROJECTION_QUERY, CheckpointDto.class)
+                    .setParameter("goalId", goalId)
+                    .getResultList();
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ReadPathBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.productivity_app.config;
+
+import com.example.productivity_app.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoundedBCryptPasswordEncoder Unit Tests")
+class BoundedBCryptPasswordEncoderTest {
+
+    private MeterRegistry meterRegistry;
+    private BoundedBCryptPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedBCryptPasswordEncoder(4, 2, 8, 3, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should encode and match passwords on the hashing pool")
+    void shouldEncodeAndMatchPasswords() {
+        // Act
+        String encoded = encoder.encode("password123");
+
+        // Assert
+        assertTrue(encoded.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("password123", encoded));
+        assertFalse(encoder.matches("wrongpassword", encoded));
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should flag hashes made with a different cost factor for rehash")
+    void shouldFlagHashesWithDifferentCostFactor() {
+        // Arrange
+        String sameCost = new BCryptPasswordEncoder(4).encode("password123");
+        String higherCost = new BCryptPasswordEncoder(5).encode("password123");
+
+        // Act & Assert
+        assertFalse(encoder.upgradeEncoding(sameCost));
+        assertTrue(encoder.upgradeEncoding(higherCost));
+        assertTrue(new BoundedBCryptPasswordEncoder(6, 1, 1, 1, meterRegistry).upgradeEncoding(sameCost));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    @DisplayName("Should reject with ServiceUnavailableException when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        // Arrange: one worker blocked on a latch, queue of one
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blockingDelegate = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        MeterRegistry saturatedRegistry = new SimpleMeterRegistry();
+        BoundedBCryptPasswordEncoder saturated =
+                new BoundedBCryptPasswordEncoder(blockingDelegate, 4, 1, 1, 7, saturatedRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> saturated.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> saturated.encode("b"));
+        while (saturatedRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        ServiceUnavailableException exception =
+                assertThrows(ServiceUnavailableException.class, () -> saturated.matches("c", "hashed"));
+
+        // Assert
+        assertEquals(7, exception.getRetryAfterSeconds());
+        assertEquals(1.0, saturatedRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hashed", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed", queued.get(5, TimeUnit.SECONDS));
+        saturated.shutdown();
+    }
+}
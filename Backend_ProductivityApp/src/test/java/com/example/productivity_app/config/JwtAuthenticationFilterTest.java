@@ -0,0 +1,191 @@
+package com.example.productivity_app.config;
+
+import com.example.productivity_app.repository.RevokedTokenRepository;
+import com.example.productivity_app.service.TokenRevocationService;
+import com.example.productivity_app.service.TokenVersionService;
+import com.example.productivity_app.util.JwtTokenCache;
+import com.example.productivity_app.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Unit Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String TEST_EMAIL = "test@example.com";
+    private static final Long TEST_USER_ID = 1L;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private JwtUtil jwtUtil;
+    private JwtTokenCache jwtTokenCache;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil("testSecretKeyForJwtFilterTesting", 3600000L);
+        jwtTokenCache = new JwtTokenCache(jwtUtil, new SimpleMeterRegistry(), 100);
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, new SimpleMeterRegistry(), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should build principal from claims without loading the user")
+    void shouldBuildPrincipalFromClaimsWithoutLoadingUser() throws Exception {
+        // Arrange
+        TokenVersionService tokenVersionService = startedBeforeTokens();
+        JwtAuthenticationFilter filter = statelessFilter(tokenVersionService);
+        String token = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, 0);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, authentication.getPrincipal());
+        assertEquals(TEST_EMAIL, principal.getUsername());
+        assertEquals(TEST_USER_ID, principal.getUserId());
+        assertTrue(AuthorityUtils.authorityListToSet(principal.getAuthorities()).contains(JwtUtil.ROLE_USER));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject token issued before a version change")
+    void shouldRejectTokenIssuedBeforeVersionChange() throws Exception {
+        // Arrange
+        TokenVersionService tokenVersionService = startedBeforeTokens();
+        JwtAuthenticationFilter filter = statelessFilter(tokenVersionService);
+        String staleToken = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, 0);
+        tokenVersionService.versionChanged(TEST_USER_ID, 1);
+
+        // Act
+        filter.doFilter(requestWithToken(staleToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject token of a deleted user")
+    void shouldRejectTokenOfDeletedUser() throws Exception {
+        // Arrange
+        TokenVersionService tokenVersionService = startedBeforeTokens();
+        JwtAuthenticationFilter filter = statelessFilter(tokenVersionService);
+        String token = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, 3);
+        tokenVersionService.userDeleted(TEST_USER_ID);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should load user from database for tokens issued before startup")
+    void shouldLoadUserFromDatabaseForTokensIssuedBeforeStartup() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, 0);
+        Thread.sleep(5);
+        JwtAuthenticationFilter filter = statelessFilter(new TokenVersionService(3600000L));
+        when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(databaseUser(0));
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadUserByUsername(TEST_EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reject stale token version when loading user from database")
+    void shouldRejectStaleTokenVersionWhenLoadingFromDatabase() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtTokenCache, userDetailsService, new TokenVersionService(3600000L), tokenRevocationService, false);
+        String token = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, 0);
+        when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(databaseUser(1));
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadUserByUsername(TEST_EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reject a token revoked by logout while other tokens keep working")
+    void shouldRejectRevokedToken() throws Exception {
+        // Arrange
+        JwtAuthenticationFilter filter = statelessFilter(startedBeforeTokens());
+        String revokedToken = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, 0);
+        String otherToken = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, 0);
+        filter.doFilter(requestWithToken(revokedToken), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+
+        // Act
+        tokenRevocationService.revoke(jwtUtil.decode(revokedToken));
+        filter.doFilter(requestWithToken(revokedToken), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication afterRevoke = SecurityContextHolder.getContext().getAuthentication();
+        filter.doFilter(requestWithToken(otherToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert: the cached claims of the revoked token must not bypass the denylist
+        assertNull(afterRevoke);
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private JwtAuthenticationFilter statelessFilter(TokenVersionService tokenVersionService) {
+        return new JwtAuthenticationFilter(jwtTokenCache, userDetailsService, tokenVersionService,
+                tokenRevocationService, true);
+    }
+
+    // Token iat has second precision, so pretend the instance started well before the test tokens
+    private static TokenVersionService startedBeforeTokens() {
+        TokenVersionService tokenVersionService = new TokenVersionService(3600000L);
+        ReflectionTestUtils.setField(tokenVersionService, "startedAt", Instant.EPOCH);
+        return tokenVersionService;
+    }
+
+    private static MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/goals/user/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static AuthenticatedUser databaseUser(int tokenVersion) {
+        return new AuthenticatedUser(TEST_USER_ID, TEST_EMAIL, "encodedPassword", tokenVersion,
+                AuthorityUtils.createAuthorityList(JwtUtil.ROLE_USER));
+    }
+}
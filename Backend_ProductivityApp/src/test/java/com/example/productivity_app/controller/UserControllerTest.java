@@ -1,11 +1,21 @@
 package com.example.productivity_app.controller;
 
+import com.example.productivity_app.dto.AccountPurgeDto;
 import com.example.productivity_app.dto.LoginRequestDto;
 import com.example.productivity_app.dto.LoginResponseDto;
 import com.example.productivity_app.dto.RegisterDto;
+import com.example.productivity_app.dto.UserSummaryDto;
 import com.example.productivity_app.dto.UsersDto;
+import com.example.productivity_app.entity.GoalStatus;
 import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.exception.GlobalExceptionHandler;
+import com.example.productivity_app.exception.ServiceUnavailableException;
+import com.example.productivity_app.exception.TooManyRequestsException;
+import com.example.productivity_app.exception.UserNotFoundException;
+import com.example.productivity_app.service.AccountPurgeService;
+import com.example.productivity_app.service.LoginThrottleService;
 import com.example.productivity_app.service.UserService;
+import com.example.productivity_app.service.UserSummaryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +28,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -31,6 +45,12 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private LoginThrottleService loginThrottleService;
+
+    @Mock
+    private UserSummaryService userSummaryService;
+
     @InjectMocks
     private UserController userController;
 
@@ -140,6 +160,44 @@ class UserControllerTest {
         verify(userService).login("test@example.com", "password123");
     }
 
+    @Test
+    @DisplayName("Should return 429 with Retry-After and skip login when throttled")
+    void shouldReturn429WhenLoginIsThrottled() throws Exception {
+        // Arrange
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(userController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        doThrow(new TooManyRequestsException("Too many login attempts, please retry later", 10))
+                .when(loginThrottleService).checkLoginAllowed(anyString(), anyString());
+
+        // Act & Assert
+        mockMvcWithAdvice.perform(post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testLoginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+
+        verify(userService, never()).login(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when password hashing is saturated")
+    void shouldReturn503WhenPasswordHashingIsSaturated() throws Exception {
+        // Arrange
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(userController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(userService.login(anyString(), anyString()))
+                .thenThrow(new ServiceUnavailableException("Too many password operations in progress", 2));
+
+        // Act & Assert
+        mockMvcWithAdvice.perform(post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testLoginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
     @Test
     @DisplayName("Should return 400 for invalid login data")
     void shouldReturn400ForInvalidLoginData() throws Exception {
@@ -187,6 +245,53 @@ class UserControllerTest {
         verify(userService).getUsersById(999L);
     }
 
+    @Test
+    @DisplayName("Should return the dashboard summary")
+    void shouldReturnUserSummary() throws Exception {
+        // Arrange
+        UserSummaryDto summary =
+                new UserSummaryDto(3, Map.of(GoalStatus.ACTIVE, 2L, GoalStatus.COMPLETED, 1L), 55, 4, 1, 2);
+        when(userSummaryService.getSummary(1L)).thenReturn(summary);
+
+        // Act & Assert
+        mockMvc.perform(get("/users/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalGoals").value(3))
+                .andExpect(jsonPath("$.goalsByStatus.ACTIVE").value(2))
+                .andExpect(jsonPath("$.averageProgress").value(55))
+                .andExpect(jsonPath("$.checkpointsDueThisWeek").value(4))
+                .andExpect(jsonPath("$.overdueCheckpoints").value(1))
+                .andExpect(jsonPath("$.acceptedBuddies").value(2));
+
+        verify(userSummaryService).getSummary(1L);
+    }
+
+    @Test
+    @DisplayName("Should return 404 for the summary of a non-existent user")
+    void shouldReturn404ForSummaryOfNonExistentUser() throws Exception {
+        // Arrange
+        when(userSummaryService.getSummary(999L)).thenThrow(new UserNotFoundException("User not found"));
+
+        // Act & Assert
+        mockMvc.perform(get("/users/999/summary"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should not report a failed summary query as a missing user")
+    void shouldNotReturn404WhenSummaryFails() throws Exception {
+        // Arrange
+        when(userSummaryService.getSummary(1L)).thenThrow(new IllegalStateException("Query failed"));
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(userController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        // Act & Assert
+        mockMvcWithAdvice.perform(get("/users/1/summary"))
+                .andExpect(result -> assertNotEquals(404, result.getResponse().getStatus()))
+                .andExpect(jsonPath("$.error").value("Query failed"));
+    }
+
     @Test
     @DisplayName("Should update user successfully")
     void shouldUpdateUserSuccessfully() throws Exception {
@@ -225,11 +330,36 @@ class UserControllerTest {
         verify(userService, never()).updateUser(anyLong(), any());
     }
 
+    @Test
+    @DisplayName("Should revoke the bearer token on logout")
+    void shouldLogoutSuccessfully() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/users/logout")
+                .header("Authorization", "Bearer jwtToken"))
+                .andExpect(status().isNoContent());
+
+        verify(userService).logout("jwtToken");
+    }
+
+    @Test
+    @DisplayName("Should return 401 on logout without a valid token")
+    void shouldReturn401OnLogoutWithoutValidToken() throws Exception {
+        // Arrange
+        doThrow(new RuntimeException("The Token's Signature resulted invalid")).when(userService).logout("badToken");
+
+        // Act & Assert
+        mockMvc.perform(post("/users/logout"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/users/logout")
+                .header("Authorization", "Bearer badToken"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @DisplayName("Should delete user successfully")
     void shouldDeleteUserSuccessfully() throws Exception {
         // Arrange
-        doNothing().when(userService).deleteUser(1L);
+        when(userService.deleteUser(1L)).thenReturn(purge(AccountPurgeService.COMPLETED));
 
         // Act & Assert
         mockMvc.perform(delete("/users/1"))
@@ -238,6 +368,51 @@ class UserControllerTest {
         verify(userService).deleteUser(1L);
     }
 
+    @Test
+    @DisplayName("Should accept a large account deletion and point to its progress")
+    void shouldAcceptLargeAccountDeletion() throws Exception {
+        // Arrange
+        AccountPurgeDto running = purge(AccountPurgeService.RUNNING);
+        running.setGoalsTotal(5000);
+        when(userService.deleteUser(1L)).thenReturn(running);
+
+        // Act & Assert
+        mockMvc.perform(delete("/users/1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/users/1/purge"))
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.goalsTotal").value(5000));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when deleting non-existent user")
+    void shouldReturn404WhenDeletingNonExistentUser() throws Exception {
+        // Arrange
+        when(userService.deleteUser(999L)).thenThrow(new UserNotFoundException("User not found"));
+
+        // Act & Assert
+        mockMvc.perform(delete("/users/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return purge progress, or 404 when no purge is known")
+    void shouldReturnPurgeProgress() throws Exception {
+        // Arrange
+        AccountPurgeDto running = purge(AccountPurgeService.RUNNING);
+        running.setCheckpointsDeleted(2000);
+        when(userService.getPurgeStatus(1L)).thenReturn(Optional.of(running));
+        when(userService.getPurgeStatus(2L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/users/1/purge"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.checkpointsDeleted").value(2000));
+        mockMvc.perform(get("/users/2/purge"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should handle validation errors properly")
     void shouldHandleValidationErrorsProperly() throws Exception {
@@ -251,4 +426,11 @@ class UserControllerTest {
                 .content(objectMapper.writeValueAsString(invalidDto)))
                 .andExpect(status().isBadRequest());
     }
+
+    private AccountPurgeDto purge(String state) {
+        AccountPurgeDto purge = new AccountPurgeDto();
+        purge.setUserId(1L);
+        purge.setState(state);
+        return purge;
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.productivity_app.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatusCodeConverter Unit Tests")
+class StatusCodeConverterTest {
+
+    @Test
+    @DisplayName("Should round-trip every status through its code")
+    void shouldRoundTripEveryStatus() {
+        // Arrange
+        GoalStatusConverter goalConverter = new GoalStatusConverter();
+        CheckpointStatusConverter checkpointConverter = new CheckpointStatusConverter();
+        BuddyRequestStatusConverter buddyRequestConverter = new BuddyRequestStatusConverter();
+
+        // Act & Assert
+        for (GoalStatus status : GoalStatus.values()) {
+            assertEquals(status, goalConverter.convertToEntityAttribute(goalConverter.convertToDatabaseColumn(status)));
+        }
+        for (CheckpointStatus status : CheckpointStatus.values()) {
+            assertEquals(status,
+                    checkpointConverter.convertToEntityAttribute(checkpointConverter.convertToDatabaseColumn(status)));
+        }
+        for (BuddyRequestStatus status : BuddyRequestStatus.values()) {
+            assertEquals(status,
+                    buddyRequestConverter.convertToEntityAttribute(buddyRequestConverter.convertToDatabaseColumn(status)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the stored codes the migration script wrote")
+    void shouldKeepStoredCodes() {
+        // Act & Assert: these values are in the database; changing one corrupts existing rows
+        assertEquals(1, GoalStatus.COMPLETED.getCode());
+        assertEquals(2, CheckpointStatus.COMPLETED.getCode());
+        assertEquals(3, CheckpointStatus.OVERDUE.getCode());
+        assertEquals(1, BuddyRequestStatus.ACCEPTED.getCode());
+    }
+
+    @Test
+    @DisplayName("Should pass nulls through and reject unknown codes")
+    void shouldRejectUnknownCodes() {
+        // Arrange
+        CheckpointStatusConverter converter = new CheckpointStatusConverter();
+
+        // Act & Assert
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute((short) 9));
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute((short) -1));
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.dto.CheckpointDto;
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.service.BuddyLeaderboard;
+import com.example.productivity_app.service.CheckpointService;
+import com.example.productivity_app.service.CursorPage;
+import com.example.productivity_app.service.GoalReadCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CheckpointService.class, GoalReadCache.class, BuddyLeaderboard.class, SimpleMeterRegistry.class})
+@DisplayName("CheckpointRepository Tests")
+class CheckpointRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CheckpointService checkpointService;
+
+    @Autowired
+    private CheckpointRepository checkpointRepository;
+
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        Users user = new Users();
+        user.setEmail("test@example.com");
+        user.setUsername("testuser");
+        user.setPassword("encodedPassword");
+        entityManager.persist(user);
+
+        goal = new Goal();
+        goal.setTitle("Test Goal");
+        goal.setUser(user);
+        entityManager.persistAndFlush(goal);
+    }
+
+    @Test
+    @DisplayName("Should page through a goal's checkpoints by (dueDate, id) with undated ones last")
+    void shouldPageThroughCheckpointsByDueDateAndId() {
+        // Arrange
+        LocalDate base = LocalDate.of(2026, 6, 1);
+        LocalDate[] dueDates = {null, base.plusDays(3), base, base, null, base.plusDays(3), base.plusDays(1), null};
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        for (LocalDate dueDate : dueDates) {
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setTitle("Checkpoint");
+            checkpoint.setDueDate(dueDate);
+            checkpoint.setGoal(goal);
+            checkpoints.add(entityManager.persist(checkpoint));
+        }
+        entityManager.flush();
+        List<Long> expected = checkpoints.stream()
+                .sorted(Comparator.comparing(Checkpoint::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Checkpoint::getId))
+                .map(Checkpoint::getId)
+                .toList();
+
+        // Act
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<CheckpointDto> page = checkpointService.getCheckpointsForGoal(goal.getId(), cursor, 2);
+            assertTrue(page.items().size() <= 2);
+            page.items().forEach(dto -> seen.add(dto.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    @DisplayName("Should return a single page without a cursor when everything fits")
+    void shouldReturnSinglePageWithoutCursor() {
+        // Arrange
+        Checkpoint checkpoint = new Checkpoint();
+        checkpoint.setTitle("Only");
+        checkpoint.setGoal(goal);
+        entityManager.persistAndFlush(checkpoint);
+
+        // Act
+        CursorPage<CheckpointDto> page = checkpointService.getCheckpointsForGoal(goal.getId(), null, 50);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should mark only past-due open checkpoints overdue, one bounded chunk at a time")
+    void shouldMarkPastDueOpenCheckpointsOverdueInChunks() {
+        // Arrange
+        LocalDate today = LocalDate.of(2026, 6, 10);
+        Checkpoint pending = persistCheckpoint(CheckpointStatus.PENDING, today.minusDays(1));
+        Checkpoint inProgress = persistCheckpoint(CheckpointStatus.IN_PROGRESS, today.minusDays(5));
+        Checkpoint alsoPending = persistCheckpoint(CheckpointStatus.PENDING, today.minusDays(30));
+        Checkpoint dueToday = persistCheckpoint(CheckpointStatus.PENDING, today);
+        Checkpoint completed = persistCheckpoint(CheckpointStatus.COMPLETED, today.minusDays(2));
+        Checkpoint undated = persistCheckpoint(CheckpointStatus.PENDING, null);
+        entityManager.flush();
+
+        // Act
+        int first = checkpointRepository.markOverdueBatch(today, 2);
+        int second = checkpointRepository.markOverdueBatch(today, 2);
+        int third = checkpointRepository.markOverdueBatch(today, 2);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(0, third);
+        assertEquals(CheckpointStatus.OVERDUE, statusOf(pending));
+        assertEquals(CheckpointStatus.OVERDUE, statusOf(inProgress));
+        assertEquals(CheckpointStatus.OVERDUE, statusOf(alsoPending));
+        assertEquals(CheckpointStatus.PENDING, statusOf(dueToday));
+        assertEquals(CheckpointStatus.COMPLETED, statusOf(completed));
+        assertEquals(CheckpointStatus.PENDING, statusOf(undated));
+    }
+
+    @Test
+    @DisplayName("Should count completed checkpoints per user and day inside the window only")
+    void shouldCountCompletedCheckpointsPerUserAndDay() {
+        // Arrange
+        LocalDate since = LocalDate.of(2026, 6, 1);
+        persistCompleted(since);
+        persistCompleted(since);
+        persistCompleted(since.plusDays(2));
+        persistCompleted(since.minusDays(1));
+        persistCheckpoint(CheckpointStatus.PENDING, since);
+        entityManager.flush();
+
+        // Act
+        List<UserDayCount> counts = checkpointRepository.countCompletedByUserAndDaySince(since);
+
+        // Assert
+        Long userId = goal.getUsers().getId();
+        assertEquals(2, counts.size());
+        assertTrue(counts.contains(new UserDayCount(userId, since, 2L)));
+        assertTrue(counts.contains(new UserDayCount(userId, since.plusDays(2), 1L)));
+    }
+
+    private void persistCompleted(LocalDate completedDate) {
+        Checkpoint checkpoint = persistCheckpoint(CheckpointStatus.COMPLETED, null);
+        checkpoint.setCompletedDate(completedDate);
+    }
+
+    private Checkpoint persistCheckpoint(CheckpointStatus status, LocalDate dueDate) {
+        Checkpoint checkpoint = new Checkpoint();
+        checkpoint.setTitle("Checkpoint");
+        checkpoint.setGoal(goal);
+        checkpoint.setStatus(status);
+        checkpoint.setDueDate(dueDate);
+        return entityManager.persist(checkpoint);
+    }
+
+    private CheckpointStatus statusOf(Checkpoint checkpoint) {
+        return entityManager.find(Checkpoint.class, checkpoint.getId()).getStatus();
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.dto.GoalDto;
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.service.CursorPage;
+import com.example.productivity_app.service.GoalReadCache;
+import com.example.productivity_app.service.GoalService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({GoalService.class, GoalReadCache.class, SimpleMeterRegistry.class})
+@DisplayName("GoalRepository Tests")
+class GoalRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalService goalService;
+
+    private Users user;
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        user = new Users();
+        user.setEmail("test@example.com");
+        user.setUsername("testuser");
+        user.setPassword("encodedPassword");
+        entityManager.persist(user);
+
+        goal = new Goal();
+        goal.setTitle("Test Goal");
+        goal.setUser(user);
+        entityManager.persistAndFlush(goal);
+    }
+
+    @Test
+    @DisplayName("Should apply counter deltas and derive progress in one statement")
+    void shouldApplyCheckpointDeltas() {
+        // Act
+        goalRepository.applyCheckpointDelta(goal.getId(), 1, 0);
+        goalRepository.applyCheckpointDelta(goal.getId(), 1, 0);
+        goalRepository.applyCheckpointDelta(goal.getId(), 1, 1);
+        int updated = goalRepository.applyCheckpointDelta(goal.getId(), 0, 1);
+
+        // Assert
+        Goal reloaded = reload();
+        assertEquals(1, updated);
+        assertEquals(3, reloaded.getTotalCheckpoints());
+        assertEquals(2, reloaded.getCompletedCheckpoints());
+        assertEquals(66, reloaded.getProgress());
+    }
+
+    @Test
+    @DisplayName("Should report progress 0 when the last checkpoint is removed")
+    void shouldResetProgressWhenLastCheckpointRemoved() {
+        // Act
+        goalRepository.applyCheckpointDelta(goal.getId(), 1, 1);
+        goalRepository.applyCheckpointDelta(goal.getId(), -1, -1);
+
+        // Assert
+        Goal reloaded = reload();
+        assertEquals(0, reloaded.getTotalCheckpoints());
+        assertEquals(0, reloaded.getProgress());
+    }
+
+    @Test
+    @DisplayName("Should return 0 for a missing goal")
+    void shouldReturnZeroForMissingGoal() {
+        // Act & Assert
+        assertEquals(0, goalRepository.applyCheckpointDelta(999_999L, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Should rebuild counters and progress from the checkpoint rows")
+    void shouldRebuildCountersFromCheckpoints() {
+        // Arrange: checkpoints written directly, so the counters are out of date
+        for (CheckpointStatus status : new CheckpointStatus[]{CheckpointStatus.COMPLETED, CheckpointStatus.PENDING,
+                CheckpointStatus.PENDING, CheckpointStatus.COMPLETED}) {
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setTitle("Checkpoint");
+            checkpoint.setStatus(status);
+            checkpoint.setGoal(goal);
+            entityManager.persist(checkpoint);
+        }
+        entityManager.flush();
+
+        // Act
+        int updated = goalRepository.rebuildCheckpointCounters();
+        goalRepository.rebuildProgress();
+
+        // Assert
+        Goal reloaded = reload();
+        assertEquals(1, updated);
+        assertEquals(4, reloaded.getTotalCheckpoints());
+        assertEquals(2, reloaded.getCompletedCheckpoints());
+        assertEquals(50, reloaded.getProgress());
+    }
+
+    @Test
+    @DisplayName("Should not overwrite counters when the goal entity is saved")
+    void shouldNotOverwriteCountersOnEntitySave() {
+        // Arrange
+        Goal loaded = entityManager.find(Goal.class, goal.getId());
+        goalRepository.applyCheckpointDelta(goal.getId(), 2, 1);
+
+        // Act: the loaded entity still holds the old counter values
+        loaded.setTitle("Renamed");
+        entityManager.flush();
+
+        // Assert
+        Goal reloaded = reload();
+        assertEquals("Renamed", reloaded.getTitle());
+        assertEquals(2, reloaded.getTotalCheckpoints());
+        assertEquals(1, reloaded.getCompletedCheckpoints());
+    }
+
+    @Test
+    @DisplayName("Should list a user's goals with checkpoints in a fixed number of statements")
+    void shouldListUserGoalsInConstantStatements() {
+        // Arrange
+        Users other = new Users();
+        other.setEmail("other@example.com");
+        other.setUsername("otheruser");
+        other.setPassword("encodedPassword");
+        entityManager.persist(other);
+        addGoals(user, 2, 3);
+        addGoals(other, 40, 3);
+
+        // Act
+        long fewGoalsStatements = countStatementsToMapGoals(user.getId(), 6);
+        long manyGoalsStatements = countStatementsToMapGoals(other.getId(), 120);
+
+        // Assert: dated goals, undated goals (none of these have an end date), then their checkpoints
+        assertEquals(3, fewGoalsStatements);
+        assertEquals(fewGoalsStatements, manyGoalsStatements);
+    }
+
+    @Test
+    @DisplayName("Should page through goals by (endDate, id) with undated goals last, without gaps or repeats")
+    void shouldPageThroughGoalsByEndDateAndId() {
+        // Arrange: duplicate end dates and several undated goals (the one from setUp has none either)
+        LocalDate base = LocalDate.of(2026, 6, 1);
+        LocalDate[] endDates = {base.plusDays(2), null, base, base.plusDays(2), null, base, base.plusDays(1)};
+        List<Goal> goals = new ArrayList<>(List.of(goal));
+        for (LocalDate endDate : endDates) {
+            Goal extra = new Goal();
+            extra.setTitle("Goal");
+            extra.setEndDate(endDate);
+            extra.setUser(user);
+            goals.add(entityManager.persist(extra));
+        }
+        entityManager.flush();
+        List<Long> expected = goals.stream()
+                .sorted(Comparator.comparing(Goal::getEndDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Goal::getId))
+                .map(Goal::getId)
+                .toList();
+
+        // Act
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<GoalDto> page = goalService.getUserGoals(user.getId(), cursor, 3);
+            page.items().forEach(dto -> seen.add(dto.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("Should delete a goal that still has checkpoints")
+    void shouldDeleteGoalWithCheckpoints() {
+        // Arrange
+        addGoals(user, 1, 3);
+        Goal other = goalRepository.findAll().stream()
+                .filter(g -> !g.getId().equals(goal.getId()))
+                .findFirst().orElseThrow();
+        for (int i = 0; i < 2; i++) {
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setTitle("Checkpoint " + i);
+            checkpoint.setGoal(goal);
+            entityManager.persist(checkpoint);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        goalService.deleteGoal(goal.getId());
+        entityManager.flush();
+
+        // Assert
+        entityManager.clear();
+        assertNull(entityManager.find(Goal.class, goal.getId()));
+        assertEquals(3, entityManager.find(Goal.class, other.getId()).getCheckpoints().size());
+    }
+
+    private void addGoals(Users owner, int goals, int checkpointsPerGoal) {
+        for (int i = 0; i < goals; i++) {
+            Goal extra = new Goal();
+            extra.setTitle("Goal " + i);
+            extra.setUser(owner);
+            entityManager.persist(extra);
+            for (int j = 0; j < checkpointsPerGoal; j++) {
+                Checkpoint checkpoint = new Checkpoint();
+                checkpoint.setTitle("Checkpoint " + j);
+                checkpoint.setGoal(extra);
+                entityManager.persist(checkpoint);
+            }
+        }
+        entityManager.flush();
+    }
+
+    /**
+     * Reads the goals through the same service call as GET /goals/user/{userId}, from an empty
+     * persistence context, and returns the number of JDBC statements that took.
+     */
+    private long countStatementsToMapGoals(Long userId, int expectedCheckpoints) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<GoalDto> goals = goalService.getUserGoals(userId, null, 100).items();
+        assertEquals(expectedCheckpoints, goals.stream().mapToInt(dto -> dto.getCheckpoints().size()).sum());
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return statements;
+    }
+
+    private Goal reload() {
+        entityManager.clear();
+        return entityManager.find(Goal.class, goal.getId());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.entity.Users;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the schema from the Flyway migrations alone (H2 in PostgreSQL mode) and starts Hibernate
+ * in validate mode against it, so an entity change without a matching migration fails here.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@DisplayName("Schema migration Tests")
+class SchemaMigrationTest {
+
+    // Keeps the benchmarks' throwaway entities out of validation; they are on the test classpath too
+    @TestConfiguration
+    @EntityScan(basePackageClasses = Users.class)
+    static class EntityScanConfig {
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should apply every migration and leave a schema Hibernate validates")
+    void shouldApplyMigrations() {
+        // Assert: the context only starts if validation passed
+        assertEquals(5, flyway.info().applied().length);
+        assertEquals("5", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should create the secondary indexes")
+    void shouldCreateSecondaryIndexes() {
+        // Act
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_schema = 'public'", String.class);
+
+        // Assert
+        assertTrue(indexes.containsAll(List.of(
+                "idx_goal_user_end_date_id",
+                "idx_checkpoint_goal_due_date_id",
+                "idx_checkpoint_status_due_date",
+                "idx_checkpoint_status_completed_date",
+                "idx_buddy_request_requester_id",
+                "idx_buddy_request_receiver_status_id",
+                "idx_revoked_token_expires_at",
+                "idx_goal_status_end_date",
+                "idx_archived_goal_user_end_date_id",
+                "idx_archived_checkpoint_goal_id")), indexes.toString());
+    }
+
+    @Test
+    @DisplayName("Should reject a second account with the same email")
+    void shouldRejectDuplicateEmail() {
+        // Arrange
+        userRepository.saveAndFlush(user("test@example.com", "first"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(user("test@example.com", "second")));
+    }
+
+    @Test
+    @DisplayName("Should keep one buddy request per pair of users, in either direction")
+    void shouldRejectReverseBuddyRequest() {
+        // Arrange
+        long first = userRepository.saveAndFlush(user("first@example.com", "first")).getId();
+        long second = userRepository.saveAndFlush(user("second@example.com", "second")).getId();
+        String insert = "INSERT INTO buddy_request (id, requester_id, receiver_id, user_low_id, user_high_id, status) " +
+                "VALUES (nextval('buddy_request_seq'), ?, ?, ?, ?, 0)";
+        jdbcTemplate.update(insert, first, second, Math.min(first, second), Math.max(first, second));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(insert, second, first,
+                Math.min(first, second), Math.max(first, second)));
+    }
+
+    private static Users user(String email, String username) {
+        Users user = new Users();
+        user.setEmail(email);
+        user.setUsername(username);
+        user.setPassword("encodedPassword");
+        return user;
+    }
+}
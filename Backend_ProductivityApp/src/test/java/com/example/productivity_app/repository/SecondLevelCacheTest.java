@@ -0,0 +1,171 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.Users;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.orm.jpa.HibernateMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every step runs in its own transaction, as separate requests would, so reads after the first
+ * go to the second-level cache rather than the persistence context. Only Users is cached: goals and
+ * checkpoints are read through DTO projections and GoalReadCache, and bulk counter updates would
+ * invalidate their regions constantly.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class, HibernateMetricsAutoConfiguration.class})
+@DisplayName("Second-level cache Tests")
+class SecondLevelCacheTest {
+
+    private static final String USERS_REGION = "users";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private CheckpointRepository checkpointRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private Long userId;
+    private Long goalId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transaction.executeWithoutResult(status -> {
+            Users user = new Users();
+            user.setEmail("test@example.com");
+            user.setUsername("testuser");
+            user.setPassword("encodedPassword");
+            userId = userRepository.save(user).getId();
+
+            Goal goal = new Goal();
+            goal.setTitle("Test Goal");
+            goal.setUser(user);
+            goalId = goalRepository.save(goal).getId();
+
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setTitle("Checkpoint");
+            checkpoint.setDueDate(LocalDate.of(2026, 3, 1));
+            checkpoint.setGoal(goal);
+            checkpointRepository.save(checkpoint);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            checkpointRepository.deleteAll();
+            goalRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    @Test
+    @DisplayName("Should load a user from the cache without SQL")
+    void shouldLoadUserFromCacheWithoutSql() {
+        // Arrange
+        loadUser();
+        statistics.clear();
+
+        // Act
+        Users user = loadUser();
+
+        // Assert
+        assertEquals("testuser", user.getUsername());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(USERS_REGION).getHitCount());
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", USERS_REGION, "result", "hit")
+                .functionCounter()
+                .count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should not serve a user removed by the bulk delete")
+    void shouldNotServeUserAfterBulkDelete() {
+        // Arrange
+        loadUser();
+
+        // Act
+        transaction.executeWithoutResult(status -> {
+            checkpointRepository.deleteAll();
+            goalRepository.deleteAll();
+        });
+        userRepository.deleteUserById(userId);
+
+        // Assert
+        assertTrue(transaction.execute(status -> userRepository.findById(userId)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should read goals and checkpoints from the database, bulk updates make them uncacheable")
+    void shouldNotCacheGoalsOrCheckpoints() {
+        // Arrange
+        loadGoal();
+        statistics.clear();
+
+        // Act
+        Goal goal = loadGoal();
+
+        // Assert
+        assertEquals(1, goal.getCheckpoints().size());
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+        assertEquals(List.of(USERS_REGION), Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+    }
+
+    private Users loadUser() {
+        return transaction.execute(status -> userRepository.findById(userId).orElseThrow());
+    }
+
+    // Touches the checkpoint list too, inside the transaction
+    private Goal loadGoal() {
+        return transaction.execute(status -> {
+            Goal goal = goalRepository.findById(goalId).orElseThrow();
+            goal.getCheckpoints().size();
+            return goal;
+        });
+    }
+}
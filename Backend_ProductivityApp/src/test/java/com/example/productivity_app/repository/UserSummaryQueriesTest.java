@@ -0,0 +1,165 @@
+package com.example.productivity_app.repository;
+
+import com.example.productivity_app.dto.UserSummaryDto;
+import com.example.productivity_app.entity.ArchivedGoal;
+import com.example.productivity_app.entity.BuddyRequest;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.GoalStatus;
+import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.service.BuddyGraphIndex;
+import com.example.productivity_app.service.UserSummaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserSummaryService.class, BuddyGraphIndex.class, SimpleMeterRegistry.class})
+@DisplayName("User summary aggregate query Tests")
+class UserSummaryQueriesTest {
+
+    // A Wednesday, so the week runs to Sunday 2026-03-08
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 4);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    private Users user;
+    private Users buddy;
+
+    @BeforeEach
+    void setUp() {
+        user = persistUser("test@example.com", "testuser");
+        buddy = persistUser("buddy@example.com", "buddy");
+    }
+
+    @Test
+    @DisplayName("Should compute the summary with four aggregate statements, archived goals included")
+    void shouldComputeSummaryWithAggregateStatements() {
+        // Arrange
+        Goal active = persistGoal(user, GoalStatus.ACTIVE, 40);
+        persistGoal(user, GoalStatus.ACTIVE, 50);
+        Goal completed = persistGoal(user, GoalStatus.COMPLETED, 100);
+        persistGoal(buddy, GoalStatus.PAUSED, 10);
+        persistArchivedGoal(1_000L, user, GoalStatus.COMPLETED, 100);
+        persistArchivedGoal(1_001L, user, GoalStatus.CANCELLED, 30);
+        persistArchivedGoal(1_002L, buddy, GoalStatus.COMPLETED, 100);
+
+        persistCheckpoint(active, CheckpointStatus.PENDING, TODAY);                 // due this week
+        persistCheckpoint(active, CheckpointStatus.IN_PROGRESS, TODAY.plusDays(4)); // due this week (Sunday)
+        persistCheckpoint(active, CheckpointStatus.PENDING, TODAY.plusDays(5));     // next week
+        persistCheckpoint(active, CheckpointStatus.PENDING, TODAY.minusDays(1));    // overdue
+        persistCheckpoint(active, CheckpointStatus.OVERDUE, TODAY.minusDays(3));    // overdue
+        persistCheckpoint(completed, CheckpointStatus.COMPLETED, TODAY.minusDays(2));
+        persistCheckpoint(completed, CheckpointStatus.COMPLETED, TODAY.plusDays(1));
+        persistCheckpoint(active, CheckpointStatus.PENDING, null);
+
+        persistBuddyRequest(user, buddy, BuddyRequestStatus.ACCEPTED);
+        persistBuddyRequest(persistUser("other@example.com", "other"), user, BuddyRequestStatus.ACCEPTED);
+        persistBuddyRequest(user, persistUser("pending@example.com", "pending"), BuddyRequestStatus.PENDING);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // Act
+        UserSummaryDto summary = userSummaryService.getSummary(user.getId(), TODAY);
+
+        // Assert
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        statistics.setStatisticsEnabled(false);
+
+        assertEquals(5, summary.getTotalGoals());
+        assertEquals(2L, summary.getGoalsByStatus().get(GoalStatus.ACTIVE));
+        assertEquals(2L, summary.getGoalsByStatus().get(GoalStatus.COMPLETED));
+        assertEquals(1L, summary.getGoalsByStatus().get(GoalStatus.CANCELLED));
+        assertEquals(0L, summary.getGoalsByStatus().get(GoalStatus.PAUSED));
+        assertEquals(64, summary.getAverageProgress());
+        assertEquals(2, summary.getCheckpointsDueThisWeek());
+        assertEquals(2, summary.getOverdueCheckpoints());
+        assertEquals(2, summary.getAcceptedBuddies());
+    }
+
+    @Test
+    @DisplayName("Should return zeros for a user with no goals, checkpoints or buddies")
+    void shouldReturnZerosForEmptyUser() {
+        // Act
+        UserSummaryDto summary = userSummaryService.getSummary(user.getId(), TODAY);
+
+        // Assert
+        assertEquals(0, summary.getTotalGoals());
+        assertEquals(0, summary.getAverageProgress());
+        assertEquals(0, summary.getCheckpointsDueThisWeek());
+        assertEquals(0, summary.getOverdueCheckpoints());
+        assertEquals(0, summary.getAcceptedBuddies());
+    }
+
+    private Users persistUser(String email, String username) {
+        Users newUser = new Users();
+        newUser.setEmail(email);
+        newUser.setUsername(username);
+        newUser.setPassword("encodedPassword");
+        return entityManager.persist(newUser);
+    }
+
+    private void persistArchivedGoal(long id, Users owner, GoalStatus status, int progress) {
+        ArchivedGoal goal = new ArchivedGoal();
+        goal.setId(id);
+        goal.setUserId(owner.getId());
+        goal.setTitle("Archived goal");
+        goal.setEndDate(TODAY.minusYears(1));
+        goal.setStatus(status);
+        goal.setProgress(progress);
+        goal.setArchivedDate(TODAY);
+        entityManager.persist(goal);
+    }
+
+    private Goal persistGoal(Users owner, GoalStatus status, int progress) {
+        Goal goal = new Goal();
+        goal.setTitle("Goal");
+        goal.setUser(owner);
+        goal.setStatus(status);
+        goal.setProgress(progress);
+        return entityManager.persist(goal);
+    }
+
+    private void persistCheckpoint(Goal goal, CheckpointStatus status, LocalDate dueDate) {
+        Checkpoint checkpoint = new Checkpoint();
+        checkpoint.setTitle("Checkpoint");
+        checkpoint.setGoal(goal);
+        checkpoint.setStatus(status);
+        checkpoint.setDueDate(dueDate);
+        entityManager.persist(checkpoint);
+    }
+
+    private void persistBuddyRequest(Users requester, Users receiver, BuddyRequestStatus status) {
+        BuddyRequest request = new BuddyRequest();
+        request.setRequester(requester);
+        request.setReceiver(receiver);
+        request.setStatus(status);
+        request.setDate(TODAY);
+        entityManager.persist(request);
+    }
+}
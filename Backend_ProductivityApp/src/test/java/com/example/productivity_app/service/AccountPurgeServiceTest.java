@@ -0,0 +1,227 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.AccountPurgeDto;
+import com.example.productivity_app.entity.ArchivedCheckpoint;
+import com.example.productivity_app.entity.ArchivedGoal;
+import com.example.productivity_app.entity.BuddyRequest;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.GoalStatus;
+import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.exception.UserNotFoundException;
+import com.example.productivity_app.repository.ArchivedCheckpointRepository;
+import com.example.productivity_app.repository.ArchivedGoalRepository;
+import com.example.productivity_app.repository.BuddyRequestRepository;
+import com.example.productivity_app.repository.CheckpointRepository;
+import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the database without a test transaction, so the background purge sees committed rows.
+ * The batch size is 2, so an account with more than two goals or checkpoints is purged in the background.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AccountPurgeService.class, GoalReadCache.class, BuddyGraphIndex.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "accounts.purge.batch-size=2")
+@DisplayName("AccountPurgeService Tests")
+class AccountPurgeServiceTest {
+
+    @Autowired
+    private AccountPurgeService accountPurgeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private CheckpointRepository checkpointRepository;
+
+    @Autowired
+    private BuddyRequestRepository buddyRequestRepository;
+
+    @Autowired
+    private ArchivedGoalRepository archivedGoalRepository;
+
+    @Autowired
+    private ArchivedCheckpointRepository archivedCheckpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Users user;
+    private Users buddy;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        user = saveUser("user@example.com");
+        buddy = saveUser("buddy@example.com");
+        Users sender = saveUser("sender@example.com");
+        transaction.executeWithoutResult(status -> {
+            saveBuddyRequest(user, buddy);
+            saveBuddyRequest(sender, user);
+        });
+        addGoals(buddy, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            archivedCheckpointRepository.deleteAllInBatch();
+            archivedGoalRepository.deleteAllInBatch();
+            checkpointRepository.deleteAllInBatch();
+            goalRepository.deleteAllInBatch();
+            buddyRequestRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    @DisplayName("Should delete a small account inline, checkpoints and buddy requests included")
+    void shouldDeleteSmallAccountInline() {
+        // Arrange
+        addGoals(user, 1, 2);
+
+        // Act
+        AccountPurgeDto result = accountPurgeService.purge(user.getId());
+
+        // Assert
+        assertEquals(AccountPurgeService.COMPLETED, result.getState());
+        assertEquals(2, result.getCheckpointsDeleted());
+        assertEquals(1, result.getGoalsDeleted());
+        assertEquals(2, result.getBuddyRequestsDeleted());
+        assertNotNull(result.getFinishedAt());
+        assertFalse(userRepository.existsById(user.getId()));
+        assertTrue(accountPurgeService.getStatus(user.getId()).isEmpty());
+        assertBuddyUntouched();
+    }
+
+    @Test
+    @DisplayName("Should purge a large account in the background in chunks and report progress")
+    void shouldPurgeLargeAccountInBackground() throws InterruptedException {
+        // Arrange
+        addGoals(user, 3, 3);
+
+        // Act
+        AccountPurgeDto started = accountPurgeService.purge(user.getId());
+        AccountPurgeDto finished = awaitFinished(user.getId());
+
+        // Assert
+        assertEquals(9, started.getCheckpointsTotal());
+        assertEquals(3, started.getGoalsTotal());
+        assertEquals(AccountPurgeService.COMPLETED, finished.getState());
+        assertEquals(9, finished.getCheckpointsDeleted());
+        assertEquals(3, finished.getGoalsDeleted());
+        assertEquals(2, finished.getBuddyRequestsDeleted());
+        assertNull(finished.getError());
+        assertFalse(userRepository.existsById(user.getId()));
+        assertBuddyUntouched();
+    }
+
+    @Test
+    @DisplayName("Should delete the user's archived goals and checkpoints as well")
+    void shouldDeleteArchivedGoals() {
+        // Arrange
+        transaction.executeWithoutResult(status -> {
+            archivedGoalRepository.save(new ArchivedGoal(1L, user.getId(), "Archived", null, null,
+                    LocalDate.of(2025, 1, 10), GoalStatus.COMPLETED, 100, 1, 1, LocalDate.of(2026, 3, 1)));
+            archivedCheckpointRepository.save(new ArchivedCheckpoint(1L, 1L, "Archived checkpoint", null, null,
+                    CheckpointStatus.COMPLETED, LocalDate.of(2025, 1, 5)));
+        });
+
+        // Act
+        AccountPurgeDto result = accountPurgeService.purge(user.getId());
+
+        // Assert
+        assertEquals(AccountPurgeService.COMPLETED, result.getState());
+        assertEquals(1, result.getGoalsDeleted());
+        assertEquals(1, result.getCheckpointsDeleted());
+        assertEquals(0, archivedGoalRepository.count());
+        assertEquals(0, archivedCheckpointRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should throw UserNotFoundException for a missing user")
+    void shouldThrowForMissingUser() {
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> accountPurgeService.purge(999_999L));
+    }
+
+    private AccountPurgeDto awaitFinished(Long userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            AccountPurgeDto status = accountPurgeService.getStatus(userId).orElseThrow();
+            if (!AccountPurgeService.RUNNING.equals(status.getState())) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Purge of user " + userId + " did not finish");
+    }
+
+    private void assertBuddyUntouched() {
+        assertTrue(userRepository.existsById(buddy.getId()));
+        assertEquals(1, goalRepository.countByUserId(buddy.getId()));
+        assertEquals(1, checkpointRepository.countByUserId(buddy.getId()));
+        assertEquals(0, buddyRequestRepository.count());
+    }
+
+    private Users saveUser(String email) {
+        Users saved = new Users();
+        saved.setEmail(email);
+        saved.setUsername(email.substring(0, email.indexOf('@')));
+        saved.setPassword("encodedPassword");
+        return transaction.execute(status -> userRepository.save(saved));
+    }
+
+    private void saveBuddyRequest(Users requester, Users receiver) {
+        BuddyRequest request = new BuddyRequest();
+        request.setRequester(requester);
+        request.setReceiver(receiver);
+        request.setStatus(BuddyRequestStatus.ACCEPTED);
+        request.setDate(LocalDate.of(2026, 3, 1));
+        buddyRequestRepository.save(request);
+    }
+
+    private void addGoals(Users owner, int goals, int checkpointsPerGoal) {
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < goals; i++) {
+                Goal goal = new Goal();
+                goal.setTitle("Goal " + i);
+                goal.setUser(owner);
+                goalRepository.save(goal);
+                for (int j = 0; j < checkpointsPerGoal; j++) {
+                    Checkpoint checkpoint = new Checkpoint();
+                    checkpoint.setTitle("Checkpoint " + j);
+                    checkpoint.setGoal(goal);
+                    checkpointRepository.save(checkpoint);
+                }
+            }
+        });
+    }
+}
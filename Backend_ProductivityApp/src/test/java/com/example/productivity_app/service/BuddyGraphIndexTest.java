@@ -0,0 +1,212 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.BuddyRequestDto;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.repository.BuddyRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BuddyGraphIndex Unit Tests")
+class BuddyGraphIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private BuddyRequestRepository buddyRequestRepository;
+
+    private MeterRegistry meterRegistry;
+    private BuddyGraphIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new BuddyGraphIndex(buddyRequestRepository, meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load accepted requests in batches and answer lists, counts and pair checks")
+    void shouldLoadInBatches() {
+        // Arrange
+        when(buddyRequestRepository.findDtosByStatusAfter(BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(2)))
+                .thenReturn(List.of(accepted(10L, 1L, 2L), accepted(11L, 3L, 1L)));
+        when(buddyRequestRepository.findDtosByStatusAfter(BuddyRequestStatus.ACCEPTED, 11L, Limit.of(2)))
+                .thenReturn(List.of(accepted(12L, 2L, 3L)));
+        assertFalse(index.isLoaded());
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertTrue(index.isLoaded());
+        assertEquals(List.of(accepted(10L, 1L, 2L), accepted(11L, 3L, 1L)), index.findAccepted(1L, Long.MIN_VALUE, 10));
+        assertEquals(2, index.countBuddies(3L));
+        assertTrue(index.areBuddies(2L, 1L));
+        assertFalse(index.areBuddies(1L, 4L));
+        assertEquals(3.0, meterRegistry.get("buddies.index.edges").gauge().value());
+        assertEquals(3.0, meterRegistry.get("buddies.index.users").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should insert accepts in request id order, once, and page after a request id")
+    void shouldInsertAcceptsInOrder() {
+        // Arrange
+        when(buddyRequestRepository.findDtosByStatusAfter(BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(2)))
+                .thenReturn(List.of());
+        index.rebuild();
+
+        // Act
+        index.accepted(30L, 1L, 4L, DATE);
+        index.accepted(20L, 5L, 1L, DATE);
+        index.accepted(30L, 1L, 4L, DATE);
+        index.accepted(40L, 1L, 6L, null);
+
+        // Assert
+        assertEquals(3, index.countBuddies(1L));
+        assertEquals(List.of(accepted(30L, 1L, 4L), new BuddyRequestDto(40L, 1L, 6L, BuddyRequestStatus.ACCEPTED, null)),
+                index.findAccepted(1L, 20L, 5));
+        assertEquals(List.of(accepted(20L, 5L, 1L)), index.findAccepted(1L, Long.MIN_VALUE, 1));
+        // three edges: six entries of three longs, plus four users
+        assertEquals(6 * 3 * Long.BYTES + 4 * 80, index.estimatedBytes());
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted user from both sides of every relationship")
+    void shouldRemoveDeletedUser() {
+        // Arrange
+        when(buddyRequestRepository.findDtosByStatusAfter(BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(2)))
+                .thenReturn(List.of());
+        index.rebuild();
+        index.accepted(1L, 1L, 2L, DATE);
+        index.accepted(2L, 3L, 1L, DATE);
+        index.accepted(3L, 2L, 3L, DATE);
+
+        // Act
+        index.userDeleted(1L);
+
+        // Assert
+        assertEquals(0, index.countBuddies(1L));
+        assertFalse(index.areBuddies(2L, 1L));
+        assertEquals(List.of(accepted(3L, 2L, 3L)), index.findAccepted(2L, Long.MIN_VALUE, 10));
+        assertEquals(1.0, meterRegistry.get("buddies.index.edges").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should apply an accept only after the transaction commits")
+    void shouldApplyAcceptAfterCommit() {
+        // Arrange
+        when(buddyRequestRepository.findDtosByStatusAfter(BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(2)))
+                .thenReturn(List.of());
+        index.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        index.accepted(1L, 1L, 2L, DATE);
+        boolean beforeCommit = index.areBuddies(1L, 2L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertFalse(beforeCommit);
+        assertTrue(index.areBuddies(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should keep an accept made while a reload runs after the reload swaps in its graph")
+    void shouldKeepAcceptMadeDuringReload() {
+        // Arrange: the reload reads request 5 while it is still pending, then the accept commits
+        when(buddyRequestRepository.findDtosByStatusAfter(BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(2)))
+                .thenReturn(List.of());
+        index.rebuild();
+        when(buddyRequestRepository.findDtosByStatusAfter(BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(2)))
+                .thenAnswer(invocation -> {
+                    index.accepted(5L, 1L, 2L, DATE);
+                    return List.of(accepted(4L, 3L, 4L));
+                });
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertTrue(index.areBuddies(1L, 2L));
+        assertTrue(index.areBuddies(3L, 4L));
+        assertEquals(2.0, meterRegistry.get("buddies.index.edges").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should lose no accept committed while reloads run back to back on another thread")
+    void shouldLoseNoAcceptDuringConcurrentReloads() throws Exception {
+        // Arrange: the "database" holds every accept committed so far, in id order. Every accept is with
+        // user 1, so each one copies a long adjacency array and a reload often swaps while it is applied
+        BuddyGraphIndex concurrentIndex = new BuddyGraphIndex(buddyRequestRepository, meterRegistry, 100_000);
+        List<BuddyRequestDto> committed = new CopyOnWriteArrayList<>();
+        when(buddyRequestRepository.findDtosByStatusAfter(eq(BuddyRequestStatus.ACCEPTED), anyLong(), any()))
+                .thenAnswer(invocation -> new ArrayList<>(committed));
+        concurrentIndex.rebuild();
+        AtomicBoolean accepting = new AtomicBoolean(true);
+        ExecutorService reloader = Executors.newSingleThreadExecutor();
+        Future<?> reloads = reloader.submit(() -> {
+            while (accepting.get()) {
+                concurrentIndex.rebuild();
+            }
+        });
+
+        // Act
+        int accepts = 3_000;
+        List<Long> missing = new ArrayList<>();
+        try {
+            for (long id = 1; id <= accepts; id++) {
+                committed.add(accepted(id, 1L, id + 1));
+                concurrentIndex.accepted(id, 1L, id + 1, DATE);
+                // A later reload would read it back from the database, so check before that can happen
+                if (!concurrentIndex.areBuddies(1L, id + 1)) {
+                    missing.add(id);
+                }
+            }
+        } finally {
+            accepting.set(false);
+            reloads.get(30, TimeUnit.SECONDS);
+            reloader.shutdown();
+        }
+
+        // Assert
+        assertEquals(List.of(), missing);
+        assertEquals(accepts, concurrentIndex.countBuddies(1L));
+    }
+
+    private static BuddyRequestDto accepted(long id, long requesterId, long receiverId) {
+        return new BuddyRequestDto(id, requesterId, receiverId, BuddyRequestStatus.ACCEPTED, DATE);
+    }
+}
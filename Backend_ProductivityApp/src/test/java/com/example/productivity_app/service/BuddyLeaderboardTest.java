@@ -0,0 +1,132 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.BuddyLeaderboardDto;
+import com.example.productivity_app.dto.LeaderboardEntryDto;
+import com.example.productivity_app.exception.ServiceUnavailableException;
+import com.example.productivity_app.repository.CheckpointRepository;
+import com.example.productivity_app.repository.UserDayCount;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BuddyLeaderboard Unit Tests")
+class BuddyLeaderboardTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private CheckpointRepository checkpointRepository;
+
+    private MeterRegistry meterRegistry;
+    private BuddyLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        leaderboard = new BuddyLeaderboard(checkpointRepository, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank the user and their buddies over seven and thirty days with shared ranks for ties")
+    void shouldRankOverBothWindows() {
+        // Arrange
+        when(checkpointRepository.countCompletedByUserAndDaySince(TODAY.minusDays(29))).thenReturn(List.of(
+                new UserDayCount(1L, TODAY, 3L),
+                new UserDayCount(1L, TODAY.minusDays(20), 4L),
+                new UserDayCount(2L, TODAY.minusDays(6), 3L),
+                new UserDayCount(3L, TODAY.minusDays(1), 5L),
+                new UserDayCount(9L, TODAY, 50L)));
+        leaderboard.rebuild(TODAY);
+
+        // Act
+        BuddyLeaderboardDto result = leaderboard.rank(1L, new long[]{2L, 3L, 4L}, TODAY);
+
+        // Assert
+        assertEquals(1L, result.getUserId());
+        assertEquals(List.of(
+                new LeaderboardEntryDto(3L, 5, 1),
+                new LeaderboardEntryDto(1L, 3, 2),
+                new LeaderboardEntryDto(2L, 3, 2),
+                new LeaderboardEntryDto(4L, 0, 4)), result.getLastSevenDays());
+        assertEquals(List.of(
+                new LeaderboardEntryDto(1L, 7, 1),
+                new LeaderboardEntryDto(3L, 5, 2),
+                new LeaderboardEntryDto(2L, 3, 3),
+                new LeaderboardEntryDto(4L, 0, 4)), result.getLastThirtyDays());
+        assertEquals(4.0, meterRegistry.get("buddies.leaderboard.users").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should drop days that fall out of the window as later days are recorded")
+    void shouldExpireDaysOutsideWindow() {
+        // Arrange
+        when(checkpointRepository.countCompletedByUserAndDaySince(TODAY.minusDays(29)))
+                .thenReturn(List.of(new UserDayCount(1L, TODAY.minusDays(29), 2L)));
+        leaderboard.rebuild(TODAY);
+
+        // Act: a completion thirty days after the loaded one pushes it out
+        leaderboard.completionMoved(1L, null, TODAY.plusDays(1));
+
+        // Assert
+        assertEquals(List.of(new LeaderboardEntryDto(1L, 1, 1)),
+                leaderboard.rank(1L, new long[0], TODAY.plusDays(1)).getLastThirtyDays());
+        assertEquals(List.of(new LeaderboardEntryDto(1L, 0, 1)),
+                leaderboard.rank(1L, new long[0], TODAY.plusDays(8)).getLastSevenDays());
+    }
+
+    @Test
+    @DisplayName("Should apply completion changes only once the transaction commits")
+    void shouldApplyCompletionChangesAfterCommit() {
+        // Arrange
+        when(checkpointRepository.countCompletedByUserAndDaySince(TODAY.minusDays(29)))
+                .thenReturn(List.of(new UserDayCount(1L, TODAY.minusDays(2), 2L)));
+        leaderboard.rebuild(TODAY);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        leaderboard.completionMoved(1L, TODAY.minusDays(2), null);
+        leaderboard.completionMoved(2L, null, TODAY);
+        int sevenDaysBeforeCommit = leaderboard.rank(1L, new long[]{2L}, TODAY).getLastSevenDays().get(0)
+                .getCompletedCheckpoints();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(2, sevenDaysBeforeCommit);
+        assertEquals(List.of(
+                new LeaderboardEntryDto(1L, 1, 1),
+                new LeaderboardEntryDto(2L, 1, 1)), leaderboard.rank(1L, new long[]{2L}, TODAY).getLastSevenDays());
+    }
+
+    @Test
+    @DisplayName("Should refuse to rank until the first load finishes")
+    void shouldRefuseToRankBeforeFirstLoad() {
+        // Act & Assert
+        assertFalse(leaderboard.isLoaded());
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> leaderboard.rank(1L, new long[]{2L}, TODAY));
+        assertEquals("Leaderboard is loading, please retry", exception.getMessage());
+        verifyNoInteractions(checkpointRepository);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.BuddyRequestDto;
+import com.example.productivity_app.entity.BuddyRequest;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.exception.BuddyRequestNotFoundException;
+import com.example.productivity_app.exception.ConflictException;
+import com.example.productivity_app.repository.BuddyRequestRepository;
+import com.example.productivity_app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races buddy request sends, accepts and rejects from many threads against a real database and checks
+ * that every pair of users ends up with exactly one request, moved out of PENDING exactly once.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BuddyRequestService Concurrency Tests")
+class BuddyRequestConcurrencyTest {
+
+    private static final int USERS = 8;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BuddyRequestService buddyRequestService;
+
+    @Autowired
+    private BuddyRequestRepository buddyRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            Users user = new Users();
+            user.setEmail("buddy" + i + "@example.com");
+            user.setUsername("buddy" + i);
+            user.setPassword("encodedPassword");
+            userIds.add(userRepository.save(user).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        buddyRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should create one request per pair when both users send twice in parallel")
+    void shouldCreateOneRequestPerPair() throws Exception {
+        // Arrange: four racing sends per pair, two in each direction
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            for (int j = i + 1; j < USERS; j++) {
+                Long first = userIds.get(i);
+                Long second = userIds.get(j);
+                tasks.add(() -> send(first, second));
+                tasks.add(() -> send(second, first));
+                tasks.add(() -> send(first, second));
+                tasks.add(() -> send(second, first));
+            }
+        }
+
+        // Act
+        List<Boolean> results = runConcurrently(tasks);
+
+        // Assert
+        int pairs = USERS * (USERS - 1) / 2;
+        assertEquals(pairs, results.stream().filter(Boolean::booleanValue).count());
+        Map<String, Integer> requestsPerPair = new HashMap<>();
+        for (BuddyRequest request : buddyRequestRepository.findAll()) {
+            long requester = request.getRequester().getId();
+            long receiver = request.getReceiver().getId();
+            requestsPerPair.merge(Math.min(requester, receiver) + "-" + Math.max(requester, receiver), 1,
+                    Integer::sum);
+        }
+        assertEquals(pairs, requestsPerPair.size());
+        assertTrue(requestsPerPair.values().stream().allMatch(count -> count == 1), requestsPerPair.toString());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many parallel accepts and rejects move each request")
+    void shouldTransitionEachRequestOnce() throws Exception {
+        // Arrange: user 0 sends to everyone else; each receiver accepts and rejects four times at once
+        Long senderId = userIds.get(0);
+        Map<Long, Long> receiverByRequest = new HashMap<>();
+        for (Long receiverId : userIds.subList(1, USERS)) {
+            receiverByRequest.put(buddyRequestService.sendRequest(senderId, receiverId).getId(), receiverId);
+        }
+        List<Callable<BuddyRequestStatus>> tasks = new ArrayList<>();
+        for (Map.Entry<Long, Long> request : receiverByRequest.entrySet()) {
+            for (int i = 0; i < 4; i++) {
+                tasks.add(() -> transition(() -> buddyRequestService.acceptRequest(request.getKey(),
+                        request.getValue())));
+                tasks.add(() -> transition(() -> buddyRequestService.rejectRequest(request.getKey(),
+                        request.getValue())));
+            }
+            // The sender cannot answer their own request
+            tasks.add(() -> transition(() -> buddyRequestService.acceptRequest(request.getKey(), senderId)));
+        }
+
+        // Act
+        List<BuddyRequestStatus> results = runConcurrently(tasks);
+
+        // Assert: one winner per request, and the stored status is the winner's
+        List<BuddyRequestStatus> winners = results.stream().filter(status -> status != null).toList();
+        assertEquals(receiverByRequest.size(), winners.size());
+        Map<BuddyRequestStatus, Long> stored = new HashMap<>();
+        for (BuddyRequest request : buddyRequestRepository.findAllById(receiverByRequest.keySet())) {
+            stored.merge(request.getStatus(), 1L, Long::sum);
+        }
+        Map<BuddyRequestStatus, Long> won = new HashMap<>();
+        winners.forEach(status -> won.merge(status, 1L, Long::sum));
+        assertEquals(won, stored);
+        assertFalse(stored.containsKey(BuddyRequestStatus.PENDING));
+    }
+
+    private boolean send(Long senderId, Long receiverId) {
+        try {
+            buddyRequestService.sendRequest(senderId, receiverId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            assertEquals("Buddy request already exists", e.getMessage());
+            return false;
+        }
+    }
+
+    // The status the request was moved to, or null if another transition got there first
+    private static BuddyRequestStatus transition(Supplier<BuddyRequestDto> change) {
+        try {
+            return change.get().getStatus();
+        } catch (ConflictException e) {
+            return null;
+        } catch (BuddyRequestNotFoundException e) {
+            assertEquals("Request not found", e.getMessage());
+            return null;
+        }
+    }
+
+    private static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        return results;
+    }
+}
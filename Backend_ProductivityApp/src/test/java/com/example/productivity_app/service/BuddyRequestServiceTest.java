@@ -1,9 +1,13 @@
 package com.example.productivity_app.service;
 
-import com.example.productivity_app.entity.BuddyRequest;
-import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.dto.BuddyLeaderboardDto;
+import com.example.productivity_app.dto.BuddyRequestDto;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.exception.BuddyRequestNotFoundException;
+import com.example.productivity_app.exception.ConflictException;
+import com.example.productivity_app.exception.UserNotFoundException;
 import com.example.productivity_app.repository.BuddyRequestRepository;
-import com.example.productivity_app.repository.UserRepository;
+import com.example.productivity_app.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +15,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -19,6 +25,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyShort;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,73 +37,38 @@ class BuddyRequestServiceTest {
     private BuddyRequestRepository buddyRequestRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private BuddyGraphIndex buddyGraphIndex;
+
+    @Mock
+    private BuddyLeaderboard buddyLeaderboard;
 
     @InjectMocks
     private BuddyRequestService buddyRequestService;
 
-    private Users sender;
-    private Users receiver;
-    private BuddyRequest pendingRequest;
-    private BuddyRequest acceptedRequest;
-    private BuddyRequest rejectedRequest;
+    private BuddyRequestDto pendingDto;
+    private BuddyRequestDto acceptedDto;
 
     @BeforeEach
     void setUp() {
-        sender = new Users();
-        sender.setId(1L);
-        sender.setEmail("sender@example.com");
-        sender.setUsername("sender");
-
-        receiver = new Users();
-        receiver.setId(2L);
-        receiver.setEmail("receiver@example.com");
-        receiver.setUsername("receiver");
-
-        pendingRequest = new BuddyRequest();
-        pendingRequest.setId(1L);
-        pendingRequest.setRequester(sender);
-        pendingRequest.setReceiver(receiver);
-        pendingRequest.setStatus("PENDING");
-        pendingRequest.setDate(LocalDate.now());
-
-        acceptedRequest = new BuddyRequest();
-        acceptedRequest.setId(1L);
-        acceptedRequest.setRequester(sender);
-        acceptedRequest.setReceiver(receiver);
-        acceptedRequest.setStatus("ACCEPTED");
-        acceptedRequest.setDate(LocalDate.now());
-
-        rejectedRequest = new BuddyRequest();
-        rejectedRequest.setId(1L);
-        rejectedRequest.setRequester(sender);
-        rejectedRequest.setReceiver(receiver);
-        rejectedRequest.setStatus("REJECTED");
-        rejectedRequest.setDate(LocalDate.now());
+        pendingDto = new BuddyRequestDto(1L, 1L, 2L, BuddyRequestStatus.PENDING, LocalDate.now());
+        acceptedDto = new BuddyRequestDto(1L, 1L, 2L, BuddyRequestStatus.ACCEPTED, LocalDate.now());
     }
 
     @Test
-    @DisplayName("Should send buddy request successfully")
+    @DisplayName("Should send buddy request with one insert and no lookups")
     void shouldSendBuddyRequestSuccessfully() {
         // Arrange
-        when(buddyRequestRepository.existsByRequester_IdAndReceiver_Id(1L, 2L)).thenReturn(false);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(receiver));
-        when(buddyRequestRepository.save(any(BuddyRequest.class))).thenReturn(pendingRequest);
+        when(buddyRequestRepository.nextId()).thenReturn(51L);
+        when(buddyRequestRepository.insertIfAbsent(51L, 1L, 2L, 1L, 2L, BuddyRequestStatus.PENDING.getCode(),
+                LocalDate.now())).thenReturn(1);
 
         // Act
-        BuddyRequest result = buddyRequestService.sendRequest(1L, 2L);
+        BuddyRequestDto result = buddyRequestService.sendRequest(1L, 2L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals("PENDING", result.getStatus());
-        assertEquals(sender, result.getRequester());
-        assertEquals(receiver, result.getReceiver());
-        assertEquals(LocalDate.now(), result.getDate());
-        verify(buddyRequestRepository).existsByRequester_IdAndReceiver_Id(1L, 2L);
-        verify(userRepository).findById(1L);
-        verify(userRepository).findById(2L);
-        verify(buddyRequestRepository).save(any(BuddyRequest.class));
+        assertEquals(new BuddyRequestDto(51L, 1L, 2L, BuddyRequestStatus.PENDING, LocalDate.now()), result);
+        verify(buddyRequestRepository, never()).existsBetweenUsersWithStatus(any(), any(), any());
+        verify(buddyGraphIndex, never()).areBuddies(anyLong(), anyLong());
     }
 
     @Test
@@ -105,244 +78,320 @@ class BuddyRequestServiceTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
             () -> buddyRequestService.sendRequest(1L, 1L));
         assertEquals("Cannot send request to yourself", exception.getMessage());
-        verify(buddyRequestRepository, never()).existsByRequester_IdAndReceiver_Id(any(), any());
-        verify(userRepository, never()).findById(any());
-        verify(buddyRequestRepository, never()).save(any());
+        verify(buddyRequestRepository, never()).nextId();
+        verify(buddyRequestRepository, never())
+                .insertIfAbsent(anyLong(), any(), any(), anyLong(), anyLong(), anyShort(), any());
     }
 
     @Test
-    @DisplayName("Should throw exception when buddy request already exists")
+    @DisplayName("Should throw exception when the pair already has a request")
     void shouldThrowExceptionWhenBuddyRequestAlreadyExists() {
         // Arrange
-        when(buddyRequestRepository.existsByRequester_IdAndReceiver_Id(1L, 2L)).thenReturn(true);
+        when(buddyRequestRepository.nextId()).thenReturn(51L);
+        when(buddyRequestRepository.insertIfAbsent(anyLong(), any(), any(), anyLong(), anyLong(), anyShort(), any()))
+                .thenReturn(0);
+        when(buddyRequestRepository.existsBetweenUsersWithStatus(2L, 1L, BuddyRequestStatus.ACCEPTED))
+                .thenReturn(false);
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
-            () -> buddyRequestService.sendRequest(1L, 2L));
+            () -> buddyRequestService.sendRequest(2L, 1L));
         assertEquals("Buddy request already exists", exception.getMessage());
-        verify(buddyRequestRepository).existsByRequester_IdAndReceiver_Id(1L, 2L);
-        verify(userRepository, never()).findById(any());
-        verify(buddyRequestRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("Should throw exception when requester not found")
-    void shouldThrowExceptionWhenRequesterNotFound() {
+    @DisplayName("Should throw exception when requester or receiver does not exist")
+    void shouldThrowExceptionWhenUserNotFound() {
         // Arrange
-        when(buddyRequestRepository.existsByRequester_IdAndReceiver_Id(1L, 2L)).thenReturn(false);
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(buddyRequestRepository.nextId()).thenReturn(51L);
+        when(buddyRequestRepository.insertIfAbsent(anyLong(), any(), any(), anyLong(), anyLong(), anyShort(), any()))
+                .thenThrow(new DataIntegrityViolationException("fk_buddy_request_receiver"));
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, 
-            () -> buddyRequestService.sendRequest(1L, 2L));
-        assertEquals("Requester not found", exception.getMessage());
-        verify(buddyRequestRepository).existsByRequester_IdAndReceiver_Id(1L, 2L);
-        verify(userRepository).findById(1L);
-        verify(userRepository, never()).findById(2L);
-        verify(buddyRequestRepository, never()).save(any());
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
+            () -> buddyRequestService.sendRequest(1L, 99L));
+        assertEquals("Requester or receiver not found", exception.getMessage());
     }
 
     @Test
-    @DisplayName("Should throw exception when receiver not found")
-    void shouldThrowExceptionWhenReceiverNotFound() {
-        // Arrange
-        when(buddyRequestRepository.existsByRequester_IdAndReceiver_Id(1L, 2L)).thenReturn(false);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(sender));
-        when(userRepository.findById(2L)).thenReturn(Optional.empty());
-
-        // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, 
-            () -> buddyRequestService.sendRequest(1L, 2L));
-        assertEquals("Receiver not found", exception.getMessage());
-        verify(buddyRequestRepository).existsByRequester_IdAndReceiver_Id(1L, 2L);
-        verify(userRepository).findById(1L);
-        verify(userRepository).findById(2L);
-        verify(buddyRequestRepository, never()).save(any());
-    }
-
-    @Test
-    @DisplayName("Should accept buddy request successfully")
+    @DisplayName("Should accept buddy request with one conditional update")
     void shouldAcceptBuddyRequestSuccessfully() {
         // Arrange
-        when(buddyRequestRepository.findById(1L)).thenReturn(Optional.of(pendingRequest));
-        when(buddyRequestRepository.save(any(BuddyRequest.class))).thenReturn(acceptedRequest);
+        when(buddyRequestRepository.transition(1L, 2L, BuddyRequestStatus.PENDING, BuddyRequestStatus.ACCEPTED))
+                .thenReturn(1);
+        when(buddyRequestRepository.findDtoById(1L)).thenReturn(Optional.of(acceptedDto));
 
         // Act
-        BuddyRequest result = buddyRequestService.acceptRequest(1L, 2L);
+        BuddyRequestDto result = buddyRequestService.acceptRequest(1L, 2L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals("ACCEPTED", result.getStatus());
-        verify(buddyRequestRepository).findById(1L);
-        verify(buddyRequestRepository).save(pendingRequest);
+        assertEquals(acceptedDto, result);
+        verify(buddyGraphIndex).accepted(1L, 1L, 2L, acceptedDto.getDate());
+        verify(buddyRequestRepository, never()).findById(any());
+        verify(buddyRequestRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("Should throw exception when accepting request that doesn't belong to you")
+    @DisplayName("Should report not found when accepting request that doesn't belong to you")
     void shouldThrowExceptionWhenAcceptingRequestThatDoesntBelongToYou() {
         // Arrange
-        when(buddyRequestRepository.findById(1L)).thenReturn(Optional.of(pendingRequest));
+        when(buddyRequestRepository.transition(1L, 999L, BuddyRequestStatus.PENDING, BuddyRequestStatus.ACCEPTED))
+                .thenReturn(0);
+        when(buddyRequestRepository.findDtoById(1L)).thenReturn(Optional.of(pendingDto));
 
         // Act & Assert
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
+        BuddyRequestNotFoundException exception = assertThrows(BuddyRequestNotFoundException.class,
             () -> buddyRequestService.acceptRequest(1L, 999L));
-        assertEquals("You can only accept requests sent to you", exception.getMessage());
-        verify(buddyRequestRepository).findById(1L);
-        verify(buddyRequestRepository, never()).save(any());
+        assertEquals("Request not found", exception.getMessage());
+        verify(buddyGraphIndex, never()).accepted(any(), any(), any(), any());
     }
 
     @Test
-    @DisplayName("Should throw exception when accepting non-pending request")
+    @DisplayName("Should report not found when accepting a missing request")
+    void shouldThrowExceptionWhenAcceptingMissingRequest() {
+        // Arrange
+        when(buddyRequestRepository.transition(7L, 2L, BuddyRequestStatus.PENDING, BuddyRequestStatus.ACCEPTED))
+                .thenReturn(0);
+        when(buddyRequestRepository.findDtoById(7L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(BuddyRequestNotFoundException.class, () -> buddyRequestService.acceptRequest(7L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should report a conflict when accepting non-pending request")
     void shouldThrowExceptionWhenAcceptingNonPendingRequest() {
         // Arrange
-        when(buddyRequestRepository.findById(1L)).thenReturn(Optional.of(acceptedRequest));
+        when(buddyRequestRepository.transition(1L, 2L, BuddyRequestStatus.PENDING, BuddyRequestStatus.ACCEPTED))
+                .thenReturn(0);
+        when(buddyRequestRepository.findDtoById(1L)).thenReturn(Optional.of(acceptedDto));
 
         // Act & Assert
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
+        ConflictException exception = assertThrows(ConflictException.class,
             () -> buddyRequestService.acceptRequest(1L, 2L));
         assertEquals("Request is not pending", exception.getMessage());
-        verify(buddyRequestRepository).findById(1L);
-        verify(buddyRequestRepository, never()).save(any());
+        verify(buddyGraphIndex, never()).accepted(any(), any(), any(), any());
     }
 
     @Test
-    @DisplayName("Should reject buddy request successfully")
+    @DisplayName("Should reject buddy request with one conditional update")
     void shouldRejectBuddyRequestSuccessfully() {
         // Arrange
-        when(buddyRequestRepository.findById(1L)).thenReturn(Optional.of(pendingRequest));
-        when(buddyRequestRepository.save(any(BuddyRequest.class))).thenReturn(rejectedRequest);
+        BuddyRequestDto rejectedDto = new BuddyRequestDto(1L, 1L, 2L, BuddyRequestStatus.REJECTED, LocalDate.now());
+        when(buddyRequestRepository.transition(1L, 2L, BuddyRequestStatus.PENDING, BuddyRequestStatus.REJECTED))
+                .thenReturn(1);
+        when(buddyRequestRepository.findDtoById(1L)).thenReturn(Optional.of(rejectedDto));
 
         // Act
-        BuddyRequest result = buddyRequestService.rejectRequest(1L, 2L);
+        BuddyRequestDto result = buddyRequestService.rejectRequest(1L, 2L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals("REJECTED", result.getStatus());
-        verify(buddyRequestRepository).findById(1L);
-        verify(buddyRequestRepository).save(pendingRequest);
+        assertEquals(rejectedDto, result);
+        verify(buddyGraphIndex, never()).accepted(any(), any(), any(), any());
     }
 
     @Test
-    @DisplayName("Should throw exception when rejecting request that doesn't belong to you")
+    @DisplayName("Should report not found when rejecting request that doesn't belong to you")
     void shouldThrowExceptionWhenRejectingRequestThatDoesntBelongToYou() {
         // Arrange
-        when(buddyRequestRepository.findById(1L)).thenReturn(Optional.of(pendingRequest));
+        when(buddyRequestRepository.transition(1L, 999L, BuddyRequestStatus.PENDING, BuddyRequestStatus.REJECTED))
+                .thenReturn(0);
+        when(buddyRequestRepository.findDtoById(1L)).thenReturn(Optional.of(pendingDto));
 
         // Act & Assert
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
-            () -> buddyRequestService.rejectRequest(1L, 999L));
-        assertEquals("You can only reject requests sent to you", exception.getMessage());
-        verify(buddyRequestRepository).findById(1L);
-        verify(buddyRequestRepository, never()).save(any());
+        assertThrows(BuddyRequestNotFoundException.class, () -> buddyRequestService.rejectRequest(1L, 999L));
     }
 
     @Test
-    @DisplayName("Should throw exception when rejecting non-pending request")
+    @DisplayName("Should report a conflict when rejecting non-pending request")
     void shouldThrowExceptionWhenRejectingNonPendingRequest() {
         // Arrange
-        when(buddyRequestRepository.findById(1L)).thenReturn(Optional.of(rejectedRequest));
+        when(buddyRequestRepository.transition(1L, 2L, BuddyRequestStatus.PENDING, BuddyRequestStatus.REJECTED))
+                .thenReturn(0);
+        when(buddyRequestRepository.findDtoById(1L)).thenReturn(Optional.of(acceptedDto));
 
         // Act & Assert
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, 
+        ConflictException exception = assertThrows(ConflictException.class,
             () -> buddyRequestService.rejectRequest(1L, 2L));
         assertEquals("Request is not pending", exception.getMessage());
-        verify(buddyRequestRepository).findById(1L);
-        verify(buddyRequestRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("Should get pending requests for user successfully")
     void shouldGetPendingRequestsForUserSuccessfully() {
         // Arrange
-        List<BuddyRequest> expectedRequests = Arrays.asList(pendingRequest);
-        when(buddyRequestRepository.findByReceiver_IdAndStatus(2L, "PENDING")).thenReturn(expectedRequests);
+        List<BuddyRequestDto> expectedRequests = Arrays.asList(pendingDto);
+        when(buddyRequestRepository.findDtosByReceiverIdAndStatus(2L, BuddyRequestStatus.PENDING, Long.MIN_VALUE, Limit.of(11))).thenReturn(expectedRequests);
 
         // Act
-        List<BuddyRequest> result = buddyRequestService.getPendingRequestsForUser(2L);
+        List<BuddyRequestDto> result = buddyRequestService.getPendingRequestsForUser(2L, null, 10).items();
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(pendingRequest, result.get(0));
-        verify(buddyRequestRepository).findByReceiver_IdAndStatus(2L, "PENDING");
+        assertEquals(pendingDto, result.get(0));
+        verify(buddyRequestRepository).findDtosByReceiverIdAndStatus(2L, BuddyRequestStatus.PENDING, Long.MIN_VALUE, Limit.of(11));
     }
 
     @Test
     @DisplayName("Should get sent requests for user successfully")
     void shouldGetSentRequestsForUserSuccessfully() {
         // Arrange
-        List<BuddyRequest> expectedRequests = Arrays.asList(pendingRequest);
-        when(buddyRequestRepository.findByRequester_Id(1L)).thenReturn(expectedRequests);
+        List<BuddyRequestDto> expectedRequests = Arrays.asList(pendingDto);
+        when(buddyRequestRepository.findDtosByRequesterId(1L, Long.MIN_VALUE, Limit.of(11))).thenReturn(expectedRequests);
 
         // Act
-        List<BuddyRequest> result = buddyRequestService.getSentRequestsForUser(1L);
+        List<BuddyRequestDto> result = buddyRequestService.getSentRequestsForUser(1L, null, 10).items();
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(pendingRequest, result.get(0));
-        verify(buddyRequestRepository).findByRequester_Id(1L);
+        assertEquals(pendingDto, result.get(0));
+        verify(buddyRequestRepository).findDtosByRequesterId(1L, Long.MIN_VALUE, Limit.of(11));
     }
 
     @Test
     @DisplayName("Should get accepted buddies for user successfully")
     void shouldGetAcceptedBuddiesForUserSuccessfully() {
         // Arrange
-        List<BuddyRequest> expectedRequests = Arrays.asList(acceptedRequest);
-        when(buddyRequestRepository.findByUserIdAndStatus(1L, "ACCEPTED")).thenReturn(expectedRequests);
+        List<BuddyRequestDto> expectedRequests = Arrays.asList(acceptedDto);
+        when(buddyRequestRepository.findDtosByUserIdAndStatus(1L, BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(11))).thenReturn(expectedRequests);
 
         // Act
-        List<BuddyRequest> result = buddyRequestService.getAcceptedBuddiesForUser(1L);
+        List<BuddyRequestDto> result = buddyRequestService.getAcceptedBuddiesForUser(1L, null, 10).items();
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(acceptedRequest, result.get(0));
-        verify(buddyRequestRepository).findByUserIdAndStatus(1L, "ACCEPTED");
+        assertEquals(acceptedDto, result.get(0));
+        verify(buddyRequestRepository).findDtosByUserIdAndStatus(1L, BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(11));
+    }
+
+    @Test
+    @DisplayName("Should serve accepted buddies from the index once it has loaded")
+    void shouldServeAcceptedBuddiesFromIndex() {
+        // Arrange
+        when(buddyGraphIndex.isLoaded()).thenReturn(true);
+        when(buddyGraphIndex.findAccepted(1L, Long.MIN_VALUE, 11)).thenReturn(List.of(acceptedDto));
+
+        // Act
+        List<BuddyRequestDto> result = buddyRequestService.getAcceptedBuddiesForUser(1L, null, 10).items();
+
+        // Assert
+        assertEquals(List.of(acceptedDto), result);
+        verify(buddyRequestRepository, never()).findDtosByUserIdAndStatus(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when the users are already buddies")
+    void shouldThrowExceptionWhenAlreadyBuddies() {
+        // Arrange
+        when(buddyRequestRepository.nextId()).thenReturn(51L);
+        when(buddyRequestRepository.insertIfAbsent(anyLong(), any(), any(), anyLong(), anyLong(), anyShort(), any()))
+                .thenReturn(0);
+        when(buddyGraphIndex.isLoaded()).thenReturn(true);
+        when(buddyGraphIndex.areBuddies(2L, 1L)).thenReturn(true);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> buddyRequestService.sendRequest(2L, 1L));
+        assertEquals("Already buddies", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should rank the leaderboard over the buddies held in the index")
+    void shouldRankLeaderboardFromIndex() {
+        // Arrange
+        BuddyLeaderboardDto leaderboard = new BuddyLeaderboardDto(1L, List.of(), List.of());
+        when(buddyGraphIndex.isLoaded()).thenReturn(true);
+        when(buddyGraphIndex.buddyIds(1L)).thenReturn(new long[]{2L, 3L});
+        when(buddyLeaderboard.rank(1L, new long[]{2L, 3L}, LocalDate.now())).thenReturn(leaderboard);
+
+        // Act
+        BuddyLeaderboardDto result = buddyRequestService.getLeaderboard(1L);
+
+        // Assert
+        assertSame(leaderboard, result);
+        verify(buddyRequestRepository, never()).findDtosByUserIdAndStatus(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should read the buddies with one query while the index is loading")
+    void shouldRankLeaderboardFromDatabaseUntilIndexLoads() {
+        // Arrange
+        BuddyLeaderboardDto leaderboard = new BuddyLeaderboardDto(1L, List.of(), List.of());
+        when(buddyGraphIndex.isLoaded()).thenReturn(false);
+        when(buddyRequestRepository.findDtosByUserIdAndStatus(1L, BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE,
+                Limit.unlimited())).thenReturn(List.of(acceptedDto,
+                new BuddyRequestDto(5L, 3L, 1L, BuddyRequestStatus.ACCEPTED, LocalDate.now())));
+        when(buddyLeaderboard.rank(1L, new long[]{2L, 3L}, LocalDate.now())).thenReturn(leaderboard);
+
+        // Act
+        BuddyLeaderboardDto result = buddyRequestService.getLeaderboard(1L);
+
+        // Assert
+        assertSame(leaderboard, result);
     }
 
     @Test
     @DisplayName("Should return empty list when no pending requests exist")
     void shouldReturnEmptyListWhenNoPendingRequestsExist() {
         // Arrange
-        when(buddyRequestRepository.findByReceiver_IdAndStatus(2L, "PENDING")).thenReturn(Arrays.asList());
+        when(buddyRequestRepository.findDtosByReceiverIdAndStatus(2L, BuddyRequestStatus.PENDING, Long.MIN_VALUE, Limit.of(11))).thenReturn(Arrays.asList());
 
         // Act
-        List<BuddyRequest> result = buddyRequestService.getPendingRequestsForUser(2L);
+        List<BuddyRequestDto> result = buddyRequestService.getPendingRequestsForUser(2L, null, 10).items();
 
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(buddyRequestRepository).findByReceiver_IdAndStatus(2L, "PENDING");
+        verify(buddyRequestRepository).findDtosByReceiverIdAndStatus(2L, BuddyRequestStatus.PENDING, Long.MIN_VALUE, Limit.of(11));
     }
 
     @Test
     @DisplayName("Should return empty list when no sent requests exist")
     void shouldReturnEmptyListWhenNoSentRequestsExist() {
         // Arrange
-        when(buddyRequestRepository.findByRequester_Id(1L)).thenReturn(Arrays.asList());
+        when(buddyRequestRepository.findDtosByRequesterId(1L, Long.MIN_VALUE, Limit.of(11))).thenReturn(Arrays.asList());
 
         // Act
-        List<BuddyRequest> result = buddyRequestService.getSentRequestsForUser(1L);
+        List<BuddyRequestDto> result = buddyRequestService.getSentRequestsForUser(1L, null, 10).items();
 
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(buddyRequestRepository).findByRequester_Id(1L);
+        verify(buddyRequestRepository).findDtosByRequesterId(1L, Long.MIN_VALUE, Limit.of(11));
     }
 
     @Test
     @DisplayName("Should return empty list when no accepted buddies exist")
     void shouldReturnEmptyListWhenNoAcceptedBuddiesExist() {
         // Arrange
-        when(buddyRequestRepository.findByUserIdAndStatus(1L, "ACCEPTED")).thenReturn(Arrays.asList());
+        when(buddyRequestRepository.findDtosByUserIdAndStatus(1L, BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(11))).thenReturn(Arrays.asList());
 
         // Act
-        List<BuddyRequest> result = buddyRequestService.getAcceptedBuddiesForUser(1L);
+        List<BuddyRequestDto> result = buddyRequestService.getAcceptedBuddiesForUser(1L, null, 10).items();
 
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(buddyRequestRepository).findByUserIdAndStatus(1L, "ACCEPTED");
+        verify(buddyRequestRepository).findDtosByUserIdAndStatus(1L, BuddyRequestStatus.ACCEPTED, Long.MIN_VALUE, Limit.of(11));
+    }
+
+    @Test
+    @DisplayName("Should page sent requests by id and stop when no rows remain")
+    void shouldPageSentRequestsById() {
+        // Arrange
+        BuddyRequestDto next = new BuddyRequestDto(8L, 1L, 3L, BuddyRequestStatus.PENDING, LocalDate.now());
+        when(buddyRequestRepository.findDtosByRequesterId(1L, 5L, Limit.of(3)))
+                .thenReturn(Arrays.asList(pendingDto, next));
+
+        // Act
+        CursorPage<BuddyRequestDto> result =
+                buddyRequestService.getSentRequestsForUser(1L, new KeysetCursor(null, 5L).encode(), 2);
+
+        // Assert
+        assertEquals(List.of(pendingDto, next), result.items());
+        assertNull(result.nextCursor());
     }
 }
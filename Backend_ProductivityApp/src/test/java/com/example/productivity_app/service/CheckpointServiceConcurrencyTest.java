@@ -0,0 +1,198 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.repository.CheckpointRepository;
+import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers one goal from many threads against a real database and checks that the goal's
+ * counters and progress come out exact.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("CheckpointService Concurrency Tests")
+class CheckpointServiceConcurrencyTest {
+
+    private static final int CHECKPOINTS = 40;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private CheckpointService checkpointService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private CheckpointRepository checkpointRepository;
+
+    private Long goalId;
+    private List<Long> checkpointIds;
+
+    @BeforeEach
+    void setUp() {
+        Users user = new Users();
+        user.setEmail("concurrency@example.com");
+        user.setUsername("concurrency");
+        user.setPassword("encodedPassword");
+        user = userRepository.save(user);
+
+        Goal goal = new Goal();
+        goal.setTitle("Shared Team Goal");
+        goalId = goalService.createGoal(user.getId(), goal).getId();
+
+        checkpointIds = new ArrayList<>();
+        for (int i = 0; i < CHECKPOINTS; i++) {
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setTitle("Checkpoint " + i);
+            checkpointIds.add(checkpointService.addCheckpointToGoal(goalId, checkpoint).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkpointRepository.deleteAll();
+        goalRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should count every checkpoint exactly once when completed in parallel, twice each")
+    void shouldCountParallelCompletionsExactly() throws Exception {
+        // Arrange: every checkpoint is completed by two racing requests, while the goal is edited
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (Long checkpointId : checkpointIds) {
+            tasks.add(() -> checkpointService.completeCheckpoint(checkpointId));
+            tasks.add(() -> checkpointService.completeCheckpoint(checkpointId));
+        }
+        for (int i = 0; i < 10; i++) {
+            String title = "Renamed " + i;
+            tasks.add(() -> {
+                Goal details = new Goal();
+                details.setTitle(title);
+                details.setStatus(null);
+                details.setProgress(null);
+                return goalService.updateGoal(goalId, details);
+            });
+        }
+
+        // Act
+        runConcurrently(tasks);
+
+        // Assert
+        Goal goal = goalRepository.findById(goalId).orElseThrow();
+        assertEquals(CHECKPOINTS, goal.getTotalCheckpoints());
+        assertEquals(CHECKPOINTS, goal.getCompletedCheckpoints());
+        assertEquals(100, goal.getProgress());
+    }
+
+    @Test
+    @DisplayName("Should keep counters exact when completions, reopenings and deletes interleave")
+    void shouldKeepCountersExactUnderMixedOperations() throws Exception {
+        // Arrange: first half completed then reopened, second half completed, every fourth deleted
+        List<Callable<Object>> tasks = new ArrayList<>();
+        int expectedTotal = 0;
+        int expectedCompleted = 0;
+        for (int i = 0; i < CHECKPOINTS; i++) {
+            Long checkpointId = checkpointIds.get(i);
+            if (i % 4 == 3) {
+                tasks.add(() -> {
+                    checkpointService.deleteCheckpoint(checkpointId);
+                    return null;
+                });
+                continue;
+            }
+            expectedTotal++;
+            tasks.add(() -> checkpointService.completeCheckpoint(checkpointId));
+            if (i < CHECKPOINTS / 2) {
+                tasks.add(() -> {
+                    Checkpoint reopen = new Checkpoint();
+                    reopen.setStatus(CheckpointStatus.IN_PROGRESS);
+                    return checkpointService.updateCheckpoint(checkpointId, reopen);
+                });
+            }
+        }
+
+        // Act
+        runConcurrently(tasks);
+
+        // Assert: whichever of complete/reopen won, the counters must match the rows
+        for (Checkpoint checkpoint : checkpointRepository.findByGoal_Id(goalId)) {
+            if (checkpoint.getStatus() == CheckpointStatus.COMPLETED) {
+                expectedCompleted++;
+            }
+        }
+        Goal goal = goalRepository.findById(goalId).orElseThrow();
+        assertEquals(expectedTotal, goal.getTotalCheckpoints());
+        assertEquals(expectedCompleted, goal.getCompletedCheckpoints());
+        assertEquals(expectedCompleted * 100 / expectedTotal, goal.getProgress());
+    }
+
+    @Test
+    @DisplayName("Should keep counters exact when overlapping batch completions run in parallel")
+    void shouldKeepCountersExactForOverlappingBatches() throws Exception {
+        // Arrange: each batch covers a window of the checkpoints, in opposite orders, with overlaps
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int start = 0; start < CHECKPOINTS; start += 5) {
+            List<Long> window = new ArrayList<>(checkpointIds.subList(start, Math.min(CHECKPOINTS, start + 10)));
+            if (start % 10 == 0) {
+                Collections.reverse(window);
+            }
+            tasks.add(() -> checkpointService.completeCheckpoints(window));
+        }
+
+        // Act
+        runConcurrently(tasks);
+
+        // Assert
+        Goal goal = goalRepository.findById(goalId).orElseThrow();
+        assertEquals(CHECKPOINTS, goal.getCompletedCheckpoints());
+        assertEquals(100, goal.getProgress());
+    }
+
+    private static void runConcurrently(List<Callable<Object>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (Callable<Object> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Object> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
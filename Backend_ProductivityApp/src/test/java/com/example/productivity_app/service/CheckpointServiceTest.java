@@ -1,17 +1,23 @@
 package com.example.productivity_app.service;
 
+import com.example.productivity_app.dto.CheckpointDto;
 import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
 import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.GoalStatus;
 import com.example.productivity_app.entity.Users;
 import com.example.productivity_app.repository.CheckpointRepository;
 import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -21,6 +27,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +41,12 @@ class CheckpointServiceTest {
     @Mock
     private GoalRepository goalRepository;
 
+    @Mock
+    private GoalReadCache goalReadCache;
+
+    @Mock
+    private BuddyLeaderboard buddyLeaderboard;
+
     @InjectMocks
     private CheckpointService checkpointService;
 
@@ -54,7 +68,7 @@ class CheckpointServiceTest {
         testGoal.setDescription("Test Description");
         testGoal.setStartDate(LocalDate.now());
         testGoal.setEndDate(LocalDate.now().plusDays(30));
-        testGoal.setStatus("ACTIVE");
+        testGoal.setStatus(GoalStatus.ACTIVE);
         testGoal.setProgress(0);
         testGoal.setUser(testUser);
         testGoal.setCheckpoints(new ArrayList<>());
@@ -64,23 +78,24 @@ class CheckpointServiceTest {
         testCheckpoint.setTitle("Test Checkpoint");
         testCheckpoint.setDescription("Test Checkpoint Description");
         testCheckpoint.setDueDate(LocalDate.now().plusDays(7));
-        testCheckpoint.setStatus("PENDING");
+        testCheckpoint.setStatus(CheckpointStatus.PENDING);
         testCheckpoint.setGoal(testGoal);
 
         updateCheckpointData = new Checkpoint();
         updateCheckpointData.setTitle("Updated Checkpoint");
         updateCheckpointData.setDescription("Updated Description");
         updateCheckpointData.setDueDate(LocalDate.now().plusDays(14));
-        updateCheckpointData.setStatus("IN_PROGRESS");
+        updateCheckpointData.setStatus(CheckpointStatus.IN_PROGRESS);
     }
 
     @Test
     @DisplayName("Should add checkpoint to goal successfully")
     void shouldAddCheckpointToGoalSuccessfully() {
         // Arrange
-        when(goalRepository.findById(1L)).thenReturn(Optional.of(testGoal));
+        when(goalRepository.applyCheckpointDelta(1L, 1, 0)).thenReturn(1);
+        when(goalRepository.getReferenceById(1L)).thenReturn(testGoal);
         when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
-        when(goalRepository.save(any(Goal.class))).thenReturn(testGoal);
+        when(goalRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
 
         // Act
         Checkpoint result = checkpointService.addCheckpointToGoal(1L, testCheckpoint);
@@ -88,66 +103,100 @@ class CheckpointServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(testGoal, result.getGoal());
-        assertTrue(testGoal.getCheckpoints().contains(result));
-        verify(goalRepository).findById(1L);
+        verify(goalRepository).applyCheckpointDelta(1L, 1, 0);
         verify(checkpointRepository).save(testCheckpoint);
-        verify(goalRepository).save(testGoal);
+        verify(goalRepository, never()).findById(any());
+        verify(goalRepository, never()).save(any());
+        verify(goalReadCache).evictGoal(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should insert a new checkpoint even when the request carries an existing id")
+    void shouldIgnoreClientIdWhenAddingCheckpoint() {
+        // Arrange
+        Checkpoint posted = new Checkpoint();
+        posted.setId(42L);
+        posted.setTitle("New Checkpoint");
+        when(goalRepository.applyCheckpointDelta(1L, 1, 0)).thenReturn(1);
+        when(goalRepository.getReferenceById(1L)).thenReturn(testGoal);
+        when(checkpointRepository.save(any(Checkpoint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        checkpointService.addCheckpointToGoal(1L, posted);
+
+        // Assert
+        verify(checkpointRepository).save(argThat(checkpoint -> checkpoint.getId() == 0));
     }
 
     @Test
     @DisplayName("Should throw exception when adding checkpoint to non-existent goal")
     void shouldThrowExceptionWhenAddingCheckpointToNonExistentGoal() {
         // Arrange
-        when(goalRepository.findById(999L)).thenReturn(Optional.empty());
+        when(goalRepository.applyCheckpointDelta(999L, 1, 0)).thenReturn(0);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> checkpointService.addCheckpointToGoal(999L, testCheckpoint));
         assertEquals("Goal not found", exception.getMessage());
-        verify(goalRepository).findById(999L);
+        verify(goalRepository).applyCheckpointDelta(999L, 1, 0);
         verify(checkpointRepository, never()).save(any());
-        verify(goalRepository, never()).save(any());
+        verifyNoInteractions(goalReadCache);
     }
 
     @Test
     @DisplayName("Should get checkpoints for goal successfully")
     void shouldGetCheckpointsForGoalSuccessfully() {
         // Arrange
-        List<Checkpoint> expectedCheckpoints = Arrays.asList(testCheckpoint);
-        when(checkpointRepository.findByGoal_Id(1L)).thenReturn(expectedCheckpoints);
+        CheckpointDto dto = new CheckpointDto(1L, "Test Checkpoint", null, null, CheckpointStatus.PENDING, null);
+        when(checkpointRepository.findDatedDtosByGoalId(1L, Limit.of(11))).thenReturn(Arrays.asList(dto));
 
         // Act
-        List<Checkpoint> result = checkpointService.getCheckpointsForGoal(1L);
+        CursorPage<CheckpointDto> result = checkpointService.getCheckpointsForGoal(1L, null, 10);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testCheckpoint, result.get(0));
-        verify(checkpointRepository).findByGoal_Id(1L);
+        assertEquals(List.of(dto), result.items());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should page checkpoints by due date and id through the cursor")
+    void shouldPageCheckpointsThroughCursor() {
+        // Arrange
+        LocalDate dueDate = LocalDate.of(2026, 3, 1);
+        CheckpointDto first = new CheckpointDto(4L, "First", null, dueDate, CheckpointStatus.PENDING, null);
+        CheckpointDto second = new CheckpointDto(9L, "Second", null, null, CheckpointStatus.PENDING, null);
+        when(checkpointRepository.findDatedDtosByGoalIdAfter(1L, dueDate, 2L, Limit.of(2)))
+                .thenReturn(Arrays.asList(first, second));
+
+        // Act
+        CursorPage<CheckpointDto> result =
+                checkpointService.getCheckpointsForGoal(1L, new KeysetCursor(dueDate, 2L).encode(), 1);
+
+        // Assert
+        assertEquals(List.of(first), result.items());
+        assertEquals(new KeysetCursor(dueDate, 4L), KeysetCursor.decode(result.nextCursor()));
     }
 
     @Test
     @DisplayName("Should return empty list when goal has no checkpoints")
     void shouldReturnEmptyListWhenGoalHasNoCheckpoints() {
         // Arrange
-        when(checkpointRepository.findByGoal_Id(1L)).thenReturn(new ArrayList<>());
+        when(checkpointRepository.findDatedDtosByGoalId(1L, Limit.of(11))).thenReturn(new ArrayList<>());
 
         // Act
-        List<Checkpoint> result = checkpointService.getCheckpointsForGoal(1L);
+        CursorPage<CheckpointDto> result = checkpointService.getCheckpointsForGoal(1L, null, 10);
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(checkpointRepository).findByGoal_Id(1L);
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
     }
 
     @Test
     @DisplayName("Should update checkpoint successfully with partial data")
     void shouldUpdateCheckpointSuccessfullyWithPartialData() {
         // Arrange
-        when(checkpointRepository.findById(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
         when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
-        when(goalRepository.save(any(Goal.class))).thenReturn(testGoal);
 
         // Act
         Checkpoint result = checkpointService.updateCheckpoint(1L, updateCheckpointData);
@@ -157,10 +206,11 @@ class CheckpointServiceTest {
         assertEquals("Updated Checkpoint", testCheckpoint.getTitle());
         assertEquals("Updated Description", testCheckpoint.getDescription());
         assertEquals(LocalDate.now().plusDays(14), testCheckpoint.getDueDate());
-        assertEquals("IN_PROGRESS", testCheckpoint.getStatus());
-        verify(checkpointRepository).findById(1L);
+        assertEquals(CheckpointStatus.IN_PROGRESS, testCheckpoint.getStatus());
+        verify(checkpointRepository).findByIdForUpdate(1L);
         verify(checkpointRepository).save(testCheckpoint);
-        verify(goalRepository).save(testGoal);
+        // Not a completion change, so the goal row is left alone
+        verify(goalRepository, never()).applyCheckpointDelta(anyLong(), anyInt(), anyInt());
     }
 
     @Test
@@ -173,9 +223,8 @@ class CheckpointServiceTest {
         nullUpdateData.setDueDate(null);
         nullUpdateData.setStatus(null);
 
-        when(checkpointRepository.findById(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
         when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
-        when(goalRepository.save(any(Goal.class))).thenReturn(testGoal);
 
         // Act
         Checkpoint result = checkpointService.updateCheckpoint(1L, nullUpdateData);
@@ -184,131 +233,350 @@ class CheckpointServiceTest {
         assertNotNull(result);
         assertEquals("Test Checkpoint", testCheckpoint.getTitle()); // Original value unchanged
         assertEquals("Test Checkpoint Description", testCheckpoint.getDescription()); // Original value unchanged
-        verify(checkpointRepository).findById(1L);
+        verify(checkpointRepository).findByIdForUpdate(1L);
         verify(checkpointRepository).save(testCheckpoint);
-        verify(goalRepository).save(testGoal);
+        verify(goalRepository, never()).applyCheckpointDelta(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("Should throw exception when updating non-existent checkpoint")
     void shouldThrowExceptionWhenUpdatingNonExistentCheckpoint() {
         // Arrange
-        when(checkpointRepository.findById(999L)).thenReturn(Optional.empty());
+        when(checkpointRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> checkpointService.updateCheckpoint(999L, updateCheckpointData));
         assertEquals("Checkpoint not found", exception.getMessage());
-        verify(checkpointRepository).findById(999L);
+        verify(checkpointRepository).findByIdForUpdate(999L);
         verify(checkpointRepository, never()).save(any());
-        verify(goalRepository, never()).save(any());
+        verify(goalRepository, never()).applyCheckpointDelta(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("Should complete checkpoint successfully")
     void shouldCompleteCheckpointSuccessfully() {
         // Arrange
-        when(checkpointRepository.findById(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
         when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
-        when(goalRepository.save(any(Goal.class))).thenReturn(testGoal);
 
         // Act
         Checkpoint result = checkpointService.completeCheckpoint(1L);
 
         // Assert
         assertNotNull(result);
-        assertEquals("COMPLETED", testCheckpoint.getStatus());
+        assertEquals(CheckpointStatus.COMPLETED, testCheckpoint.getStatus());
         assertEquals(LocalDate.now(), testCheckpoint.getCompletedDate());
-        verify(checkpointRepository).findById(1L);
+        verify(checkpointRepository).findByIdForUpdate(1L);
         verify(checkpointRepository).save(testCheckpoint);
-        verify(goalRepository).save(testGoal);
+        verify(goalRepository).applyCheckpointDelta(1L, 0, 1);
+        verify(goalReadCache).evictGoal(1L, 1L);
+        verify(buddyLeaderboard).completionMoved(1L, null, LocalDate.now());
     }
 
     @Test
     @DisplayName("Should throw exception when completing non-existent checkpoint")
     void shouldThrowExceptionWhenCompletingNonExistentCheckpoint() {
         // Arrange
-        when(checkpointRepository.findById(999L)).thenReturn(Optional.empty());
+        when(checkpointRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> checkpointService.completeCheckpoint(999L));
         assertEquals("Checkpoint not found", exception.getMessage());
-        verify(checkpointRepository).findById(999L);
+        verify(checkpointRepository).findByIdForUpdate(999L);
         verify(checkpointRepository, never()).save(any());
-        verify(goalRepository, never()).save(any());
+        verify(goalRepository, never()).applyCheckpointDelta(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("Should delete checkpoint successfully")
     void shouldDeleteCheckpointSuccessfully() {
         // Arrange
-        testGoal.getCheckpoints().add(testCheckpoint);
-        when(checkpointRepository.findById(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
         doNothing().when(checkpointRepository).delete(testCheckpoint);
-        when(goalRepository.save(any(Goal.class))).thenReturn(testGoal);
 
         // Act
         checkpointService.deleteCheckpoint(1L);
 
         // Assert
-        assertFalse(testGoal.getCheckpoints().contains(testCheckpoint));
-        verify(checkpointRepository).findById(1L);
+        verify(checkpointRepository).findByIdForUpdate(1L);
         verify(checkpointRepository).delete(testCheckpoint);
-        verify(goalRepository).save(testGoal);
+        verify(goalRepository).applyCheckpointDelta(1L, -1, 0);
+        verify(goalReadCache).evictGoal(1L, 1L);
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent checkpoint")
     void shouldThrowExceptionWhenDeletingNonExistentCheckpoint() {
         // Arrange
-        when(checkpointRepository.findById(999L)).thenReturn(Optional.empty());
+        when(checkpointRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> checkpointService.deleteCheckpoint(999L));
         assertEquals("Checkpoint not found", exception.getMessage());
-        verify(checkpointRepository).findById(999L);
+        verify(checkpointRepository).findByIdForUpdate(999L);
         verify(checkpointRepository, never()).delete(any());
-        verify(goalRepository, never()).save(any());
+        verify(goalRepository, never()).applyCheckpointDelta(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("Should update goal progress when checkpoint is completed")
     void shouldUpdateGoalProgressWhenCheckpointIsCompleted() {
         // Arrange
-        testGoal.getCheckpoints().add(testCheckpoint);
-        when(checkpointRepository.findById(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
         when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
-        when(goalRepository.save(any(Goal.class))).thenReturn(testGoal);
 
         // Act
         Checkpoint result = checkpointService.completeCheckpoint(1L);
+        checkpointService.completeCheckpoint(1L);
 
-        // Assert
+        // Assert: completing an already completed checkpoint does not count it twice
         assertNotNull(result);
-        assertEquals("COMPLETED", testCheckpoint.getStatus());
-        verify(goalRepository).save(testGoal);
-        // The goal's calculateProgress method should have been called
-        // We can verify this indirectly by checking that the goal was saved
+        assertEquals(CheckpointStatus.COMPLETED, testCheckpoint.getStatus());
+        verify(goalRepository, times(1)).applyCheckpointDelta(1L, 0, 1);
+        verify(goalRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("Should update goal progress when checkpoint is deleted")
     void shouldUpdateGoalProgressWhenCheckpointIsDeleted() {
         // Arrange
-        testGoal.getCheckpoints().add(testCheckpoint);
-        when(checkpointRepository.findById(1L)).thenReturn(Optional.of(testCheckpoint));
+        LocalDate completedOn = LocalDate.now().minusDays(2);
+        testCheckpoint.setStatus(CheckpointStatus.COMPLETED);
+        testCheckpoint.setCompletedDate(completedOn);
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
         doNothing().when(checkpointRepository).delete(testCheckpoint);
-        when(goalRepository.save(any(Goal.class))).thenReturn(testGoal);
 
         // Act
         checkpointService.deleteCheckpoint(1L);
 
         // Assert
-        assertFalse(testGoal.getCheckpoints().contains(testCheckpoint));
-        verify(goalRepository).save(testGoal);
-        // The goal's calculateProgress method should have been called
-        // We can verify this indirectly by checking that the goal was saved
+        verify(goalRepository).applyCheckpointDelta(1L, -1, -1);
+        verify(goalRepository, never()).save(any());
+        verify(buddyLeaderboard).completionMoved(1L, completedOn, null);
+    }
+
+    @Test
+    @DisplayName("Should reopen an overdue checkpoint whose due date moves to today or later")
+    void shouldReopenOverdueCheckpointWhenDueDateMovesForward() {
+        // Arrange
+        Checkpoint postpone = new Checkpoint();
+        postpone.setStatus(null);
+        postpone.setDueDate(LocalDate.now());
+        testCheckpoint.setStatus(CheckpointStatus.OVERDUE);
+        testCheckpoint.setDueDate(LocalDate.now().minusDays(3));
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
+
+        // Act
+        checkpointService.updateCheckpoint(1L, postpone);
+
+        // Assert
+        assertEquals(CheckpointStatus.PENDING, testCheckpoint.getStatus());
+        assertEquals(LocalDate.now(), testCheckpoint.getDueDate());
+    }
+
+    @Test
+    @DisplayName("Should keep a checkpoint overdue when its due date stays in the past or a status is sent")
+    void shouldKeepOverdueWhenDueDateStaysPastOrStatusSent() {
+        // Arrange
+        Checkpoint stillLate = new Checkpoint();
+        stillLate.setStatus(null);
+        stillLate.setDueDate(LocalDate.now().minusDays(1));
+        Checkpoint explicit = new Checkpoint();
+        explicit.setStatus(CheckpointStatus.OVERDUE);
+        explicit.setDueDate(LocalDate.now().plusDays(7));
+        testCheckpoint.setStatus(CheckpointStatus.OVERDUE);
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
+
+        // Act & Assert
+        checkpointService.updateCheckpoint(1L, stillLate);
+        assertEquals(CheckpointStatus.OVERDUE, testCheckpoint.getStatus());
+        checkpointService.updateCheckpoint(1L, explicit);
+        assertEquals(CheckpointStatus.OVERDUE, testCheckpoint.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should move the completed counter when status changes through update")
+    void shouldMoveCompletedCounterOnStatusUpdate() {
+        // Arrange
+        Checkpoint reopen = new Checkpoint();
+        reopen.setStatus(CheckpointStatus.IN_PROGRESS);
+        LocalDate completedOn = LocalDate.now().minusDays(1);
+        testCheckpoint.setStatus(CheckpointStatus.COMPLETED);
+        testCheckpoint.setCompletedDate(completedOn);
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
+
+        // Act
+        checkpointService.updateCheckpoint(1L, reopen);
+
+        // Assert
+        verify(goalRepository).applyCheckpointDelta(1L, 0, -1);
+        verify(buddyLeaderboard).completionMoved(1L, completedOn, null);
+    }
+
+    @Test
+    @DisplayName("Should date and count a completion made through update")
+    void shouldDateCompletionMadeThroughUpdate() {
+        // Arrange
+        Checkpoint complete = new Checkpoint();
+        complete.setStatus(CheckpointStatus.COMPLETED);
+        when(checkpointRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCheckpoint));
+        when(checkpointRepository.save(any(Checkpoint.class))).thenReturn(testCheckpoint);
+
+        // Act
+        checkpointService.updateCheckpoint(1L, complete);
+
+        // Assert
+        assertEquals(LocalDate.now(), testCheckpoint.getCompletedDate());
+        verify(goalRepository).applyCheckpointDelta(1L, 0, 1);
+        verify(buddyLeaderboard).completionMoved(1L, null, LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("Should create a batch of checkpoints and move the goal counters once")
+    void shouldCreateCheckpointBatch() {
+        // Arrange
+        Checkpoint done = new Checkpoint();
+        done.setTitle("Done already");
+        done.setStatus(CheckpointStatus.COMPLETED);
+        Checkpoint untitled = new Checkpoint();
+        untitled.setTitle(" ");
+        when(goalRepository.applyCheckpointDelta(1L, 2, 1)).thenReturn(1);
+        when(goalRepository.getReferenceById(1L)).thenReturn(testGoal);
+
+        // Act
+        List<CheckpointBatchResult> results =
+                checkpointService.addCheckpointsToGoal(1L, Arrays.asList(testCheckpoint, untitled, done));
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(CheckpointBatchResult.Outcome.CREATED, results.get(0).outcome());
+        assertEquals(CheckpointBatchResult.Outcome.REJECTED, results.get(1).outcome());
+        assertEquals("Title is required", results.get(1).error());
+        assertEquals(CheckpointBatchResult.Outcome.CREATED, results.get(2).outcome());
+        assertEquals(0L, testCheckpoint.getId());
+        assertEquals(testGoal, done.getGoal());
+        verify(goalRepository, times(1)).applyCheckpointDelta(anyLong(), anyInt(), anyInt());
+        verify(checkpointRepository).saveAll(Arrays.asList(testCheckpoint, done));
+    }
+
+    @Test
+    @DisplayName("Should not create any checkpoint of a batch for a non-existent goal")
+    void shouldRejectCheckpointBatchForMissingGoal() {
+        // Arrange
+        when(goalRepository.applyCheckpointDelta(999L, 1, 0)).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> checkpointService.addCheckpointsToGoal(999L, List.of(testCheckpoint)));
+        assertEquals("Goal not found", exception.getMessage());
+        verify(checkpointRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should complete a batch with per-item results and one delta per goal")
+    void shouldCompleteCheckpointBatch() {
+        // Arrange
+        Checkpoint second = new Checkpoint();
+        second.setId(2L);
+        second.setStatus(CheckpointStatus.PENDING);
+        second.setGoal(testGoal);
+        Checkpoint alreadyDone = new Checkpoint();
+        alreadyDone.setId(3L);
+        alreadyDone.setStatus(CheckpointStatus.COMPLETED);
+        alreadyDone.setGoal(testGoal);
+        when(checkpointRepository.findAllByIdForUpdate(List.of(1L, 999L, 2L, 3L)))
+                .thenReturn(List.of(testCheckpoint, second, alreadyDone));
+
+        // Act
+        List<CheckpointBatchResult> results = checkpointService.completeCheckpoints(List.of(1L, 999L, 2L, 3L));
+
+        // Assert
+        assertEquals(CheckpointBatchResult.Outcome.UPDATED, results.get(0).outcome());
+        assertEquals(CheckpointBatchResult.Outcome.NOT_FOUND, results.get(1).outcome());
+        assertEquals(CheckpointBatchResult.Outcome.UPDATED, results.get(2).outcome());
+        assertEquals(CheckpointBatchResult.Outcome.UPDATED, results.get(3).outcome());
+        assertEquals(CheckpointStatus.COMPLETED, testCheckpoint.getStatus());
+        assertEquals(LocalDate.now(), second.getCompletedDate());
+        assertNull(alreadyDone.getCompletedDate());
+        verify(goalRepository, times(1)).applyCheckpointDelta(1L, 0, 2);
+        verify(goalReadCache, times(1)).evictGoal(1L, 1L);
+        verify(buddyLeaderboard, times(2)).completionMoved(1L, null, LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("Should move goal counters in ascending goal id order whatever the request order")
+    void shouldUpdateGoalsInIdOrder() {
+        // Arrange
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        for (long goalId : new long[]{30L, 10L, 20L}) {
+            Goal goal = new Goal();
+            goal.setId(goalId);
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setId(goalId + 1);
+            checkpoint.setStatus(CheckpointStatus.PENDING);
+            checkpoint.setGoal(goal);
+            checkpoints.add(checkpoint);
+        }
+        when(checkpointRepository.findAllByIdForUpdate(List.of(31L, 11L, 21L))).thenReturn(checkpoints);
+
+        // Act
+        checkpointService.completeCheckpoints(List.of(31L, 11L, 21L));
+
+        // Assert
+        InOrder inOrder = inOrder(goalRepository);
+        inOrder.verify(goalRepository).applyCheckpointDelta(10L, 0, 1);
+        inOrder.verify(goalRepository).applyCheckpointDelta(20L, 0, 1);
+        inOrder.verify(goalRepository).applyCheckpointDelta(30L, 0, 1);
+    }
+
+    @Test
+    @DisplayName("Should skip the goal update when batch status changes cancel out")
+    void shouldSkipGoalUpdateWhenBatchDeltasCancelOut() {
+        // Arrange
+        Checkpoint completedOne = new Checkpoint();
+        completedOne.setId(2L);
+        completedOne.setStatus(CheckpointStatus.COMPLETED);
+        completedOne.setGoal(testGoal);
+        Checkpoint complete = new Checkpoint();
+        complete.setId(1L);
+        complete.setStatus(CheckpointStatus.COMPLETED);
+        Checkpoint reopen = new Checkpoint();
+        reopen.setId(2L);
+        reopen.setStatus(CheckpointStatus.PENDING);
+        reopen.setTitle("Reopened");
+        when(checkpointRepository.findAllByIdForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(testCheckpoint, completedOne));
+
+        // Act
+        List<CheckpointBatchResult> results = checkpointService.updateCheckpoints(List.of(complete, reopen));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals("Reopened", completedOne.getTitle());
+        assertEquals(CheckpointStatus.PENDING, completedOne.getStatus());
+        verify(goalRepository, never()).applyCheckpointDelta(anyLong(), anyInt(), anyInt());
+        // The checkpoint list still changed, so the cached goal goes even without a counter update
+        verify(goalReadCache).evictGoal(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void shouldRejectInvalidBatchSizes() {
+        // Arrange
+        List<Long> oversized = new ArrayList<>();
+        for (long i = 0; i <= CheckpointService.MAX_BATCH_SIZE; i++) {
+            oversized.add(i);
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> checkpointService.completeCheckpoints(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> checkpointService.completeCheckpoints(oversized));
+        verifyNoInteractions(checkpointRepository, goalRepository);
     }
 }
@@ -0,0 +1,179 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.GoalDto;
+import com.example.productivity_app.entity.ArchivedGoal;
+import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
+import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.GoalStatus;
+import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.repository.ArchivedCheckpointRepository;
+import com.example.productivity_app.repository.ArchivedGoalRepository;
+import com.example.productivity_app.repository.CheckpointRepository;
+import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.repository.UserRepository;
+import com.example.productivity_app.util.KeysetCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each archive batch commits on its own, so the test runs without a surrounding transaction.
+ * With a batch size of 1 every goal is its own batch.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({GoalArchiveService.class, GoalReadCache.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {"goals.archive.age-days=180", "goals.archive.batch-size=1"})
+@DisplayName("GoalArchiveService Tests")
+class GoalArchiveServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    @Autowired
+    private GoalArchiveService goalArchiveService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private CheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ArchivedGoalRepository archivedGoalRepository;
+
+    @Autowired
+    private ArchivedCheckpointRepository archivedCheckpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transaction;
+    private Users user;
+    private Goal oldCompleted;
+    private Goal oldCancelled;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            user = new Users();
+            user.setEmail("test@example.com");
+            user.setUsername("testuser");
+            user.setPassword("encodedPassword");
+            userRepository.save(user);
+
+            oldCompleted = saveGoal("Old completed", GoalStatus.COMPLETED, LocalDate.of(2025, 1, 10), 2);
+            oldCancelled = saveGoal("Old cancelled", GoalStatus.CANCELLED, LocalDate.of(2025, 2, 10), 0);
+            saveGoal("Old but active", GoalStatus.ACTIVE, LocalDate.of(2025, 1, 10), 1);
+            saveGoal("Recently completed", GoalStatus.COMPLETED, TODAY.minusDays(10), 1);
+            saveGoal("Undated completed", GoalStatus.COMPLETED, null, 0);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            archivedCheckpointRepository.deleteAllInBatch();
+            archivedGoalRepository.deleteAllInBatch();
+            checkpointRepository.deleteAllInBatch();
+            goalRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    @DisplayName("Should move only old finished goals and their checkpoints to the archive tables")
+    void shouldArchiveOldFinishedGoals() {
+        // Arrange: the registry is shared with the other tests of this context
+        double archivedBefore = meterRegistry.get("goals.archived").counter().count();
+
+        // Act
+        int archived = goalArchiveService.archive(TODAY);
+
+        // Assert
+        assertEquals(2, archived);
+        assertEquals(Set.of(oldCompleted.getId(), oldCancelled.getId()), archivedGoalRepository.findAll().stream()
+                .map(ArchivedGoal::getId).collect(Collectors.toSet()));
+        assertEquals(3, goalRepository.count());
+        assertFalse(goalRepository.existsById(oldCompleted.getId()));
+        assertEquals(2, archivedCheckpointRepository.count());
+        assertEquals(2, checkpointRepository.count());
+        assertEquals(TODAY, archivedGoalRepository.findById(oldCompleted.getId()).orElseThrow().getArchivedDate());
+        assertEquals(2.0, meterRegistry.get("goals.archived").counter().count() - archivedBefore);
+        assertEquals(0, goalArchiveService.archive(TODAY));
+    }
+
+    @Test
+    @DisplayName("Should page through archived goals most recent first, with their checkpoints")
+    void shouldPageThroughGoalHistory() {
+        // Arrange
+        goalArchiveService.archive(TODAY);
+
+        // Act
+        CursorPage<GoalDto> first = goalArchiveService.getUserGoalHistory(user.getId(), null, 1);
+        CursorPage<GoalDto> second = goalArchiveService.getUserGoalHistory(user.getId(), first.nextCursor(), 1);
+
+        // Assert
+        assertEquals(List.of(oldCancelled.getId()), first.items().stream().map(GoalDto::getId).toList());
+        assertNotNull(first.nextCursor());
+        assertEquals(List.of(oldCompleted.getId()), second.items().stream().map(GoalDto::getId).toList());
+        assertEquals(GoalStatus.COMPLETED, second.items().get(0).getStatus());
+        assertEquals(2, second.items().get(0).getCheckpoints().size());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor without an end date")
+    void shouldRejectUndatedCursor() {
+        // Arrange
+        String cursor = new KeysetCursor(null, 1L).encode();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> goalArchiveService.getUserGoalHistory(user.getId(), cursor, 10));
+    }
+
+    private Goal saveGoal(String title, GoalStatus status, LocalDate endDate, int checkpoints) {
+        Goal goal = new Goal();
+        goal.setTitle(title);
+        goal.setStatus(status);
+        goal.setEndDate(endDate);
+        goal.setUser(user);
+        goalRepository.save(goal);
+        for (int i = 0; i < checkpoints; i++) {
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setTitle("Checkpoint " + i);
+            checkpoint.setStatus(CheckpointStatus.COMPLETED);
+            checkpoint.setGoal(goal);
+            checkpointRepository.save(checkpoint);
+        }
+        return goal;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.GoalDto;
+import com.example.productivity_app.entity.GoalStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GoalReadCache Unit Tests")
+class GoalReadCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private GoalReadCache goalReadCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        goalReadCache = new GoalReadCache(meterRegistry, 100, 100, 60_000);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a goal once and record hits, misses and load time")
+    void shouldLoadGoalOnceAndRecordMetrics() {
+        // Act
+        GoalDto first = goalReadCache.getGoal(1L, this::load);
+        GoalDto second = goalReadCache.getGoal(1L, this::load);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "goals.by-id", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "goals.by-id", "result", "miss")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("goals.cache.load").tags("cache", "goals.by-id")
+                .functionTimer().count());
+    }
+
+    @Test
+    @DisplayName("Should evict only the changed goal and its owner's pages")
+    void shouldEvictOnlyChangedGoalAndOwnerPages() {
+        // Arrange
+        goalReadCache.getGoal(1L, this::load);
+        goalReadCache.getGoal(2L, this::load);
+        goalReadCache.getUserGoals(10L, null, 50, this::loadPage);
+        goalReadCache.getUserGoals(10L, "next", 50, this::loadPage);
+        goalReadCache.getUserGoals(20L, null, 50, this::loadPage);
+        loads.set(0);
+
+        // Act
+        goalReadCache.evictGoal(1L, 10L);
+        goalReadCache.getGoal(1L, this::load);
+        goalReadCache.getGoal(2L, this::load);
+        goalReadCache.getUserGoals(10L, null, 50, this::loadPage);
+        goalReadCache.getUserGoals(10L, "next", 50, this::loadPage);
+        goalReadCache.getUserGoals(20L, null, 50, this::loadPage);
+
+        // Assert
+        assertEquals(3, loads.get());
+        assertEquals(2.0, meterRegistry.get("goals.cache.invalidations").tags("cache", "goals.user-pages")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("goals.cache.invalidations").tags("cache", "goals.by-id")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict again after commit so reads made before the commit are dropped")
+    void shouldEvictAgainAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        goalReadCache.getGoal(1L, this::load);
+
+        // Act
+        goalReadCache.evictGoal(1L, 10L);
+        GoalDto readBeforeCommit = goalReadCache.getGoal(1L, this::load);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        GoalDto readAfterCommit = goalReadCache.getGoal(1L, this::load);
+
+        // Assert
+        assertNotSame(readBeforeCommit, readAfterCommit);
+        assertEquals(3, loads.get());
+    }
+
+    private GoalDto load(Long goalId) {
+        loads.incrementAndGet();
+        return new GoalDto(goalId, "Goal " + goalId, null, null, null, GoalStatus.ACTIVE, 0);
+    }
+
+    private CursorPage<GoalDto> loadPage() {
+        loads.incrementAndGet();
+        return new CursorPage<>(List.of(), null);
+    }
+}
@@ -1,23 +1,35 @@
 package com.example.productivity_app.service;
 
+import com.example.productivity_app.dto.GoalDto;
 import com.example.productivity_app.entity.Checkpoint;
+import com.example.productivity_app.entity.CheckpointStatus;
 import com.example.productivity_app.entity.Goal;
+import com.example.productivity_app.entity.GoalStatus;
 import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.repository.GoalCheckpointRow;
 import com.example.productivity_app.repository.GoalRepository;
 import com.example.productivity_app.repository.UserRepository;
+import com.example.productivity_app.util.KeysetCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +45,12 @@ class GoalServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private GoalReadCache goalReadCache = new GoalReadCache(new SimpleMeterRegistry(), 100, 100, 60_000);
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private GoalService goalService;
 
@@ -55,7 +73,7 @@ class GoalServiceTest {
         testGoal.setDescription("Test Description");
         testGoal.setStartDate(LocalDate.now());
         testGoal.setEndDate(LocalDate.now().plusDays(30));
-        testGoal.setStatus("ACTIVE");
+        testGoal.setStatus(GoalStatus.ACTIVE);
         testGoal.setProgress(0);
         testGoal.setUser(testUser);
 
@@ -63,13 +81,13 @@ class GoalServiceTest {
         completedCheckpoint = new Checkpoint();
         completedCheckpoint.setId(1L);
         completedCheckpoint.setTitle("Completed Checkpoint");
-        completedCheckpoint.setStatus("COMPLETED");
+        completedCheckpoint.setStatus(CheckpointStatus.COMPLETED);
         completedCheckpoint.setGoal(testGoalWithCheckpoints);
 
         pendingCheckpoint = new Checkpoint();
         pendingCheckpoint.setId(2L);
         pendingCheckpoint.setTitle("Pending Checkpoint");
-        pendingCheckpoint.setStatus("PENDING");
+        pendingCheckpoint.setStatus(CheckpointStatus.PENDING);
         pendingCheckpoint.setGoal(testGoalWithCheckpoints);
 
         testGoalWithCheckpoints = new Goal();
@@ -78,7 +96,7 @@ class GoalServiceTest {
         testGoalWithCheckpoints.setDescription("Goal with Checkpoints Description");
         testGoalWithCheckpoints.setStartDate(LocalDate.now());
         testGoalWithCheckpoints.setEndDate(LocalDate.now().plusDays(30));
-        testGoalWithCheckpoints.setStatus("ACTIVE");
+        testGoalWithCheckpoints.setStatus(GoalStatus.ACTIVE);
         testGoalWithCheckpoints.setProgress(0);
         testGoalWithCheckpoints.setUser(testUser);
         testGoalWithCheckpoints.setCheckpoints(Arrays.asList(completedCheckpoint, pendingCheckpoint));
@@ -99,6 +117,7 @@ class GoalServiceTest {
         assertEquals(testUser, result.getUsers());
         verify(userRepository).findById(1L);
         verify(goalRepository).save(testGoal);
+        verify(goalReadCache).evictUserGoals(1L);
     }
 
     @Test
@@ -114,63 +133,196 @@ class GoalServiceTest {
     }
 
     @Test
-    @DisplayName("Should get user goals successfully")
+    @DisplayName("Should get a page of user goals with their checkpoints grouped by goal")
     void shouldGetUserGoalsSuccessfully() {
         // Arrange
-        List<Goal> expectedGoals = Arrays.asList(testGoal);
-        when(goalRepository.findByUsersId(1L)).thenReturn(expectedGoals);
+        GoalDto first = new GoalDto(1L, "First", null, null, null, GoalStatus.ACTIVE, 0);
+        GoalDto second = new GoalDto(2L, "Second", null, null, null, GoalStatus.ACTIVE, 0);
+        when(goalRepository.findDatedDtosByUserId(1L, Limit.of(11))).thenReturn(Arrays.asList(first, second));
+        when(goalRepository.findCheckpointRowsByGoalIds(Set.of(1L, 2L))).thenReturn(Arrays.asList(
+                new GoalCheckpointRow(2L, 10L, "A", null, null, CheckpointStatus.PENDING, null),
+                new GoalCheckpointRow(1L, 11L, "B", null, null, CheckpointStatus.COMPLETED, null),
+                new GoalCheckpointRow(2L, 12L, "C", null, null, CheckpointStatus.PENDING, null)));
 
         // Act
-        List<Goal> result = goalService.getUserGoals(1L);
+        CursorPage<GoalDto> result = goalService.getUserGoals(1L, null, 10);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testGoal, result.get(0));
-        verify(goalRepository).findByUsersId(1L);
+        assertEquals(2, result.items().size());
+        assertNull(result.nextCursor());
+        assertEquals(List.of(11L), result.items().get(0).getCheckpoints().stream().map(c -> c.getId()).toList());
+        assertEquals(List.of(10L, 12L), result.items().get(1).getCheckpoints().stream().map(c -> c.getId()).toList());
+    }
+
+    @Test
+    @DisplayName("Should return a cursor at the last goal when more goals remain")
+    void shouldReturnCursorWhenMoreGoalsRemain() {
+        // Arrange
+        LocalDate endDate = LocalDate.of(2026, 1, 31);
+        GoalDto first = new GoalDto(1L, "First", null, null, endDate, GoalStatus.ACTIVE, 0);
+        GoalDto second = new GoalDto(2L, "Second", null, null, null, GoalStatus.ACTIVE, 0);
+        when(goalRepository.findDatedDtosByUserId(1L, Limit.of(2))).thenReturn(Arrays.asList(first, second));
+        when(goalRepository.findCheckpointRowsByGoalIds(Set.of(1L))).thenReturn(new ArrayList<>());
+
+        // Act
+        CursorPage<GoalDto> result = goalService.getUserGoals(1L, null, 1);
+
+        // Assert
+        assertEquals(List.of(first), result.items());
+        assertEquals(new KeysetCursor(endDate, 1L), KeysetCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should top up a page with undated goals once the dated goals after the cursor run out")
+    void shouldTopUpWithUndatedGoals() {
+        // Arrange
+        LocalDate endDate = LocalDate.of(2026, 1, 31);
+        GoalDto dated = new GoalDto(6L, "Dated", null, null, endDate.plusDays(1), GoalStatus.ACTIVE, 0);
+        GoalDto undated = new GoalDto(3L, "Undated", null, null, null, GoalStatus.ACTIVE, 0);
+        when(goalRepository.findDatedDtosByUserIdAfter(1L, endDate, 5L, Limit.of(11))).thenReturn(List.of(dated));
+        when(goalRepository.findUndatedDtosByUserIdAfter(1L, Long.MIN_VALUE, Limit.of(10)))
+                .thenReturn(List.of(undated));
+        when(goalRepository.findCheckpointRowsByGoalIds(Set.of(6L, 3L))).thenReturn(new ArrayList<>());
+
+        // Act
+        CursorPage<GoalDto> result = goalService.getUserGoals(1L, new KeysetCursor(endDate, 5L).encode(), 10);
+
+        // Assert
+        assertEquals(List.of(dated, undated), result.items());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should read only undated goals after an undated cursor")
+    void shouldContinueAfterUndatedCursor() {
+        // Arrange
+        when(goalRepository.findUndatedDtosByUserIdAfter(1L, 7L, Limit.of(11))).thenReturn(new ArrayList<>());
+
+        // Act
+        CursorPage<GoalDto> result = goalService.getUserGoals(1L, new KeysetCursor(null, 7L).encode(), 10);
+
+        // Assert
+        assertTrue(result.items().isEmpty());
+        verify(goalRepository, never()).findDatedDtosByUserIdAfter(any(), any(), any(), any());
+        verify(goalRepository, never()).findCheckpointRowsByGoalIds(any());
     }
 
     @Test
     @DisplayName("Should return empty list when user has no goals")
     void shouldReturnEmptyListWhenUserHasNoGoals() {
         // Arrange
-        when(goalRepository.findByUsersId(1L)).thenReturn(new ArrayList<>());
+        when(goalRepository.findDatedDtosByUserId(1L, Limit.of(11))).thenReturn(new ArrayList<>());
 
         // Act
-        List<Goal> result = goalService.getUserGoals(1L);
+        CursorPage<GoalDto> result = goalService.getUserGoals(1L, null, 10);
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(goalRepository).findByUsersId(1L);
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
+        verify(goalRepository, never()).findCheckpointRowsByGoalIds(any());
     }
 
     @Test
-    @DisplayName("Should get goal by ID successfully")
-    void shouldGetGoalByIdSuccessfully() {
+    @DisplayName("Should serve repeated reads of a user's goal page from the cache until a goal changes")
+    void shouldCacheUserGoalsUntilGoalChanges() {
         // Arrange
+        when(goalRepository.findDatedDtosByUserId(1L, Limit.of(11))).thenReturn(new ArrayList<>());
         when(goalRepository.findById(1L)).thenReturn(Optional.of(testGoal));
+        when(goalRepository.save(any(Goal.class))).thenReturn(testGoal);
 
         // Act
-        Goal result = goalService.getGoalById(1L);
+        goalService.getUserGoals(1L, null, 10);
+        goalService.getUserGoals(1L, null, 10);
+        goalService.updateGoal(1L, new Goal());
+        goalService.getUserGoals(1L, null, 10);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(testGoal, result);
-        verify(goalRepository).findById(1L);
+        verify(goalRepository, times(2)).findDatedDtosByUserId(1L, Limit.of(11));
+    }
+
+    @Test
+    @DisplayName("Should get goal by ID with its checkpoints")
+    void shouldGetGoalByIdSuccessfully() {
+        // Arrange
+        GoalDto goal = new GoalDto(1L, "Test Goal", null, null, null, GoalStatus.ACTIVE, 50);
+        when(goalRepository.findDtoById(1L)).thenReturn(Optional.of(goal));
+        when(goalRepository.findCheckpointRowsByGoalIds(List.of(1L))).thenReturn(List.of(
+                new GoalCheckpointRow(1L, 10L, "A", null, null, CheckpointStatus.COMPLETED, null)));
+
+        // Act
+        GoalDto result = goalService.getGoalById(1L);
+
+        // Assert
+        assertEquals(goal, result);
+        assertEquals(List.of(10L), result.getCheckpoints().stream().map(c -> c.getId()).toList());
+        verify(goalRepository).findDtoById(1L);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated goal read from the cache until the goal is evicted")
+    void shouldCacheGoalByIdUntilEvicted() {
+        // Arrange
+        when(goalRepository.findDtoById(1L))
+                .thenReturn(Optional.of(new GoalDto(1L, "Test Goal", null, null, null, GoalStatus.ACTIVE, 0)));
+        when(goalRepository.findCheckpointRowsByGoalIds(List.of(1L))).thenReturn(new ArrayList<>());
+
+        // Act
+        GoalDto first = goalService.getGoalById(1L);
+        GoalDto second = goalService.getGoalById(1L);
+        goalReadCache.evictGoal(1L, 1L);
+        goalService.getGoalById(1L);
+
+        // Assert
+        assertSame(first, second);
+        verify(goalRepository, times(2)).findDtoById(1L);
+    }
+
+    @Test
+    @DisplayName("Should open a read-only transaction on a cache miss and none on a hit")
+    void shouldAcquireNoConnectionOnCacheHit() {
+        // Arrange
+        when(goalRepository.findDtoById(1L))
+                .thenReturn(Optional.of(new GoalDto(1L, "Test Goal", null, null, null, GoalStatus.ACTIVE, 0)));
+        when(goalRepository.findCheckpointRowsByGoalIds(List.of(1L))).thenReturn(new ArrayList<>());
+        when(goalRepository.findDatedDtosByUserId(1L, Limit.of(11))).thenReturn(new ArrayList<>());
+
+        // Act
+        goalService.getGoalById(1L);
+        goalService.getUserGoals(1L, null, 10);
+        clearInvocations(transactionManager);
+        goalService.getGoalById(1L);
+        goalService.getUserGoals(1L, null, 10);
+
+        // Assert
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should load a cache miss inside a read-only transaction")
+    void shouldLoadCacheMissInReadOnlyTransaction() {
+        // Arrange
+        when(goalRepository.findDtoById(1L))
+                .thenReturn(Optional.of(new GoalDto(1L, "Test Goal", null, null, null, GoalStatus.ACTIVE, 0)));
+        when(goalRepository.findCheckpointRowsByGoalIds(List.of(1L))).thenReturn(new ArrayList<>());
+
+        // Act
+        goalService.getGoalById(1L);
+
+        // Assert
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
     }
 
     @Test
     @DisplayName("Should throw exception when goal not found by ID")
     void shouldThrowExceptionWhenGoalNotFoundById() {
         // Arrange
-        when(goalRepository.findById(999L)).thenReturn(Optional.empty());
+        when(goalRepository.findDtoById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> goalService.getGoalById(999L));
         assertEquals("Goal not found", exception.getMessage());
-        verify(goalRepository).findById(999L);
+        verify(goalRepository).findDtoById(999L);
     }
 
     @Test
@@ -193,6 +345,7 @@ class GoalServiceTest {
         assertEquals("Updated Description", testGoal.getDescription());
         verify(goalRepository).findById(1L);
         verify(goalRepository).save(testGoal);
+        verify(goalReadCache).evictGoal(1L, 1L);
     }
 
     @Test
@@ -243,8 +396,11 @@ class GoalServiceTest {
         goalService.deleteGoal(1L);
 
         // Assert
-        verify(goalRepository).findById(1L);
-        verify(goalRepository).delete(testGoal);
+        InOrder inOrder = inOrder(goalRepository);
+        inOrder.verify(goalRepository).findById(1L);
+        inOrder.verify(goalRepository).deleteCheckpointsByGoalIds(List.of(1L));
+        inOrder.verify(goalRepository).delete(testGoal);
+        verify(goalReadCache).evictGoal(1L, 1L);
     }
 
     @Test
@@ -273,10 +429,11 @@ class GoalServiceTest {
 
         // Assert
         assertNotNull(result);
-        assertEquals("COMPLETED", testGoal.getStatus());
+        assertEquals(GoalStatus.COMPLETED, testGoal.getStatus());
         assertEquals(100, testGoal.getProgress());
         verify(goalRepository).findById(1L);
         verify(goalRepository).save(testGoal);
+        verify(goalReadCache).evictGoal(1L, 1L);
     }
 
     @Test
@@ -298,7 +455,8 @@ class GoalServiceTest {
     void shouldCalculateProgressCorrectlyWithMixedCheckpointStatuses() {
         // Arrange
         Goal goal = new Goal();
-        goal.setCheckpoints(Arrays.asList(completedCheckpoint, pendingCheckpoint));
+        goal.setTotalCheckpoints(2);
+        goal.setCompletedCheckpoints(1);
         
         // Act
         goal.calculateProgress();
@@ -312,7 +470,8 @@ class GoalServiceTest {
     void shouldCalculateProgressAsZeroWhenNoCheckpointsExist() {
         // Arrange
         Goal goal = new Goal();
-        goal.setCheckpoints(new ArrayList<>());
+        goal.setTotalCheckpoints(0);
+        goal.setCompletedCheckpoints(0);
         
         // Act
         goal.calculateProgress();
@@ -325,11 +484,9 @@ class GoalServiceTest {
     @DisplayName("Should calculate progress as 100 when all checkpoints are completed")
     void shouldCalculateProgressAsHundredWhenAllCheckpointsCompleted() {
         // Arrange
-        Checkpoint secondCompletedCheckpoint = new Checkpoint();
-        secondCompletedCheckpoint.setStatus("COMPLETED");
-        
         Goal goal = new Goal();
-        goal.setCheckpoints(Arrays.asList(completedCheckpoint, secondCompletedCheckpoint));
+        goal.setTotalCheckpoints(2);
+        goal.setCompletedCheckpoints(2);
         
         // Act
         goal.calculateProgress();
@@ -337,4 +494,21 @@ class GoalServiceTest {
         // Assert
         assertEquals(100, goal.getProgress()); // 2 out of 2 checkpoints completed = 100%
     }
+
+    @Test
+    @DisplayName("Should rebuild counters and then progress for all goals")
+    void shouldRebuildProgressCounters() {
+        // Arrange
+        when(goalRepository.rebuildCheckpointCounters()).thenReturn(3);
+
+        // Act
+        int updated = goalService.rebuildProgressCounters();
+
+        // Assert
+        assertEquals(3, updated);
+        InOrder inOrder = inOrder(goalRepository);
+        inOrder.verify(goalRepository).rebuildCheckpointCounters();
+        inOrder.verify(goalRepository).rebuildProgress();
+        verify(goalReadCache).evictAll();
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.exception.TooManyRequestsException;
+import com.example.productivity_app.util.TokenBucketSketch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoginThrottleService Unit Tests")
+class LoginThrottleServiceTest {
+
+    private MeterRegistry meterRegistry;
+    private LoginThrottleService loginThrottleService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottleService = new LoginThrottleService(new TokenBucketSketch(1024, 2, 0.5),
+                new TokenBucketSketch(1024, 4, 0.5), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should throttle an email after its burst, ignoring case and whitespace")
+    void shouldThrottleEmailAfterBurst() {
+        // Arrange
+        loginThrottleService.checkLoginAllowed("test@example.com", "10.0.0.1");
+        loginThrottleService.checkLoginAllowed(" TEST@example.com ", "10.0.0.2");
+
+        // Act
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottleService.checkLoginAllowed("test@example.com", "10.0.0.3"));
+
+        // Assert
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("login.throttled").tag("key", "email").counter().count());
+        assertDoesNotThrow(() -> loginThrottleService.checkLoginAllowed("other@example.com", "10.0.0.3"));
+    }
+
+    @Test
+    @DisplayName("Should throttle a client IP spraying many emails")
+    void shouldThrottleClientIp() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            loginThrottleService.checkLoginAllowed("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class,
+                () -> loginThrottleService.checkLoginAllowed("user5@example.com", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("login.throttled").tag("key", "ip").counter().count());
+        assertDoesNotThrow(() -> loginThrottleService.checkLoginAllowed("user5@example.com", "10.0.0.2"));
+    }
+}
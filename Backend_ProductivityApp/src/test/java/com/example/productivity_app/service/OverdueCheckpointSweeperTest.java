@@ -0,0 +1,79 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.repository.CheckpointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OverdueCheckpointSweeper Unit Tests")
+class OverdueCheckpointSweeperTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 10);
+
+    @Mock
+    private CheckpointRepository checkpointRepository;
+
+    @Mock
+    private GoalReadCache goalReadCache;
+
+    private MeterRegistry meterRegistry;
+    private OverdueCheckpointSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new OverdueCheckpointSweeper(checkpointRepository, goalReadCache, meterRegistry, 100);
+    }
+
+    @Test
+    @DisplayName("Should keep issuing chunks until one comes back short")
+    void shouldSweepUntilShortChunk() {
+        // Arrange
+        when(checkpointRepository.markOverdueBatch(TODAY, 100)).thenReturn(100, 100, 37);
+
+        // Act
+        int marked = sweeper.sweep(TODAY);
+
+        // Assert
+        assertEquals(237, marked);
+        verify(checkpointRepository, times(3)).markOverdueBatch(TODAY, 100);
+        assertEquals(237.0, meterRegistry.get("checkpoints.overdue.marked").counter().count());
+        assertEquals(1, meterRegistry.get("checkpoints.overdue.sweep.duration").timer().count());
+        verify(goalReadCache).evictAll();
+    }
+
+    @Test
+    @DisplayName("Should issue a single statement when nothing is overdue")
+    void shouldIssueSingleStatementWhenNothingOverdue() {
+        // Arrange
+        when(checkpointRepository.markOverdueBatch(TODAY, 100)).thenReturn(0);
+
+        // Act
+        int marked = sweeper.sweep(TODAY);
+
+        // Assert
+        assertEquals(0, marked);
+        verify(checkpointRepository, times(1)).markOverdueBatch(TODAY, 100);
+        assertEquals(0.0, meterRegistry.get("checkpoints.overdue.marked").counter().count());
+        verifyNoInteractions(goalReadCache);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch size below one")
+    void shouldRejectInvalidBatchSize() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new OverdueCheckpointSweeper(checkpointRepository, goalReadCache, meterRegistry, 0));
+    }
+}
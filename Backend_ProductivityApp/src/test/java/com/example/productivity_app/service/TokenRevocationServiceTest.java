@@ -0,0 +1,134 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.entity.RevokedToken;
+import com.example.productivity_app.repository.RevokedTokenRepository;
+import com.example.productivity_app.util.JwtClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Unit Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private MeterRegistry meterRegistry;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, meterRegistry, 1000);
+    }
+
+    @Test
+    @DisplayName("Should persist and deny a revoked token")
+    void shouldPersistAndDenyRevokedToken() {
+        // Arrange
+        JwtClaims claims = claimsExpiringAt(Instant.now().plusSeconds(3600));
+
+        // Act
+        tokenRevocationService.revoke(claims);
+
+        // Assert
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertEquals(claims.tokenId(), captor.getValue().getTokenId());
+        assertEquals(1L, captor.getValue().getUserId());
+        assertTrue(tokenRevocationService.isRevoked(claims.tokenId()));
+        assertFalse(tokenRevocationService.isRevoked(UUID.randomUUID()));
+        assertFalse(tokenRevocationService.isRevoked(null));
+        assertEquals(1.0, meterRegistry.get("jwt.revoked.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should skip tokens that have already expired")
+    void shouldSkipExpiredTokens() {
+        // Arrange
+        JwtClaims claims = claimsExpiringAt(Instant.now().minusSeconds(1));
+
+        // Act
+        tokenRevocationService.revoke(claims);
+
+        // Assert
+        verify(revokedTokenRepository, never()).save(any());
+        assertFalse(tokenRevocationService.isRevoked(claims.tokenId()));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens without a token ID")
+    void shouldRejectTokensWithoutTokenId() {
+        // Arrange
+        JwtClaims claims = new JwtClaims("test@example.com", 1L, 0, List.of(), Instant.now(),
+                Instant.now().plusSeconds(3600), null);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> tokenRevocationService.revoke(claims));
+        assertEquals("Token cannot be revoked", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reload unexpired revocations on startup")
+    void shouldReloadRevocationsOnStartup() {
+        // Arrange
+        UUID tokenId = UUID.randomUUID();
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class)))
+                .thenReturn(List.of(new RevokedToken(tokenId, 1L, Instant.now().plusSeconds(3600))));
+
+        // Act
+        tokenRevocationService.load();
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked(tokenId));
+    }
+
+    @Test
+    @DisplayName("Should prune expired revocations from memory and storage")
+    void shouldPruneExpiredRevocations() {
+        // Arrange
+        UUID expiring = UUID.randomUUID();
+        UUID active = UUID.randomUUID();
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(
+                new RevokedToken(expiring, 1L, Instant.now().plusMillis(20)),
+                new RevokedToken(active, 1L, Instant.now().plusSeconds(3600))));
+        tokenRevocationService.load();
+
+        // Act
+        await(Instant.now().plusMillis(30));
+        tokenRevocationService.prune();
+
+        // Assert
+        verify(revokedTokenRepository).deleteExpired(any(Instant.class));
+        assertEquals(1, tokenRevocationService.size());
+        assertFalse(tokenRevocationService.isRevoked(expiring));
+        assertTrue(tokenRevocationService.isRevoked(active));
+    }
+
+    private static JwtClaims claimsExpiringAt(Instant expiresAt) {
+        return new JwtClaims("test@example.com", 1L, 0, List.of("USER"), Instant.now(), expiresAt,
+                UUID.randomUUID());
+    }
+
+    private static void await(Instant deadline) {
+        while (Instant.now().isBefore(deadline)) {
+            Thread.onSpinWait();
+        }
+    }
+}
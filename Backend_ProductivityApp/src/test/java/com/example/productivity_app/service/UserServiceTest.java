@@ -1,13 +1,17 @@
 package com.example.productivity_app.service;
 
+import com.example.productivity_app.dto.AccountPurgeDto;
 import com.example.productivity_app.dto.LoginRequestDto;
 import com.example.productivity_app.dto.LoginResponseDto;
 import com.example.productivity_app.dto.RegisterDto;
 import com.example.productivity_app.dto.UsersDto;
 import com.example.productivity_app.entity.Users;
+import com.example.productivity_app.exception.ServiceUnavailableException;
+import com.example.productivity_app.exception.UserNotFoundException;
 import com.example.productivity_app.mapper.UsersMapper;
 import com.example.productivity_app.repository.UserRepository;
 import com.example.productivity_app.util.JwtUtil;
+import com.example.productivity_app.util.JwtClaims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,10 +21,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -40,6 +49,15 @@ class UserServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private AccountPurgeService accountPurgeService;
+
     @InjectMocks
     private UserService userService;
 
@@ -148,6 +166,44 @@ class UserServiceTest {
         verify(usersMapper).toDto(testUser);
     }
 
+    @Test
+    @DisplayName("Should bump token version when email changes")
+    void shouldBumpTokenVersionWhenEmailChanges() {
+        // Arrange
+        UsersDto updateDto = new UsersDto();
+        updateDto.setUsername("testuser");
+        updateDto.setEmail("changed@example.com");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(Users.class))).thenReturn(testUser);
+
+        // Act
+        userService.updateUser(1L, updateDto);
+
+        // Assert
+        assertEquals(1, testUser.getTokenVersion());
+        verify(tokenVersionService).versionChanged(1L, 1);
+    }
+
+    @Test
+    @DisplayName("Should keep token version when email is unchanged")
+    void shouldKeepTokenVersionWhenEmailIsUnchanged() {
+        // Arrange
+        UsersDto updateDto = new UsersDto();
+        updateDto.setUsername("renamed");
+        updateDto.setEmail("test@example.com");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(Users.class))).thenReturn(testUser);
+
+        // Act
+        userService.updateUser(1L, updateDto);
+
+        // Assert
+        assertEquals(0, testUser.getTokenVersion());
+        verify(tokenVersionService, never()).versionChanged(anyLong(), anyInt());
+    }
+
     @Test
     @DisplayName("Should throw exception when updating non-existent user")
     void shouldThrowExceptionWhenUpdatingNonExistentUser() {
@@ -166,11 +222,29 @@ class UserServiceTest {
     @Test
     @DisplayName("Should delete user successfully")
     void shouldDeleteUserSuccessfully() {
+        // Arrange
+        AccountPurgeDto purge = new AccountPurgeDto();
+        purge.setState(AccountPurgeService.COMPLETED);
+        when(accountPurgeService.purge(1L)).thenReturn(purge);
+
         // Act
-        userService.deleteUser(1L);
+        AccountPurgeDto result = userService.deleteUser(1L);
 
         // Assert
-        verify(userRepository).deleteById(1L);
+        assertSame(purge, result);
+        verify(accountPurgeService).purge(1L);
+        verify(tokenVersionService).userDeleted(1L);
+    }
+
+    @Test
+    @DisplayName("Should keep tokens valid when deleting non-existent user")
+    void shouldKeepTokensWhenDeletingNonExistentUser() {
+        // Arrange
+        when(accountPurgeService.purge(999L)).thenThrow(new UserNotFoundException("User not found"));
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> userService.deleteUser(999L));
+        verify(tokenVersionService, never()).userDeleted(anyLong());
     }
 
     @Test
@@ -179,7 +253,7 @@ class UserServiceTest {
         // Arrange
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
-        when(jwtUtil.generateToken("test@example.com", 1L)).thenReturn("jwtToken");
+        when(jwtUtil.generateToken("test@example.com", 1L, 0)).thenReturn("jwtToken");
         when(usersMapper.toDto(testUser)).thenReturn(testUserDto);
 
         // Act
@@ -191,10 +265,51 @@ class UserServiceTest {
         assertEquals(testUserDto, result.getUser());
         verify(userRepository).findByEmail("test@example.com");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtUtil).generateToken("test@example.com", 1L);
+        verify(jwtUtil).generateToken("test@example.com", 1L, 0);
         verify(usersMapper).toDto(testUser);
     }
 
+    @Test
+    @DisplayName("Should rehash password on login when cost factor changed")
+    void shouldRehashPasswordOnLoginWhenCostFactorChanged() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("rehashedPassword");
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        when(jwtUtil.generateToken("test@example.com", 1L, 0)).thenReturn("jwtToken");
+        when(usersMapper.toDto(testUser)).thenReturn(testUserDto);
+
+        // Act
+        LoginResponseDto result = userService.login("test@example.com", "password123");
+
+        // Assert
+        assertEquals("jwtToken", result.getToken());
+        assertEquals("rehashedPassword", testUser.getPassword());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    @DisplayName("Should still log in when rehash is rejected by a saturated hashing pool")
+    void shouldStillLogInWhenRehashIsRejected() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenThrow(new ServiceUnavailableException("busy", 1));
+        when(jwtUtil.generateToken("test@example.com", 1L, 0)).thenReturn("jwtToken");
+        when(usersMapper.toDto(testUser)).thenReturn(testUserDto);
+
+        // Act
+        LoginResponseDto result = userService.login("test@example.com", "password123");
+
+        // Assert
+        assertEquals("jwtToken", result.getToken());
+        assertEquals("encodedPassword", testUser.getPassword());
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Should throw exception when user not found during login")
     void shouldThrowExceptionWhenUserNotFoundDuringLogin() {
@@ -207,7 +322,7 @@ class UserServiceTest {
         assertEquals("User not found", exception.getMessage());
         verify(userRepository).findByEmail("nonexistent@example.com");
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtUtil, never()).generateToken(anyString(), any());
+        verify(jwtUtil, never()).generateToken(anyString(), any(), anyInt());
     }
 
     @Test
@@ -223,6 +338,21 @@ class UserServiceTest {
         assertEquals("Invalid credentials", exception.getMessage());
         verify(userRepository).findByEmail("test@example.com");
         verify(passwordEncoder).matches("wrongpassword", "encodedPassword");
-        verify(jwtUtil, never()).generateToken(anyString(), any());
+        verify(jwtUtil, never()).generateToken(anyString(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should revoke the decoded token on logout")
+    void shouldRevokeTokenOnLogout() {
+        // Arrange
+        JwtClaims claims = new JwtClaims("test@example.com", 1L, 0, List.of(), Instant.now(),
+                Instant.now().plusSeconds(3600), UUID.randomUUID());
+        when(jwtUtil.decode("jwtToken")).thenReturn(claims);
+
+        // Act
+        userService.logout("jwtToken");
+
+        // Assert
+        verify(tokenRevocationService).revoke(claims);
     }
 }
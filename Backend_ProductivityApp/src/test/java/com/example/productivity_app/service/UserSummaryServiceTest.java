@@ -0,0 +1,157 @@
+package com.example.productivity_app.service;
+
+import com.example.productivity_app.dto.UserSummaryDto;
+import com.example.productivity_app.entity.BuddyRequestStatus;
+import com.example.productivity_app.entity.GoalStatus;
+import com.example.productivity_app.exception.UserNotFoundException;
+import com.example.productivity_app.repository.ArchivedGoalRepository;
+import com.example.productivity_app.repository.BuddyRequestRepository;
+import com.example.productivity_app.repository.CheckpointDueCounts;
+import com.example.productivity_app.repository.CheckpointRepository;
+import com.example.productivity_app.repository.GoalRepository;
+import com.example.productivity_app.repository.GoalStatusCount;
+import com.example.productivity_app.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSummaryService Unit Tests")
+class UserSummaryServiceTest {
+
+    // A Wednesday, so the week runs to Sunday 2026-03-08
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 4);
+    private static final LocalDate WEEK_END = LocalDate.of(2026, 3, 8);
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private ArchivedGoalRepository archivedGoalRepository;
+
+    @Mock
+    private CheckpointRepository checkpointRepository;
+
+    @Mock
+    private BuddyRequestRepository buddyRequestRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BuddyGraphIndex buddyGraphIndex;
+
+    @InjectMocks
+    private UserSummaryService userSummaryService;
+
+    @Test
+    @DisplayName("Should combine the aggregate rows into one summary")
+    void shouldCombineAggregateRows() {
+        // Arrange
+        when(goalRepository.countByStatusForUser(1L)).thenReturn(List.of(
+                new GoalStatusCount(GoalStatus.ACTIVE, 2L, 90L),
+                new GoalStatusCount(GoalStatus.COMPLETED, 1L, 100L)));
+        when(checkpointRepository.countDueForUser(1L, TODAY, WEEK_END)).thenReturn(new CheckpointDueCounts(4L, 1L));
+        when(buddyRequestRepository.countByUserIdAndStatus(1L, BuddyRequestStatus.ACCEPTED)).thenReturn(2L);
+
+        // Act
+        UserSummaryDto summary = userSummaryService.getSummary(1L, TODAY);
+
+        // Assert
+        assertEquals(3, summary.getTotalGoals());
+        assertEquals(2L, summary.getGoalsByStatus().get(GoalStatus.ACTIVE));
+        assertEquals(1L, summary.getGoalsByStatus().get(GoalStatus.COMPLETED));
+        assertEquals(0L, summary.getGoalsByStatus().get(GoalStatus.PAUSED));
+        assertEquals(0L, summary.getGoalsByStatus().get(GoalStatus.CANCELLED));
+        assertEquals(63, summary.getAverageProgress());
+        assertEquals(4, summary.getCheckpointsDueThisWeek());
+        assertEquals(1, summary.getOverdueCheckpoints());
+        assertEquals(2, summary.getAcceptedBuddies());
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should count archived goals with the live ones")
+    void shouldCountArchivedGoals() {
+        // Arrange
+        when(goalRepository.countByStatusForUser(1L)).thenReturn(List.of(
+                new GoalStatusCount(GoalStatus.ACTIVE, 1L, 20L),
+                new GoalStatusCount(GoalStatus.COMPLETED, 1L, 100L)));
+        when(archivedGoalRepository.countByStatusForUser(1L)).thenReturn(List.of(
+                new GoalStatusCount(GoalStatus.COMPLETED, 2L, 200L),
+                new GoalStatusCount(GoalStatus.CANCELLED, 1L, 40L)));
+        when(checkpointRepository.countDueForUser(1L, TODAY, WEEK_END)).thenReturn(new CheckpointDueCounts(0L, 0L));
+
+        // Act
+        UserSummaryDto summary = userSummaryService.getSummary(1L, TODAY);
+
+        // Assert
+        assertEquals(5, summary.getTotalGoals());
+        assertEquals(1L, summary.getGoalsByStatus().get(GoalStatus.ACTIVE));
+        assertEquals(3L, summary.getGoalsByStatus().get(GoalStatus.COMPLETED));
+        assertEquals(1L, summary.getGoalsByStatus().get(GoalStatus.CANCELLED));
+        assertEquals(72, summary.getAverageProgress());
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should count accepted buddies from the index once it has loaded")
+    void shouldCountBuddiesFromIndex() {
+        // Arrange
+        when(goalRepository.countByStatusForUser(1L)).thenReturn(List.of());
+        when(checkpointRepository.countDueForUser(1L, TODAY, WEEK_END)).thenReturn(new CheckpointDueCounts(0L, 0L));
+        when(buddyGraphIndex.isLoaded()).thenReturn(true);
+        when(buddyGraphIndex.countBuddies(1L)).thenReturn(3L);
+
+        // Act
+        UserSummaryDto summary = userSummaryService.getSummary(1L, TODAY);
+
+        // Assert
+        assertEquals(3, summary.getAcceptedBuddies());
+        verify(buddyRequestRepository, never()).countByUserIdAndStatus(any(), any());
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should return an all-zero summary for an existing user with nothing yet")
+    void shouldReturnEmptySummaryForNewUser() {
+        // Arrange
+        when(goalRepository.countByStatusForUser(1L)).thenReturn(List.of());
+        when(checkpointRepository.countDueForUser(1L, TODAY, WEEK_END)).thenReturn(new CheckpointDueCounts(0L, 0L));
+        when(buddyRequestRepository.countByUserIdAndStatus(1L, BuddyRequestStatus.ACCEPTED)).thenReturn(0L);
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // Act
+        UserSummaryDto summary = userSummaryService.getSummary(1L, TODAY);
+
+        // Assert
+        assertEquals(0, summary.getTotalGoals());
+        assertEquals(0, summary.getAverageProgress());
+        assertEquals(4, summary.getGoalsByStatus().size());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when user not found")
+    void shouldThrowExceptionWhenUserNotFound() {
+        // Arrange
+        when(goalRepository.countByStatusForUser(999L)).thenReturn(List.of());
+        when(checkpointRepository.countDueForUser(999L, TODAY, WEEK_END)).thenReturn(new CheckpointDueCounts(0L, 0L));
+        when(buddyRequestRepository.countByUserIdAndStatus(999L, BuddyRequestStatus.ACCEPTED)).thenReturn(0L);
+        when(userRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
+                () -> userSummaryService.getSummary(999L, TODAY));
+        assertEquals("User not found", exception.getMessage());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.productivity_app.util;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtTokenCache Unit Tests")
+class JwtTokenCacheTest {
+
+    private static final String TEST_EMAIL = "test@example.com";
+    private static final Long TEST_USER_ID = 1L;
+    private static final String TEST_SECRET = "testSecretKeyForJwtTokenCacheTesting";
+
+    private JwtUtil jwtUtil;
+    private MeterRegistry meterRegistry;
+    private JwtTokenCache jwtTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil(TEST_SECRET, 3600000L));
+
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenCache = new JwtTokenCache(jwtUtil, meterRegistry, 100);
+    }
+
+    @Test
+    @DisplayName("Should verify the same token only once")
+    void shouldVerifySameTokenOnlyOnce() {
+        // Arrange
+        String token = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID);
+
+        // Act
+        JwtClaims first = jwtTokenCache.verify(token);
+        JwtClaims second = jwtTokenCache.verify(token);
+        JwtClaims third = jwtTokenCache.verify(token);
+
+        // Assert
+        assertEquals(TEST_EMAIL, first.email());
+        assertSame(first, second);
+        assertSame(first, third);
+        verify(jwtUtil, times(1)).decode(token);
+    }
+
+    @Test
+    @DisplayName("Should cache different tokens independently")
+    void shouldCacheDifferentTokensIndependently() {
+        // Arrange
+        String token1 = jwtUtil.generateToken("user1@example.com", 1L);
+        String token2 = jwtUtil.generateToken("user2@example.com", 2L);
+
+        // Act
+        JwtClaims decoded1 = jwtTokenCache.verify(token1);
+        JwtClaims decoded2 = jwtTokenCache.verify(token2);
+
+        // Assert
+        assertEquals("user1@example.com", decoded1.email());
+        assertEquals("user2@example.com", decoded2.email());
+        assertEquals(2, jwtTokenCache.size());
+    }
+
+    @Test
+    @DisplayName("Should not cache invalid tokens")
+    void shouldNotCacheInvalidTokens() {
+        // Act & Assert
+        assertThrows(JWTVerificationException.class, () -> jwtTokenCache.verify("invalid.token.here"));
+        assertThrows(JWTVerificationException.class, () -> jwtTokenCache.verify("invalid.token.here"));
+        assertThrows(JWTVerificationException.class, () -> jwtTokenCache.verify(null));
+        assertThrows(JWTVerificationException.class, () -> jwtTokenCache.verify(""));
+        assertEquals(0, jwtTokenCache.size());
+        verify(jwtUtil, times(2)).decode("invalid.token.here");
+    }
+
+    @Test
+    @DisplayName("Should drop entries once the token expires")
+    void shouldDropEntriesOnceTokenExpires() throws InterruptedException {
+        // Arrange
+        String token = new JwtUtil(TEST_SECRET, 1500L).generateToken(TEST_EMAIL, TEST_USER_ID);
+        jwtTokenCache.verify(token);
+        assertEquals(1, jwtTokenCache.size());
+
+        // Act
+        Thread.sleep(1600);
+
+        // Assert
+        assertEquals(0, jwtTokenCache.size());
+        assertThrows(JWTVerificationException.class, () -> jwtTokenCache.verify(token));
+    }
+
+    @Test
+    @DisplayName("Should expose hit and miss metrics")
+    void shouldExposeHitAndMissMetrics() {
+        // Arrange
+        String token = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID);
+
+        // Act
+        jwtTokenCache.verify(token);
+        jwtTokenCache.verify(token);
+        jwtTokenCache.verify(token);
+
+        // Assert
+        double hits = meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count();
+        double misses = meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss")
+                .functionCounter().count();
+        assertEquals(2.0, hits);
+        assertEquals(1.0, misses);
+        verify(jwtUtil, never()).getEmailFromToken(anyString());
+    }
+}
@@ -5,20 +5,15 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 @DisplayName("JwtUtil Unit Tests")
 class JwtUtilTest {
 
-    @InjectMocks
     private JwtUtil jwtUtil;
 
     private static final String TEST_EMAIL = "test@example.com";
@@ -28,8 +23,7 @@ class JwtUtilTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(jwtUtil, "secret", TEST_SECRET);
-        ReflectionTestUtils.setField(jwtUtil, "expiration", TEST_EXPIRATION);
+        jwtUtil = new JwtUtil(TEST_SECRET, TEST_EXPIRATION);
     }
 
     @Test
@@ -155,7 +149,7 @@ class JwtUtilTest {
     @DisplayName("Should return true for expired token")
     void shouldReturnTrueForExpiredToken() {
         // Arrange
-        ReflectionTestUtils.setField(jwtUtil, "expiration", 1L); // 1 millisecond expiration
+        jwtUtil = new JwtUtil(TEST_SECRET, 1L); // 1 millisecond expiration
         String token = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID);
         
         // Wait for token to expire
@@ -247,4 +241,34 @@ class JwtUtilTest {
         assertNotNull(decodedJWT.getIssuedAt());
         assertNotNull(decodedJWT.getExpiresAt());
     }
+
+    @Test
+    @DisplayName("Should decode all claims with a single verification")
+    void shouldDecodeAllClaimsWithSingleVerification() {
+        // Arrange
+        String token = jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, 2);
+
+        // Act
+        JwtClaims claims = jwtUtil.decode(token);
+
+        // Assert
+        assertEquals(TEST_EMAIL, claims.email());
+        assertEquals(TEST_USER_ID, claims.userId());
+        assertEquals(2, claims.tokenVersion());
+        assertEquals(List.of(JwtUtil.ROLE_USER), claims.roles());
+        assertNotNull(claims.issuedAt());
+        assertNotNull(claims.expiresAt());
+        assertFalse(claims.isExpired());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with a different secret")
+    void shouldRejectTokensSignedWithDifferentSecret() {
+        // Arrange
+        String foreignToken = new JwtUtil("someOtherSecret", TEST_EXPIRATION).generateToken(TEST_EMAIL, TEST_USER_ID);
+
+        // Act & Assert
+        assertThrows(JWTVerificationException.class, () -> jwtUtil.decode(foreignToken));
+        assertTrue(jwtUtil.isTokenExpired(foreignToken));
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.productivity_app.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("KeysetCursor Unit Tests")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip cursors with and without a sort date")
+    void shouldRoundTripCursors() {
+        // Arrange
+        KeysetCursor dated = new KeysetCursor(LocalDate.of(2026, 2, 28), 42L);
+        KeysetCursor undated = new KeysetCursor(null, 7L);
+
+        // Act & Assert
+        assertEquals(dated, KeysetCursor.decode(dated.encode()));
+        assertEquals(undated, KeysetCursor.decode(undated.encode()));
+    }
+
+    @Test
+    @DisplayName("Should produce URL-safe tokens that do not expose the raw key")
+    void shouldProduceOpaqueUrlSafeTokens() {
+        // Act
+        String token = new KeysetCursor(LocalDate.of(2026, 2, 28), Long.MAX_VALUE).encode();
+
+        // Assert
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertFalse(token.contains("2026"));
+    }
+
+    @Test
+    @DisplayName("Should treat a missing cursor as the first page")
+    void shouldTreatMissingCursorAsFirstPage() {
+        // Act & Assert
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens it did not produce")
+    void shouldRejectForeignTokens() {
+        // Arrange
+        String wrongVersion = encodeRaw("2:2026-02-28:1");
+        String badDate = encodeRaw("1:2026-02-30:1");
+        String badId = encodeRaw("1::abc");
+
+        // Act & Assert
+        for (String token : new String[]{"not base64!", wrongVersion, badDate, badId, encodeRaw("1:1")}) {
+            IllegalArgumentException exception =
+                    assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(token));
+            assertEquals("Invalid cursor", exception.getMessage());
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.productivity_app.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucketSketch Unit Tests")
+class TokenBucketSketchTest {
+
+    private AtomicLong clock;
+    private TokenBucketSketch sketch;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000L);
+        sketch = new TokenBucketSketch(1024, 3, 1.0, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then report the wait")
+    void shouldAllowBurstUpToCapacity() {
+        // Act & Assert
+        assertEquals(0, sketch.tryAcquire("a@example.com"));
+        assertEquals(0, sketch.tryAcquire("a@example.com"));
+        assertEquals(0, sketch.tryAcquire("a@example.com"));
+        assertEquals(1000, sketch.tryAcquire("a@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefillTokensOverTime() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            sketch.tryAcquire("a@example.com");
+        }
+
+        // Act
+        clock.addAndGet(400);
+        long stillWaiting = sketch.tryAcquire("a@example.com");
+        clock.addAndGet(600);
+        long afterRefill = sketch.tryAcquire("a@example.com");
+
+        // Assert
+        assertEquals(600, stillWaiting);
+        assertEquals(0, afterRefill);
+        assertTrue(sketch.tryAcquire("a@example.com") > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep keys independent")
+    void shouldKeepKeysIndependent() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            sketch.tryAcquire("a@example.com");
+        }
+
+        // Act & Assert
+        assertTrue(sketch.tryAcquire("a@example.com") > 0);
+        assertEquals(0, sketch.tryAcquire("b@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should keep a fixed memory footprint regardless of key count")
+    void shouldKeepFixedMemoryFootprint() {
+        // Arrange
+        long before = sketch.memoryBytes();
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            sketch.tryAcquire("user" + i + "@example.com");
+        }
+        clock.addAndGet(3000);
+
+        // Assert: every slot has drained, so an earlier key starts with a full bucket again
+        assertEquals(before, sketch.memoryBytes());
+        assertEquals(2 * 1024 * Long.BYTES, before);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, sketch.tryAcquire("user0@example.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hand out more tokens than capacity under concurrent access")
+    void shouldNotOverGrantUnderConcurrency() throws Exception {
+        // Arrange
+        TokenBucketSketch frozen = new TokenBucketSketch(1024, 50, 1.0, () -> 0L);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (frozen.tryAcquire("shared") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Assert: the two rows are updated one after the other, so a handful of racing threads
+        // may both pass the check; the overshoot is bounded by the thread count
+        assertTrue(granted.get() >= 50 && granted.get() < 50 + 8, "granted " + granted.get());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid capacity")
+    void shouldRejectInvalidCapacity() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketSketch(1024, 0, 1.0));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.productivity_app.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenIdBloomFilter Unit Tests")
+class TokenIdBloomFilterTest {
+
+    @Test
+    @DisplayName("Should always contain added token IDs")
+    void shouldContainAddedTokenIds() {
+        // Arrange
+        TokenIdBloomFilter filter = new TokenIdBloomFilter(1000);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID tokenId = UUID.randomUUID();
+            filter.add(tokenId);
+            added.add(tokenId);
+        }
+
+        // Act & Assert
+        added.forEach(tokenId -> assertTrue(filter.mightContain(tokenId)));
+    }
+
+    @Test
+    @DisplayName("Should keep false positives low at the expected load")
+    void shouldKeepFalsePositivesLow() {
+        // Arrange
+        TokenIdBloomFilter filter = new TokenIdBloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert: ~1% expected, sized up to the next power of two so usually well below
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(131_072, filter.sizeInBits());
+    }
+}
@@ -1,8 +1,8 @@
 'use client';
 
 import { useState } from 'react';
-import { useQuery } from '@tanstack/react-query';
-import { goalsAPI } from '@/lib/api';
+import { useInfiniteQuery, useQuery } from '@tanstack/react-query';
+import { goalsAPI, userAPI, Goal } from '@/lib/api';
 import { useAuthStore } from '@/store/authStore';
 import DashboardLayout from '@/components/layout/DashboardLayout';
 import GoalCard from '@/components/goals/GoalCard';
@@ -20,44 +20,60 @@ export default function GoalsPage() {
   const [isCreateModalOpen, setIsCreateModalOpen] = useState(false);
   const [statusFilter, setStatusFilter] = useState<string>('all');
 
-  const { data: goals = [], isLoading } = useQuery({
-    queryKey: ['goals', user?.id],
-    queryFn: () => goalsAPI.getGoals(user!.id).then(res => res.data),
+  // The backend returns goals a page at a time; further pages are loaded on demand
+  const {
+    data,
+    isLoading,
+    hasNextPage,
+    fetchNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
+    queryKey: ['goals', user?.id, 'pages'],
+    queryFn: ({ pageParam }) => goalsAPI.getGoals(user!.id, pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor,
     enabled: !!user?.id,
   });
+  const goals = data?.pages.flatMap(page => page.items) ?? [];
 
-  const completedGoals = goals.filter(goal => goal.status === 'COMPLETED');
-  const activeGoals = goals.filter(goal => goal.status === 'ACTIVE');
-  const pausedGoals = goals.filter(goal => goal.status === 'PAUSED');
-  const cancelledGoals = goals.filter(goal => goal.status === 'CANCELLED');
+  // Counted by the backend over all goals, not just the pages loaded so far
+  const { data: summary } = useQuery({
+    queryKey: ['goals', user?.id, 'summary'], // refetched whenever goal queries are invalidated
+    queryFn: () => userAPI.getSummary(user!.id).then(res => res.data),
+    enabled: !!user?.id,
+  });
 
   const stats = [
     {
       name: 'Total Goals',
-      value: goals.length,
+      value: summary?.totalGoals ?? 0,
       icon: FlagIcon,
       color: 'bg-blue-500',
     },
     {
       name: 'Active',
-      value: activeGoals.length,
+      value: summary?.goalsByStatus.ACTIVE ?? 0,
       icon: ClockIcon,
       color: 'bg-green-500',
     },
     {
       name: 'Completed',
-      value: completedGoals.length,
+      value: summary?.goalsByStatus.COMPLETED ?? 0,
       icon: CheckCircleIcon,
       color: 'bg-emerald-500',
     },
     {
       name: 'Paused',
-      value: pausedGoals.length,
+      value: summary?.goalsByStatus.PAUSED ?? 0,
       icon: PauseIcon,
       color: 'bg-yellow-500',
     },
   ];
 
+  const totalForFilter = statusFilter === 'all'
+    ? summary?.totalGoals
+    : summary?.goalsByStatus[statusFilter as Goal['status']];
+
   const filteredGoals = goals.filter(goal => {
     if (statusFilter === 'all') return true;
     return goal.status === statusFilter;
@@ -113,7 +129,7 @@ export default function GoalsPage() {
           <div className="px-6 py-4 border-b border-gray-200">
             <h2 className="text-lg font-medium text-gray-900">
               {statusFilter === 'all' ? 'All Goals' : `${statusFilter.charAt(0) + statusFilter.slice(1).toLowerCase()} Goals`}
-              <span className="ml-2 text-sm text-gray-500">({filteredGoals.length})</span>
+              <span className="ml-2 text-sm text-gray-500">({totalForFilter ?? filteredGoals.length})</span>
             </h2>
           </div>
           <div className="p-6">
@@ -148,6 +164,17 @@ export default function GoalsPage() {
                 ))}
               </div>
             )}
+            {hasNextPage && (
+              <div className="mt-6 text-center">
+                <button
+                  onClick={() => fetchNextPage()}
+                  disabled={isFetchingNextPage}
+                  className="inline-flex items-center px-4 py-2 border border-gray-300 text-sm font-medium rounded-md text-gray-700 bg-white hover:bg-gray-50 disabled:opacity-50"
+                >
+                  {isFetchingNextPage ? 'Loading...' : 'Load more goals'}
+                </button>
+              </div>
+            )}
           </div>
         </div>
       </div>
@@ -1,7 +1,7 @@
 'use client';
 
 import { useQuery } from '@tanstack/react-query';
-import { goalsAPI, checkpointsAPI, buddyRequestsAPI } from '@/lib/api';
+import { goalsAPI, checkpointsAPI, userAPI } from '@/lib/api';
 import { useAuthStore } from '@/store/authStore';
 import DashboardLayout from '@/components/layout/DashboardLayout';
 import GoalCard from '@/components/goals/GoalCard';
@@ -20,7 +20,7 @@ export default function DashboardPage() {
   
   const { data: goals = [] } = useQuery({
     queryKey: ['goals', user?.id],
-    queryFn: () => goalsAPI.getGoals(user!.id).then(res => res.data),
+    queryFn: () => goalsAPI.getGoals(user!.id).then(page => page.items), // first page is enough here
     enabled: !!user?.id,
   });
 
@@ -29,39 +29,35 @@ export default function DashboardPage() {
     queryFn: () => checkpointsAPI.getCheckpoints().then(res => res.data),
   });
 
-  const { data: buddyRequests = [] } = useQuery({
-    queryKey: ['buddy-requests'],
-    queryFn: () => buddyRequestsAPI.getBuddyRequests().then(res => res.data),
+  // Counted by the backend in a few aggregate queries instead of from the full lists
+  const { data: summary } = useQuery({
+    queryKey: ['goals', user?.id, 'summary'], // refetched whenever goal queries are invalidated
+    queryFn: () => userAPI.getSummary(user!.id).then(res => res.data),
+    enabled: !!user?.id,
   });
 
-  const completedGoals = goals.filter(goal => goal.status === 'COMPLETED');
-  const activeGoals = goals.filter(goal => goal.status === 'ACTIVE');
-  const pausedGoals = goals.filter(goal => goal.status === 'PAUSED');
-  const completedCheckpoints = checkpoints.filter(cp => cp.status === 'COMPLETED');
-  const pendingCheckpoints = checkpoints.filter(cp => cp.status === 'PENDING');
-
   const stats = [
     {
       name: 'Total Goals',
-      value: goals.length,
+      value: summary?.totalGoals ?? 0,
       icon: FlagIcon,
       color: 'bg-blue-500',
     },
     {
       name: 'Active',
-      value: activeGoals.length,
+      value: summary?.goalsByStatus.ACTIVE ?? 0,
       icon: ClockIcon,
       color: 'bg-yellow-500',
     },
     {
       name: 'Completed',
-      value: completedGoals.length,
+      value: summary?.goalsByStatus.COMPLETED ?? 0,
       icon: CheckCircleIcon,
       color: 'bg-green-500',
     },
     {
-      name: 'Buddy Requests',
-      value: buddyRequests.filter(br => br.status === 'PENDING').length,
+      name: 'Buddies',
+      value: summary?.acceptedBuddies ?? 0,
       icon: UserGroupIcon,
       color: 'bg-purple-500',
     },
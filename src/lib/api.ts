@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { AxiosResponse } from 'axios';
 
 // API base URL - updated to match backend (no /api prefix)
 const API_BASE_URL = 'http://localhost:8080';
@@ -73,6 +73,29 @@ export interface BuddyRequest {
   status: 'PENDING' | 'ACCEPTED' | 'REJECTED';
 }
 
+export interface UserSummary {
+  totalGoals: number;
+  goalsByStatus: Record<Goal['status'], number>;
+  averageProgress: number;
+  checkpointsDueThisWeek: number;
+  overdueCheckpoints: number;
+  acceptedBuddies: number;
+}
+
+// One page of a keyset-paginated list; pass nextCursor back to get the page after it
+export interface Page<T> {
+  items: T[];
+  nextCursor?: string;
+}
+
+// Paginated list endpoints return a plain array and the next page's cursor in this header
+const NEXT_CURSOR_HEADER = 'x-next-cursor';
+
+const toPage = <T>(res: AxiosResponse<T[]>): Page<T> => ({
+  items: res.data,
+  nextCursor: res.headers[NEXT_CURSOR_HEADER] ?? undefined,
+});
+
 export interface LoginRequest {
   email: string;
   password: string;
@@ -103,6 +126,9 @@ export const userAPI = {
   getProfile: (id: number) => 
     api.get<User>(`/users/${id}`),
   
+  getSummary: (id: number) => 
+    api.get<UserSummary>(`/users/${id}/summary`),
+  
   updateProfile: (id: number, data: Partial<User>) => 
     api.put<User>(`/users/${id}`, data),
   
@@ -112,8 +138,12 @@ export const userAPI = {
 
 // Goals API - updated to match backend endpoints
 export const goalsAPI = {
-  getGoals: (userId: number) => 
-    api.get<Goal[]>(`/goals/user/${userId}`),
+  getGoals: (userId: number, cursor?: string) => 
+    api.get<Goal[]>(`/goals/user/${userId}`, { params: { cursor } }).then(toPage),
+  
+  // Goals completed or cancelled long ago, moved out of the live list; most recent first
+  getGoalHistory: (userId: number, cursor?: string) => 
+    api.get<Goal[]>(`/goals/user/${userId}/history`, { params: { cursor } }).then(toPage),
   
   createGoal: (userId: number, data: Omit<Goal, 'id' | 'users' | 'checkpoints'>) => 
     api.post<Goal>(`/goals/${userId}`, data),